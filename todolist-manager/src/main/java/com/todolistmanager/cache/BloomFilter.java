@@ -0,0 +1,61 @@
+package com.todolistmanager.cache;
+
+import java.util.BitSet;
+
+//filtro di Bloom per stringhe: mightContain() == false significa "sicuramente assente",
+//true può essere un falso positivo (con probabilità ~falsePositiveRate fino a expectedInsertions elementi).
+//Gli elementi non si possono rimuovere. Thread-safe
+public class BloomFilter {
+
+    private final BitSet bits;
+    private final int bitCount;
+    private final int hashCount;
+
+    public BloomFilter(int expectedInsertions, double falsePositiveRate) {
+        if (expectedInsertions <= 0) {
+            throw new IllegalArgumentException("Numero di elementi attesi non valido");
+        }
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("Probabilità di falsi positivi non valida");
+        }
+        //dimensionamento ottimo: m = -n ln p / (ln 2)^2, k = m/n ln 2
+        double ln2 = Math.log(2);
+        this.bitCount = (int) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (ln2 * ln2));
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * ln2));
+        this.bits = new BitSet(bitCount);
+    }
+
+    public synchronized void add(String value) {
+        long hash = hash(value);
+        for (int i = 0; i < hashCount; i++) {
+            bits.set(index(hash, i));
+        }
+    }
+
+    public synchronized boolean mightContain(String value) {
+        long hash = hash(value);
+        for (int i = 0; i < hashCount; i++) {
+            if (!bits.get(index(hash, i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    //k indici da due hash a 32 bit (h1 + i*h2)
+    private int index(long hash, int i) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        return Math.floorMod(h1 + i * h2, bitCount);
+    }
+
+    //FNV-1a a 64 bit sui caratteri
+    private static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,238 @@
+package com.todolistmanager.cache;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.function.BiFunction;
+import java.util.function.BiPredicate;
+import java.util.function.LongSupplier;
+
+//cache LRU limitata per numero di elementi, con scadenza (TTL) dall'inserimento.
+//Con un MemoryBudget il peso stimato degli elementi (Weigher) è conteggiato sul budget condiviso,
+//che elimina gli elementi meno usati fra tutte le sue cache quando supera il limite.
+//Thread-safe: tutte le operazioni sono sincronizzate sulla cache
+public class LruCache<K, V> {
+
+    //overhead stimato per elemento: nodo della LinkedHashMap e Entry
+    static final long ENTRY_OVERHEAD_BYTES = 80;
+
+    private final int maxSize;
+    private final long ttlNanos;
+    private final LongSupplier clock;
+    private final MemoryBudget budget;
+    private final MemoryBudget.Registration registration;
+    private final Weigher<K, V> weigher;
+    private final CacheStats stats = new CacheStats();
+    private final LinkedHashMap<K, Entry<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long weight;
+
+    public LruCache(int maxSize, Duration ttl) {
+        this(maxSize, ttl, null, (key, value) -> 0, System::nanoTime);
+    }
+
+    public LruCache(int maxSize, Duration ttl, MemoryBudget budget, Weigher<K, V> weigher) {
+        this(maxSize, ttl, budget, weigher, System::nanoTime);
+    }
+
+    //orologio esplicito (nanosecondi) per i test
+    LruCache(int maxSize, Duration ttl, LongSupplier clock) {
+        this(maxSize, ttl, null, (key, value) -> 0, clock);
+    }
+
+    LruCache(int maxSize, Duration ttl, MemoryBudget budget, Weigher<K, V> weigher, LongSupplier clock) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Dimensione cache non valida");
+        }
+        if (ttl == null || ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("TTL non valido");
+        }
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+        this.clock = clock;
+        this.budget = budget;
+        this.weigher = weigher;
+        this.registration = budget == null ? null : budget.register(this);
+    }
+
+    //vuoto se assente o scaduto (l'elemento scaduto viene rimosso)
+    public synchronized Optional<V> get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry != null && isExpired(entry)) {
+            removed(entries.remove(key));
+            stats.recordEviction();
+            entry = null;
+        }
+        if (entry == null) {
+            stats.recordMiss();
+            return Optional.empty();
+        }
+        entry.lastAccessNanos = clock.getAsLong();
+        stats.recordHit();
+        return Optional.of(entry.value);
+    }
+
+    //come get, ma senza contare hit/miss (letture interne, es. per invalidare)
+    public synchronized Optional<V> peek(K key) {
+        Entry<V> entry = entries.get(key);
+        return entry == null || isExpired(entry) ? Optional.empty() : Optional.of(entry.value);
+    }
+
+    public void put(K key, V value) {
+        putEntry(key, value);
+        enforceBudget();
+    }
+
+    //aggiornamento write-through: sostituisce il valore se presente, senza rinnovarne la scadenza
+    public void update(K key, BiFunction<K, V, V> function) {
+        updateEntry(key, function);
+        enforceBudget();
+    }
+
+    public synchronized void invalidate(K key) {
+        removed(entries.remove(key));
+    }
+
+    //rimuove gli elementi che soddisfano la condizione (es. liste che contengono un elemento modificato)
+    public synchronized void invalidateIf(BiPredicate<K, V> condition) {
+        Iterator<Map.Entry<K, Entry<V>>> it = entries.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<K, Entry<V>> entry = it.next();
+            if (condition.test(entry.getKey(), entry.getValue().value)) {
+                it.remove();
+                removed(entry.getValue());
+            }
+        }
+    }
+
+    public synchronized void invalidateAll() {
+        for (Entry<V> entry : entries.values()) {
+            removed(entry);
+        }
+        entries.clear();
+    }
+
+    //svuota la cache e la toglie dal budget; dopo close la cache non va più usata
+    //(facoltativo: una cache non più referenziata esce comunque dal budget)
+    public synchronized void close() {
+        invalidateAll();
+        if (budget != null) {
+            budget.unregister(registration);
+        }
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    //peso stimato degli elementi in byte (0 senza budget)
+    public synchronized long getWeight() {
+        return weight;
+    }
+
+    public CacheStats getStats() {
+        return stats;
+    }
+
+    //per il MemoryBudget: ultimo accesso dell'elemento meno usato di recente
+    synchronized OptionalLong eldestAccessNanos() {
+        Iterator<Entry<V>> it = entries.values().iterator();
+        return it.hasNext() ? OptionalLong.of(it.next().lastAccessNanos) : OptionalLong.empty();
+    }
+
+    synchronized boolean evictEldest() {
+        Iterator<Entry<V>> it = entries.values().iterator();
+        if (!it.hasNext()) {
+            return false;
+        }
+        Entry<V> eldest = it.next();
+        it.remove();
+        removed(eldest);
+        stats.recordEviction();
+        return true;
+    }
+
+    private synchronized void putEntry(K key, V value) {
+        long entryWeight = weigh(key, value);
+        //un elemento più grande dell'intero budget non viene messo in cache
+        if (budget != null && entryWeight > budget.getMaxBytes()) {
+            removed(entries.remove(key));
+            return;
+        }
+        long now = clock.getAsLong();
+        removed(entries.put(key, new Entry<>(value, now, entryWeight)));
+        added(entryWeight);
+        evictOverflow();
+    }
+
+    private synchronized void updateEntry(K key, BiFunction<K, V, V> function) {
+        Entry<V> entry = entries.get(key);
+        if (entry != null) {
+            //la get ha spostato l'elemento in coda all'ordine di accesso
+            entry.lastAccessNanos = clock.getAsLong();
+            replaceValue(key, entry, function.apply(key, entry.value));
+        }
+    }
+
+    private void replaceValue(K key, Entry<V> entry, V value) {
+        long entryWeight = weigh(key, value);
+        added(entryWeight - entry.weight);
+        entry.value = value;
+        entry.weight = entryWeight;
+    }
+
+    //il budget si fa rispettare fuori dal lock della cache: il budget prende poi i lock delle singole cache
+    private void enforceBudget() {
+        if (budget != null) {
+            budget.enforce();
+        }
+    }
+
+    private long weigh(K key, V value) {
+        return budget == null ? 0 : ENTRY_OVERHEAD_BYTES + weigher.weigh(key, value);
+    }
+
+    private void added(long bytes) {
+        weight += bytes;
+        if (budget != null) {
+            budget.add(registration, bytes);
+        }
+    }
+
+    private void removed(Entry<V> entry) {
+        if (entry != null) {
+            added(-entry.weight);
+        }
+    }
+
+    private boolean isExpired(Entry<V> entry) {
+        return clock.getAsLong() - entry.createdAtNanos >= ttlNanos;
+    }
+
+    //rimuove gli elementi meno usati oltre la dimensione massima
+    private void evictOverflow() {
+        Iterator<Map.Entry<K, Entry<V>>> it = entries.entrySet().iterator();
+        while (entries.size() > maxSize && it.hasNext()) {
+            Entry<V> eldest = it.next().getValue();
+            it.remove();
+            removed(eldest);
+            stats.recordEviction();
+        }
+    }
+
+    private static final class Entry<V> {
+        private V value;
+        private long weight;
+        private final long createdAtNanos;
+        private long lastAccessNanos;
+
+        private Entry(V value, long createdAtNanos, long weight) {
+            this.value = value;
+            this.weight = weight;
+            this.createdAtNanos = createdAtNanos;
+            this.lastAccessNanos = createdAtNanos;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,131 @@
+package com.todolistmanager.cache;
+
+import java.lang.ref.WeakReference;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+//budget di memoria condiviso tra più LruCache: ogni cache somma qui il peso stimato dei suoi elementi
+//e, oltre il limite, si elimina l'elemento usato meno di recente fra tutte le cache registrate.
+//Le cache sono tenute con riferimenti deboli: una cache non più usata (o chiusa) esce dal budget
+//e il peso che occupava viene restituito
+public class MemoryBudget {
+
+    //limite in byte del budget condiviso (es. -Dtodolist.cache.maxBytes=67108864)
+    private static final String MAX_BYTES_PROPERTY = "todolist.cache.maxBytes";
+    private static final long DEFAULT_MAX_BYTES = 32L * 1024 * 1024;
+
+    private static MemoryBudget shared;
+
+    private final long maxBytes;
+    private final AtomicLong usedBytes = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final List<Registration> registrations = new CopyOnWriteArrayList<>();
+
+    public MemoryBudget(long maxBytes) {
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("Budget di memoria non valido");
+        }
+        this.maxBytes = maxBytes;
+    }
+
+    //budget unico dell'applicazione, usato dalle cache dei DAO
+    public static synchronized MemoryBudget getShared() {
+        if (shared == null) {
+            shared = new MemoryBudget(Long.getLong(MAX_BYTES_PROPERTY, DEFAULT_MAX_BYTES));
+        }
+        return shared;
+    }
+
+    Registration register(LruCache<?, ?> cache) {
+        purgeCollected();
+        Registration registration = new Registration(cache);
+        registrations.add(registration);
+        return registration;
+    }
+
+    void unregister(Registration registration) {
+        if (registrations.remove(registration)) {
+            usedBytes.addAndGet(-registration.weight.get());
+        }
+    }
+
+    void add(Registration registration, long bytes) {
+        registration.weight.addAndGet(bytes);
+        usedBytes.addAndGet(bytes);
+    }
+
+    //riporta l'occupazione entro il limite; chiamato dalle cache senza tenere il proprio lock
+    synchronized void enforce() {
+        purgeCollected();
+        while (usedBytes.get() > maxBytes) {
+            LruCache<?, ?> victim = null;
+            long oldestAccess = 0;
+            for (Registration registration : registrations) {
+                LruCache<?, ?> cache = registration.cache.get();
+                if (cache == null) {
+                    continue;
+                }
+                OptionalLong access = cache.eldestAccessNanos();
+                if (access.isPresent() && (victim == null || access.getAsLong() - oldestAccess < 0)) {
+                    victim = cache;
+                    oldestAccess = access.getAsLong();
+                }
+            }
+            if (victim == null || !victim.evictEldest()) {
+                return;
+            }
+            evictions.incrementAndGet();
+        }
+    }
+
+    //cache raccolte dal GC: si restituisce il loro peso
+    private void purgeCollected() {
+        for (Registration registration : registrations) {
+            if (registration.cache.get() == null) {
+                unregister(registration);
+            }
+        }
+    }
+
+    //cache registrate ancora in uso
+    public int getCacheCount() {
+        purgeCollected();
+        return registrations.size();
+    }
+
+    //getters
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    public long getUsedBytes() {
+        return usedBytes.get();
+    }
+
+    public double getOccupancy() {
+        return (double) getUsedBytes() / maxBytes;
+    }
+
+    //elementi eliminati per rientrare nel budget (in aggiunta al limite di elementi di ogni cache)
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    //peso conteggiato per una cache, tenuto anche dopo che la cache è stata raccolta
+    static final class Registration {
+        private final WeakReference<LruCache<?, ?>> cache;
+        private final AtomicLong weight = new AtomicLong();
+
+        private Registration(LruCache<?, ?> cache) {
+            this.cache = new WeakReference<>(cache);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "MemoryBudget{used=" + getUsedBytes() + ", max=" + maxBytes +
+               ", evictions=" + getEvictions() + "}";
+    }
+}
\ No newline at end of file
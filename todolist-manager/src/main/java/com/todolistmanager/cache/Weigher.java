@@ -0,0 +1,7 @@
+package com.todolistmanager.cache;
+
+//stima in byte della memoria trattenuta da un elemento della cache (chiave compresa)
+@FunctionalInterface
+public interface Weigher<K, V> {
+    long weigh(K key, V value);
+}
\ No newline at end of file
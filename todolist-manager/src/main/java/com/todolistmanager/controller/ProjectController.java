@@ -1,23 +1,70 @@
 package com.todolistmanager.controller;
 
+import com.todolistmanager.dao.CachingProjectDAO;
+import com.todolistmanager.dao.Page;
 import com.todolistmanager.dao.ProjectDAO;
 import com.todolistmanager.dao.ProjectDAOImpl;
+import com.todolistmanager.db.JdbcTransactionManager;
+import com.todolistmanager.db.TransactionManager;
 import com.todolistmanager.model.Project;
+import com.todolistmanager.model.ProjectSummary;
+import com.todolistmanager.observer.ProjectObserver;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
 public class ProjectController {
     
     private final ProjectDAO projectDAO;
+    private final TransactionManager transactionManager;
+    private final List<ProjectObserver> observers;
 
     //costruttore per test
     public ProjectController(ProjectDAO projectDAO) {
+        this(projectDAO, TransactionManager.direct());
+    }
+
+    public ProjectController(ProjectDAO projectDAO, TransactionManager transactionManager) {
         this.projectDAO = projectDAO;
+        this.transactionManager = transactionManager;
+        this.observers = new ArrayList<>();
+
+        //un DAO con cache riceve le modifiche come observer, cioè solo dopo il commit
+        if (projectDAO instanceof ProjectObserver observer) {
+            addObserver(observer);
+        }
     }
 
     //costruttore per produzione
     public ProjectController() {
-        this(new ProjectDAOImpl());
+        this(new CachingProjectDAO(new ProjectDAOImpl()), new JdbcTransactionManager());
+    }
+
+    //gestione observer
+    public void addObserver(ProjectObserver observer) {
+        observers.add(observer);
+    }
+
+    public void removeObserver(ProjectObserver observer) {
+        observers.remove(observer);
+    }
+
+    private void notifyProjectCreated(Project project) {
+        for (ProjectObserver observer : observers) {
+            observer.onProjectCreated(project);
+        }
+    }
+
+    private void notifyProjectUpdated(Project project) {
+        for (ProjectObserver observer : observers) {
+            observer.onProjectUpdated(project);
+        }
+    }
+
+    private void notifyProjectDeleted(Project project) {
+        for (ProjectObserver observer : observers) {
+            observer.onProjectDeleted(project);
+        }
     }
 
     //creazione progetto
@@ -30,7 +77,10 @@ public class ProjectController {
 
         //creazione e salvataggio progetto
         Project project = new Project(userId, name, description);
-        return projectDAO.save(project);
+        Project savedProject = projectDAO.save(project);
+
+        notifyProjectCreated(savedProject);
+        return savedProject;
     }
 
     //aggiorna progetto
@@ -40,25 +90,35 @@ public class ProjectController {
         validateProjectName(newName);
         validateDescription(newDescription);
 
-        //controllo esistenza progetto
-        Optional<Project> existingProject = findProjectById(projectId);
-        if (existingProject.isEmpty()) {
+        validateProjectId(projectId);
+
+        Optional<Project> updated = transactionManager.inTransaction(() -> {
+            //controllo esistenza progetto (con lock fino al commit)
+            Optional<Project> existingProject = projectDAO.findByIdForUpdate(projectId);
+            if (existingProject.isEmpty()) {
+                return Optional.<Project>empty();
+            }
+
+            //aggiorna
+            Project project = existingProject.get();
+            project.setName(newName);
+            project.setDescription(newDescription);
+            projectDAO.update(project);
+            return Optional.of(project);
+        });
+        if (updated.isEmpty()) {
             return false;
         }
 
-        //aggiorna
-        Project project = existingProject.get();
-        project.setName(newName);
-        project.setDescription(newDescription);
-        projectDAO.update(project);
+        //notifica observer (dopo il commit)
+        notifyProjectUpdated(updated.get());
+
         return true;
     }
 
     //metodi per ricerca progetto
     public Optional<Project> findProjectById(Long id) {
-        if (id == null || id <= 0) {
-            throw new IllegalArgumentException("ID non valido");
-        }
+        validateProjectId(id);
         return projectDAO.findById(id);
     }
 
@@ -67,6 +127,18 @@ public class ProjectController {
         return projectDAO.findByUserId(userId);
     }
 
+    //elenco leggero per le schermate di selezione
+    public List<ProjectSummary> findProjectSummariesByUserId(Long userId) {
+        validateUserId(userId);
+        return projectDAO.findSummariesByUserId(userId);
+    }
+
+    //una pagina alla volta (pageToken null = prima pagina)
+    public Page<Project> findProjectsByUserId(Long userId, String pageToken, int pageSize) {
+        validateUserId(userId);
+        return projectDAO.findByUserId(userId, pageToken, pageSize);
+    }
+
     //getter
     public List<Project> getAllProjects() {
         return projectDAO.findAll();
@@ -74,15 +146,24 @@ public class ProjectController {
 
     //elimina utente
     public boolean deleteProject(Long id) {
-    	
-        //controllo esistenza
-        Optional<Project> project = projectDAO.findById(id);
-        if (project.isEmpty()) {
+        Optional<Project> deleted = transactionManager.inTransaction(() -> {
+            //controllo esistenza
+            Optional<Project> project = projectDAO.findById(id);
+            if (project.isEmpty()) {
+                return project;
+            }
+
+            //eliminazione
+            projectDAO.delete(id);
+            return project;
+        });
+        if (deleted.isEmpty()) {
             return false;
         }
 
-        //eliminazione
-        projectDAO.delete(id);
+        //notifica observer (dopo il commit): le task del progetto sono state eliminate a cascata
+        notifyProjectDeleted(deleted.get());
+
         return true;
     }
 
@@ -102,6 +183,12 @@ public class ProjectController {
 
     
     //validazione input
+    private void validateProjectId(Long id) {
+        if (id == null || id <= 0) {
+            throw new IllegalArgumentException("ID non valido");
+        }
+    }
+
     private void validateUserId(Long userId) {
         if (userId == null || userId <= 0) {
             throw new IllegalArgumentException("User ID non valido");
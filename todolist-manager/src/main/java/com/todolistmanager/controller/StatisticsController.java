@@ -0,0 +1,33 @@
+package com.todolistmanager.controller;
+
+import com.todolistmanager.dao.StatisticsDAO;
+import com.todolistmanager.dao.StatisticsDAOImpl;
+import com.todolistmanager.model.StatisticsSnapshot;
+
+public class StatisticsController {
+
+    private final StatisticsDAO statisticsDAO;
+
+    //costruttore per test
+    public StatisticsController(StatisticsDAO statisticsDAO) {
+        this.statisticsDAO = statisticsDAO;
+    }
+
+    //costruttore per produzione
+    public StatisticsController() {
+        this(new StatisticsDAOImpl());
+    }
+
+    //statistiche dell'utente (una sola query, indipendente dal numero di task)
+    public StatisticsSnapshot getUserStatistics(Long userId) {
+        validateUserId(userId);
+        return statisticsDAO.findByUserId(userId);
+    }
+
+    //validazione
+    private void validateUserId(Long userId) {
+        if (userId == null || userId <= 0) {
+            throw new IllegalArgumentException("User ID non valido");
+        }
+    }
+}
\ No newline at end of file
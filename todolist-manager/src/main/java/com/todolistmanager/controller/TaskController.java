@@ -1,30 +1,78 @@
 package com.todolistmanager.controller;
 
+import com.todolistmanager.dao.CachingTaskDAO;
+import com.todolistmanager.dao.Page;
+import com.todolistmanager.dao.QueryCache;
 import com.todolistmanager.dao.TaskDAO;
 import com.todolistmanager.dao.TaskDAOImpl;
+import com.todolistmanager.dao.TaskPatch;
+import com.todolistmanager.dao.TaskQuery;
+import com.todolistmanager.db.JdbcTransactionManager;
+import com.todolistmanager.db.TransactionManager;
 import com.todolistmanager.model.Priority;
+import com.todolistmanager.model.ProjectOverview;
+import com.todolistmanager.model.StatisticsSnapshot.TaskCounts;
 import com.todolistmanager.model.Task;
 import com.todolistmanager.model.TaskStatus;
+import com.todolistmanager.model.TaskSummary;
+import com.todolistmanager.observer.ProjectObserver;
 import com.todolistmanager.observer.TaskObserver;
+import com.todolistmanager.observer.UserObserver;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public class TaskController {
     
     private final TaskDAO taskDAO;
+    private final TransactionManager transactionManager;
     private final List<TaskObserver> observers;
+    //null = ricerche per stato/priorità/scadenza/criteri sempre sul database
+    private QueryCache queryCache;
 
     //costruttore per test
     public TaskController(TaskDAO taskDAO) {
+        this(taskDAO, TransactionManager.direct());
+    }
+
+    public TaskController(TaskDAO taskDAO, TransactionManager transactionManager) {
         this.taskDAO = taskDAO;
+        this.transactionManager = transactionManager;
         this.observers = new ArrayList<>();
     }
 
-    //costruttore per produzione
-    public TaskController() {
-        this(new TaskDAOImpl());
+    //costruttore per produzione: la cache delle task e quella delle ricerche ricevono le eliminazioni
+    //a cascata di progetti e utenti dai rispettivi controller
+    public TaskController(ProjectController projectController, UserController userController) {
+        this(new CachingTaskDAO(new TaskDAOImpl()), new JdbcTransactionManager());
+        observeCascades(taskDAO, projectController, userController);
+        setQueryCache(new QueryCache());
+        observeCascades(queryCache, projectController, userController);
+    }
+
+    //registra una cache come observer delle eliminazioni che cancellano task a cascata
+    private static void observeCascades(Object cache, ProjectController projectController,
+                                        UserController userController) {
+        if (cache instanceof ProjectObserver observer) {
+            projectController.addObserver(observer);
+        }
+        if (cache instanceof UserObserver observer) {
+            userController.addObserver(observer);
+        }
+    }
+
+    //cache dei risultati delle ricerche, registrata come observer per restare coerente con le modifiche
+    public void setQueryCache(QueryCache queryCache) {
+        if (this.queryCache != null) {
+            removeObserver(this.queryCache);
+        }
+        this.queryCache = queryCache;
+        if (queryCache != null) {
+            addObserver(queryCache);
+        }
     }
 
     
@@ -43,6 +91,12 @@ public class TaskController {
         }
     }
 
+    private void notifyTasksCreated(List<Task> tasks) {
+        for (TaskObserver observer : observers) {
+            observer.onTasksCreated(tasks);
+        }
+    }
+
     private void notifyTaskUpdated(Task task) {
         for (TaskObserver observer : observers) {
             observer.onTaskUpdated(task);
@@ -61,6 +115,24 @@ public class TaskController {
         }
     }
 
+    private void notifyTasksUpdated(List<Task> tasks) {
+        for (TaskObserver observer : observers) {
+            observer.onTasksUpdated(tasks);
+        }
+    }
+
+    private void notifyTasksDeleted(List<Long> taskIds) {
+        for (TaskObserver observer : observers) {
+            observer.onTasksDeleted(taskIds);
+        }
+    }
+
+    private void notifyTasksStatusChanged(List<Task> tasks) {
+        for (TaskObserver observer : observers) {
+            observer.onTasksStatusChanged(tasks);
+        }
+    }
+
     
     //operazioni CRUD
     public Task createTask(Long projectId, String title, String description, 
@@ -83,20 +155,44 @@ public class TaskController {
         return savedTask;
     }
 
+    //creazione in blocco: valida tutte le task prima di salvarle, poi un solo INSERT e una notifica
+    public List<Task> createTasks(List<Task> tasks) {
+        if (tasks == null) {
+            throw new IllegalArgumentException("Lista task non può essere null");
+        }
+        for (Task task : tasks) {
+            if (task == null) {
+                throw new IllegalArgumentException("Task non può essere null");
+            }
+            validateProjectId(task.getProjectId());
+            validateTitle(task.getTitle());
+            validateDescription(task.getDescription());
+            validatePriority(task.getPriority());
+            validateTaskStatus(task.getStatus());
+            validateDeadline(task.getDeadline());
+        }
+        if (tasks.isEmpty()) {
+            return tasks;
+        }
+
+        List<Task> savedTasks = transactionManager.inTransaction(() -> taskDAO.saveAll(tasks));
+        
+        //notifica observer
+        notifyTasksCreated(savedTasks);
+        
+        return savedTasks;
+    }
+
     public boolean updateTaskStatus(Long taskId, TaskStatus newStatus) {
         validateTaskStatus(newStatus);
 
-        Optional<Task> existingTask = taskDAO.findById(taskId);
-        if (existingTask.isEmpty()) {
+        Optional<Task> updatedTask = taskDAO.updateStatus(taskId, newStatus);
+        if (updatedTask.isEmpty()) {
             return false;
         }
-
-        Task task = existingTask.get();
-        task.setStatus(newStatus);
-        taskDAO.update(task);
         
         //notifica observer
-        notifyTaskStatusChanged(task);
+        notifyTaskStatusChanged(updatedTask.get());
         
         return true;
     }
@@ -104,17 +200,13 @@ public class TaskController {
     public boolean updateTaskPriority(Long taskId, Priority newPriority) {
         validatePriority(newPriority);
 
-        Optional<Task> existingTask = taskDAO.findById(taskId);
-        if (existingTask.isEmpty()) {
+        Optional<Task> updatedTask = taskDAO.updatePriority(taskId, newPriority);
+        if (updatedTask.isEmpty()) {
             return false;
         }
-
-        Task task = existingTask.get();
-        task.setPriority(newPriority);
-        taskDAO.update(task);
         
         //notifica observer
-        notifyTaskUpdated(task);
+        notifyTaskUpdated(updatedTask.get());
         
         return true;
     }
@@ -123,18 +215,15 @@ public class TaskController {
         validateTitle(newTitle);
         validateDescription(newDescription);
 
-        Optional<Task> existingTask = taskDAO.findById(taskId);
-        if (existingTask.isEmpty()) {
+        Optional<Task> updatedTask = taskDAO.patch(taskId, new TaskPatch()
+                .setTitle(newTitle)
+                .setDescription(newDescription));
+        if (updatedTask.isEmpty()) {
             return false;
         }
-
-        Task task = existingTask.get();
-        task.setTitle(newTitle);
-        task.setDescription(newDescription);
-        taskDAO.update(task);
         
         //notifica observer
-        notifyTaskUpdated(task);
+        notifyTaskUpdated(updatedTask.get());
         
         return true;
     }
@@ -142,36 +231,82 @@ public class TaskController {
     public boolean updateTaskDeadline(Long taskId, LocalDate newDeadline) {
         validateDeadline(newDeadline);
 
-        Optional<Task> existingTask = taskDAO.findById(taskId);
-        if (existingTask.isEmpty()) {
+        Optional<Task> updatedTask = taskDAO.patch(taskId, new TaskPatch().setDeadline(newDeadline));
+        if (updatedTask.isEmpty()) {
             return false;
         }
-
-        Task task = existingTask.get();
-        task.setDeadline(newDeadline);
-        taskDAO.update(task);
         
         //notifica observer
-        notifyTaskUpdated(task);
+        notifyTaskUpdated(updatedTask.get());
         
         return true;
     }
 
     public boolean deleteTask(Long id) {
-        Optional<Task> task = taskDAO.findById(id);
-        if (task.isEmpty()) {
+        boolean deleted = transactionManager.inTransaction(() -> {
+            Optional<Task> task = taskDAO.findById(id);
+            if (task.isEmpty()) {
+                return false;
+            }
+
+            taskDAO.delete(id);
+            return true;
+        });
+        if (!deleted) {
             return false;
         }
-
-        taskDAO.delete(id);
         
-        //notifica observer
+        //notifica observer (dopo il commit)
         notifyTaskDeleted(id);
         
         return true;
     }
 
     
+    //operazioni in blocco: un solo statement e una notifica per batch, restituiscono le task
+    //(o gli id) effettivamente modificate; gli id inesistenti sono ignorati
+    public List<Task> bulkUpdateStatus(Collection<Long> taskIds, TaskStatus newStatus) {
+        validateTaskIds(taskIds);
+        validateTaskStatus(newStatus);
+        if (taskIds.isEmpty()) {
+            return List.of();
+        }
+
+        List<Task> updatedTasks = taskDAO.patchAll(taskIds, new TaskPatch().setStatus(newStatus));
+        if (!updatedTasks.isEmpty()) {
+            notifyTasksStatusChanged(updatedTasks);
+        }
+        return updatedTasks;
+    }
+
+    public List<Task> bulkUpdatePriority(Collection<Long> taskIds, Priority newPriority) {
+        validateTaskIds(taskIds);
+        validatePriority(newPriority);
+        if (taskIds.isEmpty()) {
+            return List.of();
+        }
+
+        List<Task> updatedTasks = taskDAO.patchAll(taskIds, new TaskPatch().setPriority(newPriority));
+        if (!updatedTasks.isEmpty()) {
+            notifyTasksUpdated(updatedTasks);
+        }
+        return updatedTasks;
+    }
+
+    public List<Long> bulkDelete(Collection<Long> taskIds) {
+        validateTaskIds(taskIds);
+        if (taskIds.isEmpty()) {
+            return List.of();
+        }
+
+        List<Long> deletedIds = taskDAO.deleteAll(taskIds);
+        if (!deletedIds.isEmpty()) {
+            notifyTasksDeleted(deletedIds);
+        }
+        return deletedIds;
+    }
+
+    
     //metodi per ricerca task
     public Optional<Task> findTaskById(Long id) {
         if (id == null || id <= 0) {
@@ -185,25 +320,60 @@ public class TaskController {
         return taskDAO.findByProjectId(projectId);
     }
 
+    //elenco leggero per le schermate di selezione
+    public List<TaskSummary> findTaskSummariesByProjectId(Long projectId) {
+        validateProjectId(projectId);
+        return taskDAO.findSummariesByProjectId(projectId);
+    }
+
+    //una pagina alla volta (pageToken null = prima pagina)
+    public Page<Task> findTasksByProjectId(Long projectId, String pageToken, int pageSize) {
+        validateProjectId(projectId);
+        return taskDAO.findByProjectId(projectId, pageToken, pageSize);
+    }
+
+    //ricerca per criteri: il filtro (es. progetto) è applicato dal database
+    public List<Task> findTasks(TaskQuery query) {
+        if (query == null) {
+            throw new IllegalArgumentException("Query non può essere null");
+        }
+        if (queryCache == null) {
+            return taskDAO.find(query);
+        }
+        return queryCache.find(query, () -> taskDAO.find(query));
+    }
+
     public List<Task> findTasksByStatus(TaskStatus status) {
         validateTaskStatus(status);
-        return taskDAO.findByStatus(status);
+        if (queryCache == null) {
+            return taskDAO.findByStatus(status);
+        }
+        return queryCache.findByStatus(status, () -> taskDAO.findByStatus(status));
     }
 
     public List<Task> findTasksByPriority(Priority priority) {
         validatePriority(priority);
-        return taskDAO.findByPriority(priority);
+        if (queryCache == null) {
+            return taskDAO.findByPriority(priority);
+        }
+        return queryCache.findByPriority(priority, () -> taskDAO.findByPriority(priority));
     }
 
     public List<Task> findTasksDueBy(LocalDate date) {
         if (date == null) {
             throw new IllegalArgumentException("Data non può essere null");
         }
-        return taskDAO.findByDeadlineBefore(date);
+        if (queryCache == null) {
+            return taskDAO.findByDeadlineBefore(date);
+        }
+        return queryCache.findDueBy(date, () -> taskDAO.findByDeadlineBefore(date));
     }
 
     public List<Task> findOverdueTasks() {
-        return taskDAO.findOverdueTasks();
+        if (queryCache == null) {
+            return taskDAO.findOverdueTasks();
+        }
+        return queryCache.findOverdue(taskDAO::findOverdueTasks);
     }
 
     public List<Task> findTasksDueToday() {
@@ -222,6 +392,10 @@ public class TaskController {
         return taskDAO.findAll();
     }
 
+    public Page<Task> getAllTasks(String pageToken, int pageSize) {
+        return taskDAO.findAll(pageToken, pageSize);
+    }
+
     //utili
     public int countTasksByProjectAndStatus(Long projectId, TaskStatus status) {
         validateProjectId(projectId);
@@ -229,21 +403,31 @@ public class TaskController {
         return taskDAO.countByProjectIdAndStatus(projectId, status);
     }
 
-    public int calculateProjectCompletion(Long projectId) {
-        List<Task> allTasks = findTasksByProjectId(projectId);
-        if (allTasks.isEmpty()) {
-            return 0;
-        }
+    //conteggi per stato calcolati dal database, senza caricare le task
+    public TaskCounts countProjectTasks(Long projectId) {
+        validateProjectId(projectId);
+        return taskDAO.countByProjectId(projectId);
+    }
 
-        long completedTasks = allTasks.stream()
-                .filter(task -> task.getStatus() == TaskStatus.DONE)
-                .count();
+    //scheda del progetto: conteggi e task in ritardo con un solo round-trip
+    public ProjectOverview getProjectOverview(Long projectId) {
+        validateProjectId(projectId);
+        return taskDAO.findOverviewByProjectId(projectId);
+    }
 
-        return (int) ((completedTasks * 100) / allTasks.size());
+    //schede di una pagina di progetti con un solo round-trip invece di uno per progetto
+    public Map<Long, ProjectOverview> getProjectOverviews(Collection<Long> projectIds) {
+        validateProjectIds(projectIds);
+        return taskDAO.findOverviewsByProjectIds(projectIds);
+    }
+
+    public int calculateProjectCompletion(Long projectId) {
+        return countProjectTasks(projectId).completionPercentage();
     }
 
     public boolean projectHasTasks(Long projectId) {
-        return !findTasksByProjectId(projectId).isEmpty();
+        validateProjectId(projectId);
+        return taskDAO.existsByProjectId(projectId);
     }
 
     protected TaskDAO getTaskDAO() {
@@ -257,6 +441,26 @@ public class TaskController {
         }
     }
 
+    private void validateTaskIds(Collection<Long> taskIds) {
+        if (taskIds == null) {
+            throw new IllegalArgumentException("Lista task non può essere null");
+        }
+        for (Long taskId : taskIds) {
+            if (taskId == null || taskId <= 0) {
+                throw new IllegalArgumentException("ID non valido");
+            }
+        }
+    }
+
+    private void validateProjectIds(Collection<Long> projectIds) {
+        if (projectIds == null) {
+            throw new IllegalArgumentException("Lista progetti non può essere null");
+        }
+        for (Long projectId : projectIds) {
+            validateProjectId(projectId);
+        }
+    }
+
     private void validateTitle(String title) {
         if (title == null || title.trim().isEmpty()) {
             throw new IllegalArgumentException("Titolo task non può essere vuoto");
@@ -1,23 +1,58 @@
 package com.todolistmanager.controller;
 
+import com.todolistmanager.dao.CachingUserDAO;
+import com.todolistmanager.dao.Page;
 import com.todolistmanager.dao.UserDAO;
 import com.todolistmanager.dao.UserDAOImpl;
+import com.todolistmanager.db.JdbcTransactionManager;
+import com.todolistmanager.db.TransactionManager;
 import com.todolistmanager.model.User;
+import com.todolistmanager.observer.UserObserver;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
 public class UserController {
 
     private final UserDAO userDAO;
+    private final TransactionManager transactionManager;
+    private final List<UserObserver> observers;
 
     //costruttore per test
     public UserController(UserDAO userDAO) {
+        this(userDAO, TransactionManager.direct());
+    }
+
+    public UserController(UserDAO userDAO, TransactionManager transactionManager) {
         this.userDAO = userDAO;
+        this.transactionManager = transactionManager;
+        this.observers = new ArrayList<>();
     }
 
     //costruttore per produzione
     public UserController() {
-        this(new UserDAOImpl());
+        this(new CachingUserDAO(new UserDAOImpl()), new JdbcTransactionManager());
+    }
+
+    //gestione observer
+    public void addObserver(UserObserver observer) {
+        observers.add(observer);
+    }
+
+    public void removeObserver(UserObserver observer) {
+        observers.remove(observer);
+    }
+
+    private void notifyUserCreated(User user) {
+        for (UserObserver observer : observers) {
+            observer.onUserCreated(user);
+        }
+    }
+
+    private void notifyUserDeleted(Long userId) {
+        for (UserObserver observer : observers) {
+            observer.onUserDeleted(userId);
+        }
     }
 
     //creazione utente
@@ -27,14 +62,13 @@ public class UserController {
         validateUsername(username);
         validateEmail(email);
 
-        //controllo esistenza username
-        if (usernameExists(username)) {
-            throw new IllegalArgumentException("Username '" + username + "' già esistente");
-        }
-
-        //creazione e salvataggio utente
+        //creazione e salvataggio utente, il controllo di unicità è fatto dall'INSERT stesso
         User user = new User(username, email);
-        return userDAO.save(user);
+        User savedUser = userDAO.insertIfAbsent(user)
+                .orElseThrow(() -> new IllegalArgumentException("Username '" + username + "' già esistente"));
+
+        notifyUserCreated(savedUser);
+        return savedUser;
     }
 
     //metodi per ricerca utente
@@ -57,17 +91,31 @@ public class UserController {
         return userDAO.findAll();
     }
 
+    //una pagina alla volta (pageToken null = prima pagina)
+    public Page<User> getAllUsers(String pageToken, int pageSize) {
+        return userDAO.findAll(pageToken, pageSize);
+    }
+
     //elimina utente
     public boolean deleteUser(Long id) {
-
-        //controllo esistenza
-        Optional<User> user = userDAO.findById(id);
-        if (user.isEmpty()) {
+        boolean deleted = transactionManager.inTransaction(() -> {
+            //controllo esistenza
+            Optional<User> user = userDAO.findById(id);
+            if (user.isEmpty()) {
+                return false;
+            }
+
+            //eliminazione
+            userDAO.delete(id);
+            return true;
+        });
+        if (!deleted) {
             return false;
         }
 
-        //eliminazione
-        userDAO.delete(id);
+        //notifica observer (dopo il commit): progetti e task sono stati eliminati a cascata
+        notifyUserDeleted(id);
+
         return true;
     }
 
@@ -0,0 +1,230 @@
+package com.todolistmanager.dao;
+
+import com.todolistmanager.db.DBConnection;
+import com.todolistmanager.model.BaseModel;
+import com.todolistmanager.model.Project;
+import com.todolistmanager.model.Task;
+import com.todolistmanager.model.User;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.stream.Stream;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
+
+//caricamento massivo con COPY FROM STDIN (CSV): le righe sono prodotte in streaming e scritte a blocchi,
+//il produttore si blocca sulla scrittura quando il buffer è pieno (memoria costante).
+//Gli id sono pre-allocati dalle sequenze, così progetti e task possono riferirsi ai padri senza rileggerli
+public class BulkLoader implements AutoCloseable {
+
+    //tabelle caricabili
+    public enum Table {
+        USERS("users", "id, username, email, created_at"),
+        PROJECTS("projects", "id, user_id, name, description, created_at"),
+        TASKS("tasks", "id, project_id, title, description, status, priority, deadline, completed_at, created_at");
+
+        private final String name;
+        private final String columns;
+
+        Table(String name, String columns) {
+            this.name = name;
+            this.columns = columns;
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+
+    //caratteri accumulati prima di ogni scrittura sul socket
+    private static final int BUFFER_SIZE = 256 * 1024;
+
+    //id prelevati dalla sequenza per ogni richiesta interna
+    private static final int ID_BLOCK_SIZE = 1000;
+
+    private final Connection conn;
+    private final CopyManager copyManager;
+    private final Map<Table, ArrayDeque<Long>> allocatedIds = new EnumMap<>(Table.class);
+
+    //connessione al primary (dentro una transazione usa quella della transazione)
+    public BulkLoader() {
+        this.conn = DBConnection.getInstance().getConnection();
+        try {
+            this.copyManager = conn.unwrap(PGConnection.class).getCopyAPI();
+        } catch (SQLException e) {
+            close();
+            throw new RuntimeException("COPY non disponibile sulla connessione", e);
+        }
+    }
+
+    //riserva count id dalla sequenza della tabella (non necessariamente contigui).
+    //Usa una connessione separata: durante un COPY quella del loader non accetta altre query,
+    //e nextval non è comunque transazionale
+    public long[] allocateIds(Table table, int count) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("Numero di id non valido");
+        }
+        String sql = "SELECT nextval(pg_get_serial_sequence(?, 'id')) FROM generate_series(1, ?)";
+
+        try (Connection idConn = DBConnection.getInstance().getPool().getConnection();
+             PreparedStatement pstmt = idConn.prepareStatement(sql)) {
+            pstmt.setString(1, table.getName());
+            pstmt.setInt(2, count);
+            ResultSet rs = pstmt.executeQuery();
+
+            long[] ids = new long[count];
+            for (int i = 0; i < count && rs.next(); i++) {
+                ids[i] = rs.getLong(1);
+            }
+            return ids;
+
+        } catch (SQLException e) {
+            throw new RuntimeException("Errore nell'allocazione degli id", e);
+        }
+    }
+
+    //caricamento: restituisce il numero di righe copiate; gli oggetti senza id ricevono un id pre-allocato
+    public long loadUsers(Stream<User> users) {
+        return copy(Table.USERS, users, (row, user) -> row
+                .add(user.getUsername())
+                .add(user.getEmail())
+                .add(user.getCreatedAt()));
+    }
+
+    public long loadProjects(Stream<Project> projects) {
+        return copy(Table.PROJECTS, projects, (row, project) -> row
+                .add(project.getUserId())
+                .add(project.getName())
+                .add(project.getDescription())
+                .add(project.getCreatedAt()));
+    }
+
+    public long loadTasks(Stream<Task> tasks) {
+        return copy(Table.TASKS, tasks, (row, task) -> row
+                .add(task.getProjectId())
+                .add(task.getTitle())
+                .add(task.getDescription())
+                .add(task.getStatus().name())
+                .add(task.getPriority().name())
+                .add(task.getDeadline())
+                .add(task.getCompletedAt())
+                .add(task.getCreatedAt()));
+    }
+
+    private <T extends BaseModel> long copy(Table table, Stream<T> rows, RowWriter<T> writer) {
+        String sql = "COPY " + table.getName() + " (" + table.columns + ") FROM STDIN WITH (FORMAT csv)";
+        CopyIn copyIn = null;
+
+        try {
+            copyIn = copyManager.copyIn(sql);
+            CsvRow row = new CsvRow();
+            Iterator<T> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                T item = iterator.next();
+                if (item.getId() == null) {
+                    item.setId(nextId(table));
+                }
+                row.add(item.getId());
+                writer.write(row, item);
+                row.end();
+                item.clearDirty();
+
+                if (row.size() >= BUFFER_SIZE) {
+                    row.flushTo(copyIn);
+                }
+            }
+            row.flushTo(copyIn);
+            long copied = copyIn.endCopy();
+            DBConnection.getInstance().recordWrite();
+            return copied;
+
+        } catch (SQLException e) {
+            cancel(copyIn);
+            throw new RuntimeException("Errore nel caricamento massivo di " + table.getName(), e);
+        } catch (RuntimeException e) {
+            cancel(copyIn);
+            throw e;
+        } finally {
+            rows.close();
+        }
+    }
+
+    private long nextId(Table table) {
+        ArrayDeque<Long> ids = allocatedIds.computeIfAbsent(table, t -> new ArrayDeque<>());
+        if (ids.isEmpty()) {
+            for (long id : allocateIds(table, ID_BLOCK_SIZE)) {
+                ids.add(id);
+            }
+        }
+        return ids.poll();
+    }
+
+    private static void cancel(CopyIn copyIn) {
+        if (copyIn != null && copyIn.isActive()) {
+            try {
+                copyIn.cancelCopy();
+            } catch (SQLException e) {
+                System.err.println("❌ Errore nell'annullamento del COPY: " + e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            conn.close();
+        } catch (SQLException e) {
+            throw new RuntimeException("Errore nella chiusura della connessione", e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface RowWriter<T> {
+        void write(CsvRow row, T item);
+    }
+
+    //righe CSV nel formato di COPY: campo vuoto = NULL, stringhe sempre tra virgolette
+    private static final class CsvRow {
+        private final StringBuilder buffer = new StringBuilder(BUFFER_SIZE + 4096);
+        private boolean firstField = true;
+
+        CsvRow add(Object value) {
+            if (!firstField) {
+                buffer.append(',');
+            }
+            firstField = false;
+
+            if (value instanceof String text) {
+                buffer.append('"').append(text.replace("\"", "\"\"")).append('"');
+            } else if (value != null) {
+                buffer.append(value); //numeri, LocalDate e LocalDateTime in formato ISO
+            }
+            return this;
+        }
+
+        void end() {
+            buffer.append('\n');
+            firstField = true;
+        }
+
+        int size() {
+            return buffer.length();
+        }
+
+        void flushTo(CopyIn copyIn) throws SQLException {
+            if (buffer.length() == 0) {
+                return;
+            }
+            byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+            copyIn.writeToCopy(bytes, 0, bytes.length);
+            buffer.setLength(0);
+        }
+    }
+}
\ No newline at end of file
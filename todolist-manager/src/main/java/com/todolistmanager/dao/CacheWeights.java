@@ -0,0 +1,135 @@
+package com.todolistmanager.dao;
+
+import com.todolistmanager.cache.Weigher;
+import com.todolistmanager.model.Project;
+import com.todolistmanager.model.ProjectSummary;
+import com.todolistmanager.model.StatisticsSnapshot.TaskCounts;
+import com.todolistmanager.model.Task;
+import com.todolistmanager.model.TaskSummary;
+import com.todolistmanager.model.User;
+import java.util.List;
+
+//stime della memoria trattenuta dagli elementi delle cache dei DAO (JVM a 64 bit, compressed oops).
+//La parte fissa copre oggetto, id boxed e date; il resto cresce con la lunghezza delle stringhe
+final class CacheWeights {
+
+    //oggetto + id/projectId (Long) + createdAt (LocalDateTime) + deadline e completedAt (LocalDate)
+    private static final long TASK_BYTES = 208;
+    //oggetto + id/userId (Long) + createdAt
+    private static final long PROJECT_BYTES = 144;
+    //oggetto + id (Long) + createdAt
+    private static final long USER_BYTES = 128;
+
+    //riepilogo di progetto: oggetto + id (Long) e numero di task
+    private static final long SUMMARY_BYTES = 40;
+    //riepilogo di task: oggetto + id (Long) + deadline (LocalDate); stato e priorità sono enum condivisi
+    private static final long TASK_SUMMARY_BYTES = 64;
+    //Page + chiave PageKey (oggetti, senza le stringhe del token)
+    private static final long PAGE_BYTES = 24;
+    private static final long PAGE_KEY_BYTES = 24;
+    //record dei conteggi: oggetto + cinque int
+    private static final long COUNTS_BYTES = 40;
+
+    private static final long LONG_BYTES = 16;
+    private static final long INTEGER_BYTES = 16;
+    //oggetto String + intestazione dell'array di byte
+    private static final long STRING_BYTES = 40;
+    //lista immutabile (List.copyOf) + intestazione dell'array, poi un riferimento per elemento
+    private static final long LIST_BYTES = 32;
+    private static final long REFERENCE_BYTES = 4;
+
+    static final Weigher<Long, Task> TASK = (id, task) -> LONG_BYTES + task(task);
+
+    static final Weigher<Long, List<Task>> TASK_LIST = (id, tasks) -> {
+        long bytes = LONG_BYTES + list(tasks);
+        for (Task task : tasks) {
+            bytes += task(task);
+        }
+        return bytes;
+    };
+
+    static final Weigher<PageKey, Page<Task>> TASK_PAGE = (key, page) -> {
+        long bytes = pageKey(key) + PAGE_BYTES + string(page.getNextPageToken()) + list(page.getItems());
+        for (Task task : page.getItems()) {
+            bytes += task(task);
+        }
+        return bytes;
+    };
+
+    static final Weigher<Long, List<TaskSummary>> TASK_SUMMARY_LIST = (projectId, summaries) -> {
+        long bytes = LONG_BYTES + list(summaries);
+        for (TaskSummary summary : summaries) {
+            bytes += TASK_SUMMARY_BYTES + string(summary.title());
+        }
+        return bytes;
+    };
+
+    static final Weigher<Long, TaskCounts> TASK_COUNTS = (projectId, counts) -> LONG_BYTES + COUNTS_BYTES;
+
+    static final Weigher<Long, List<Project>> PROJECT_LIST = (userId, projects) -> {
+        long bytes = LONG_BYTES + list(projects);
+        for (Project project : projects) {
+            bytes += project(project);
+        }
+        return bytes;
+    };
+
+    static final Weigher<PageKey, Page<Project>> PROJECT_PAGE = (key, page) -> {
+        long bytes = pageKey(key) + PAGE_BYTES + string(page.getNextPageToken()) + list(page.getItems());
+        for (Project project : page.getItems()) {
+            bytes += project(project);
+        }
+        return bytes;
+    };
+
+    static final Weigher<Long, List<ProjectSummary>> PROJECT_SUMMARY_LIST = (userId, summaries) -> {
+        long bytes = LONG_BYTES + list(summaries);
+        for (ProjectSummary summary : summaries) {
+            bytes += SUMMARY_BYTES + string(summary.name());
+        }
+        return bytes;
+    };
+
+    static final Weigher<Long, Integer> COUNT = (id, count) -> LONG_BYTES + INTEGER_BYTES;
+
+    static final Weigher<String, User> USER = (username, user) ->
+            string(username) + USER_BYTES + string(user.getUsername()) + string(user.getEmail());
+
+    private CacheWeights() {
+    }
+
+    private static long task(Task task) {
+        return TASK_BYTES + string(task.getTitle()) + string(task.getDescription());
+    }
+
+    private static long project(Project project) {
+        return PROJECT_BYTES + string(project.getName()) + string(project.getDescription());
+    }
+
+    private static long pageKey(PageKey key) {
+        return PAGE_KEY_BYTES + LONG_BYTES + string(key.pageToken());
+    }
+
+    private static long list(List<?> list) {
+        return LIST_BYTES + REFERENCE_BYTES * list.size();
+    }
+
+    //stringhe compatte: 1 byte per carattere se tutte Latin-1, altrimenti 2 (UTF-16)
+    static long string(String value) {
+        if (value == null) {
+            return 0;
+        }
+        int bytesPerChar = 1;
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) > 0xFF) {
+                bytesPerChar = 2;
+                break;
+            }
+        }
+        return STRING_BYTES + align((long) bytesPerChar * value.length());
+    }
+
+    private static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+}
\ No newline at end of file
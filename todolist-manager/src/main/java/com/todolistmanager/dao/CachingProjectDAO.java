@@ -0,0 +1,326 @@
+package com.todolistmanager.dao;
+
+import com.todolistmanager.cache.CacheStats;
+import com.todolistmanager.cache.LruCache;
+import com.todolistmanager.cache.MemoryBudget;
+import com.todolistmanager.model.Project;
+import com.todolistmanager.model.ProjectSummary;
+import com.todolistmanager.model.Task;
+import com.todolistmanager.model.User;
+import com.todolistmanager.observer.ProjectObserver;
+import com.todolistmanager.observer.TaskObserver;
+import com.todolistmanager.observer.UserObserver;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+//decoratore di un ProjectDAO con cache delle letture per utente usate dalle schermate: lista completa,
+//pagine (utente, token, dimensione), riepiloghi per le selezioni e conteggio dei progetti.
+//Le cache si aggiornano dalle notifiche di ProjectController, inviate dopo il commit: una transazione
+//annullata non lascia modifiche in cache. Liste, riepiloghi e conteggi sono aggiornati (write-through),
+//le pagine dell'utente invalidate perché i confini delle pagine si spostano.
+//L'eliminazione di un utente, che cancella a cascata i suoi progetti, arriva come UserObserver;
+//le task create o eliminate (TaskObserver) cambiano il numero di task dei riepiloghi.
+//La cache conserva copie: gli oggetti restituiti sono del chiamante
+public class CachingProjectDAO implements ProjectDAO, ProjectObserver, UserObserver, TaskObserver {
+
+    //limite di sicurezza sul numero di elementi: la memoria è limitata dal budget condiviso
+    private static final int DEFAULT_MAX_ENTRIES = 10_000;
+    private static final Duration DEFAULT_TTL = Duration.ofSeconds(60);
+
+    private final ProjectDAO delegate;
+    private final LruCache<Long, List<Project>> byUser;
+    private final LruCache<PageKey, Page<Project>> pages;
+    private final LruCache<Long, List<ProjectSummary>> summaries;
+    private final LruCache<Long, Integer> counts;
+
+    public CachingProjectDAO(ProjectDAO delegate) {
+        this(delegate, DEFAULT_MAX_ENTRIES, DEFAULT_TTL, MemoryBudget.getShared());
+    }
+
+    //senza budget: limite solo sul numero di elementi
+    public CachingProjectDAO(ProjectDAO delegate, int maxEntries, Duration ttl) {
+        this(delegate, maxEntries, ttl, null);
+    }
+
+    public CachingProjectDAO(ProjectDAO delegate, int maxEntries, Duration ttl, MemoryBudget budget) {
+        this.delegate = delegate;
+        this.byUser = new LruCache<>(maxEntries, ttl, budget, CacheWeights.PROJECT_LIST);
+        this.pages = new LruCache<>(maxEntries, ttl, budget, CacheWeights.PROJECT_PAGE);
+        this.summaries = new LruCache<>(maxEntries, ttl, budget, CacheWeights.PROJECT_SUMMARY_LIST);
+        this.counts = new LruCache<>(maxEntries, ttl, budget, CacheWeights.COUNT);
+    }
+
+    //lettura in cache
+    @Override
+    public List<Project> findByUserId(Long userId) {
+        Optional<List<Project>> cached = byUser.get(userId);
+        if (cached.isPresent()) {
+            return copyAll(cached.get());
+        }
+        List<Project> projects = delegate.findByUserId(userId);
+        byUser.put(userId, List.copyOf(copyAll(projects)));
+        return projects;
+    }
+
+    @Override
+    public Page<Project> findByUserId(Long userId, String pageToken, int pageSize) {
+        PageKey key = new PageKey(userId, pageToken, pageSize);
+        Optional<Page<Project>> cached = pages.get(key);
+        if (cached.isPresent()) {
+            return new Page<>(copyAll(cached.get().getItems()), cached.get().getNextPageToken());
+        }
+        Page<Project> page = delegate.findByUserId(userId, pageToken, pageSize);
+        pages.put(key, new Page<>(copyAll(page.getItems()), page.getNextPageToken()));
+        return page;
+    }
+
+    //i riepiloghi sono record immutabili: nessuna copia
+    @Override
+    public List<ProjectSummary> findSummariesByUserId(Long userId) {
+        Optional<List<ProjectSummary>> cached = summaries.get(userId);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        List<ProjectSummary> found = List.copyOf(delegate.findSummariesByUserId(userId));
+        summaries.put(userId, found);
+        return found;
+    }
+
+    @Override
+    public int countByUserId(Long userId) {
+        Optional<Integer> cached = counts.get(userId);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        int count = delegate.countByUserId(userId);
+        counts.put(userId, count);
+        return count;
+    }
+
+    //scritture: le liste in cache si aggiornano dalle notifiche di ProjectController, dopo il commit
+    @Override
+    public Project save(Project project) {
+        return delegate.save(project);
+    }
+
+    @Override
+    public List<Project> saveAll(List<Project> projects) {
+        //inserimento in blocco senza notifiche: si ricaricano le liste degli utenti coinvolti
+        List<Project> saved = delegate.saveAll(projects);
+        for (Project project : saved) {
+            invalidateUser(project.getUserId());
+        }
+        return saved;
+    }
+
+    @Override
+    public void update(Project project) {
+        delegate.update(project);
+    }
+
+    @Override
+    public void delete(Long id) {
+        delegate.delete(id);
+    }
+
+    //observer progetti (write-through)
+    @Override
+    public void onProjectCreated(Project project) {
+        //il progetto più recente va in testa (ordine per created_at decrescente)
+        byUser.update(project.getUserId(), (userId, projects) -> {
+            List<Project> updated = new ArrayList<>(projects.size() + 1);
+            updated.add(copy(project));
+            updated.addAll(projects);
+            return List.copyOf(updated);
+        });
+        summaries.update(project.getUserId(), (userId, cached) -> {
+            List<ProjectSummary> updated = new ArrayList<>(cached.size() + 1);
+            updated.add(new ProjectSummary(project.getId(), project.getName(), 0));
+            updated.addAll(cached);
+            return List.copyOf(updated);
+        });
+        counts.update(project.getUserId(), (userId, count) -> count + 1);
+        invalidatePages(project.getUserId());
+    }
+
+    @Override
+    public void onProjectUpdated(Project project) {
+        byUser.update(project.getUserId(), (userId, projects) -> {
+            List<Project> updated = new ArrayList<>(projects.size());
+            for (Project cached : projects) {
+                updated.add(cached.getId().equals(project.getId()) ? copy(project) : cached);
+            }
+            return List.copyOf(updated);
+        });
+        summaries.update(project.getUserId(), (userId, cached) -> {
+            List<ProjectSummary> updated = new ArrayList<>(cached.size());
+            for (ProjectSummary summary : cached) {
+                updated.add(summary.id().equals(project.getId())
+                        ? new ProjectSummary(summary.id(), project.getName(), summary.taskCount())
+                        : summary);
+            }
+            return List.copyOf(updated);
+        });
+        invalidatePages(project.getUserId());
+    }
+
+    @Override
+    public void onProjectDeleted(Project project) {
+        byUser.update(project.getUserId(), (userId, projects) -> {
+            List<Project> updated = new ArrayList<>(projects);
+            updated.removeIf(cached -> cached.getId().equals(project.getId()));
+            return List.copyOf(updated);
+        });
+        summaries.update(project.getUserId(), (userId, cached) -> {
+            List<ProjectSummary> updated = new ArrayList<>(cached);
+            updated.removeIf(summary -> summary.id().equals(project.getId()));
+            return List.copyOf(updated);
+        });
+        counts.update(project.getUserId(), (userId, count) -> count - 1);
+        invalidatePages(project.getUserId());
+    }
+
+    //observer task: cambia solo il numero di task nei riepiloghi
+    @Override
+    public void onTaskCreated(Task task) {
+        invalidateSummariesOf(Set.of(task.getProjectId()));
+    }
+
+    @Override
+    public void onTasksCreated(List<Task> tasks) {
+        Set<Long> projectIds = new HashSet<>();
+        for (Task task : tasks) {
+            projectIds.add(task.getProjectId());
+        }
+        invalidateSummariesOf(projectIds);
+    }
+
+    @Override
+    public void onTaskDeleted(Long taskId) {
+        //il progetto della task non è noto: si ricaricano tutti i riepiloghi
+        summaries.invalidateAll();
+    }
+
+    @Override
+    public void onTasksDeleted(List<Long> taskIds) {
+        summaries.invalidateAll();
+    }
+
+    @Override
+    public void onTaskUpdated(Task task) {
+        //il numero di task non cambia
+    }
+
+    @Override
+    public void onTaskStatusChanged(Task task) {
+        //il numero di task non cambia
+    }
+
+    @Override
+    public void onTasksUpdated(List<Task> tasks) {
+        //il numero di task non cambia
+    }
+
+    @Override
+    public void onTasksStatusChanged(List<Task> tasks) {
+        //il numero di task non cambia
+    }
+
+    //observer utenti
+    @Override
+    public void onUserCreated(User user) {
+        //nessun progetto da mettere in cache
+    }
+
+    @Override
+    public void onUserDeleted(Long userId) {
+        invalidateUser(userId);
+    }
+
+    //contatori della cache
+    public CacheStats getStats() {
+        return byUser.getStats();
+    }
+
+    public CacheStats getPageStats() {
+        return pages.getStats();
+    }
+
+    public CacheStats getSummaryStats() {
+        return summaries.getStats();
+    }
+
+    public CacheStats getCountStats() {
+        return counts.getStats();
+    }
+
+    //occupazione stimata in byte (0 senza budget di memoria)
+    public long getWeight() {
+        return byUser.getWeight() + pages.getWeight() + summaries.getWeight() + counts.getWeight();
+    }
+
+    //svuota la cache (es. dopo modifiche fatte senza passare da questo DAO)
+    public void invalidateAll() {
+        byUser.invalidateAll();
+        pages.invalidateAll();
+        summaries.invalidateAll();
+        counts.invalidateAll();
+    }
+
+    private void invalidateUser(Long userId) {
+        byUser.invalidate(userId);
+        summaries.invalidate(userId);
+        counts.invalidate(userId);
+        invalidatePages(userId);
+    }
+
+    private void invalidatePages(Long userId) {
+        pages.invalidateIf((key, page) -> key.ownerId().equals(userId));
+    }
+
+    private void invalidateSummariesOf(Set<Long> projectIds) {
+        summaries.invalidateIf((userId, cached) -> {
+            for (ProjectSummary summary : cached) {
+                if (projectIds.contains(summary.id())) {
+                    return true;
+                }
+            }
+            return false;
+        });
+    }
+
+    //letture non in cache
+    @Override
+    public Optional<Project> findById(Long id) {
+        return delegate.findById(id);
+    }
+
+    @Override
+    public Optional<Project> findByIdForUpdate(Long id) {
+        return delegate.findByIdForUpdate(id);
+    }
+
+    @Override
+    public List<Project> findAll() {
+        return delegate.findAll();
+    }
+
+    private static List<Project> copyAll(List<Project> projects) {
+        List<Project> copies = new ArrayList<>(projects.size());
+        for (Project project : projects) {
+            copies.add(copy(project));
+        }
+        return copies;
+    }
+
+    private static Project copy(Project project) {
+        Project copy = new Project(project.getId(), project.getUserId(), project.getName(), project.getDescription());
+        copy.setCreatedAt(project.getCreatedAt());
+        copy.clearDirty();
+        return copy;
+    }
+}
\ No newline at end of file
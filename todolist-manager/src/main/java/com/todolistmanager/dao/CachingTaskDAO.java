@@ -0,0 +1,345 @@
+package com.todolistmanager.dao;
+
+import com.todolistmanager.cache.CacheStats;
+import com.todolistmanager.cache.LruCache;
+import com.todolistmanager.cache.MemoryBudget;
+import com.todolistmanager.model.Priority;
+import com.todolistmanager.model.Project;
+import com.todolistmanager.model.ProjectOverview;
+import com.todolistmanager.model.StatisticsSnapshot.TaskCounts;
+import com.todolistmanager.model.Task;
+import com.todolistmanager.model.TaskStatus;
+import com.todolistmanager.model.TaskSummary;
+import com.todolistmanager.model.User;
+import com.todolistmanager.observer.ProjectObserver;
+import com.todolistmanager.observer.UserObserver;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+//decoratore read-through di un TaskDAO con cache LRU e TTL delle letture usate dalle schermate:
+//la task per id e, per progetto, le pagine (progetto, token, dimensione), i riepiloghi e i conteggi per stato.
+//Le scritture fatte tramite questo DAO invalidano la task e le voci del suo progetto.
+//Le eliminazioni a cascata arrivano come notifiche di progetti e utenti eliminati (ProjectObserver, UserObserver).
+//La cache conserva copie: gli oggetti restituiti sono del chiamante
+public class CachingTaskDAO implements TaskDAO, ProjectObserver, UserObserver {
+
+    //limite di sicurezza sul numero di elementi: la memoria è limitata dal budget condiviso
+    private static final int DEFAULT_MAX_ENTRIES = 10_000;
+    private static final Duration DEFAULT_TTL = Duration.ofSeconds(60);
+
+    private final TaskDAO delegate;
+    private final LruCache<Long, Task> byId;
+    private final LruCache<PageKey, Page<Task>> pages;
+    private final LruCache<Long, List<TaskSummary>> summaries;
+    private final LruCache<Long, TaskCounts> counts;
+
+    public CachingTaskDAO(TaskDAO delegate) {
+        this(delegate, DEFAULT_MAX_ENTRIES, DEFAULT_TTL, MemoryBudget.getShared());
+    }
+
+    //senza budget: limite solo sul numero di elementi
+    public CachingTaskDAO(TaskDAO delegate, int maxEntries, Duration ttl) {
+        this(delegate, maxEntries, ttl, null);
+    }
+
+    public CachingTaskDAO(TaskDAO delegate, int maxEntries, Duration ttl, MemoryBudget budget) {
+        this.delegate = delegate;
+        this.byId = new LruCache<>(maxEntries, ttl, budget, CacheWeights.TASK);
+        this.pages = new LruCache<>(maxEntries, ttl, budget, CacheWeights.TASK_PAGE);
+        this.summaries = new LruCache<>(maxEntries, ttl, budget, CacheWeights.TASK_SUMMARY_LIST);
+        this.counts = new LruCache<>(maxEntries, ttl, budget, CacheWeights.TASK_COUNTS);
+    }
+
+    //letture in cache
+    @Override
+    public Optional<Task> findById(Long id) {
+        Optional<Task> cached = byId.get(id);
+        if (cached.isPresent()) {
+            return Optional.of(TaskCopies.copy(cached.get()));
+        }
+        Optional<Task> task = delegate.findById(id);
+        task.ifPresent(found -> byId.put(id, TaskCopies.copy(found)));
+        return task;
+    }
+
+    @Override
+    public Page<Task> findByProjectId(Long projectId, String pageToken, int pageSize) {
+        PageKey key = new PageKey(projectId, pageToken, pageSize);
+        Optional<Page<Task>> cached = pages.get(key);
+        if (cached.isPresent()) {
+            return new Page<>(TaskCopies.copyAll(cached.get().getItems()), cached.get().getNextPageToken());
+        }
+        Page<Task> page = delegate.findByProjectId(projectId, pageToken, pageSize);
+        pages.put(key, new Page<>(TaskCopies.copyAll(page.getItems()), page.getNextPageToken()));
+        return page;
+    }
+
+    //riepiloghi e conteggi sono record immutabili: nessuna copia
+    @Override
+    public List<TaskSummary> findSummariesByProjectId(Long projectId) {
+        Optional<List<TaskSummary>> cached = summaries.get(projectId);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        List<TaskSummary> found = List.copyOf(delegate.findSummariesByProjectId(projectId));
+        summaries.put(projectId, found);
+        return found;
+    }
+
+    @Override
+    public TaskCounts countByProjectId(Long projectId) {
+        Optional<TaskCounts> cached = counts.get(projectId);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        TaskCounts found = delegate.countByProjectId(projectId);
+        counts.put(projectId, found);
+        return found;
+    }
+
+    //scritture: delegate e invalidazione delle voci interessate
+    @Override
+    public Task save(Task task) {
+        Task saved = delegate.save(task);
+        invalidateProject(saved.getProjectId());
+        return saved;
+    }
+
+    @Override
+    public List<Task> saveAll(List<Task> tasks) {
+        List<Task> saved = delegate.saveAll(tasks);
+        Set<Long> projectIds = new HashSet<>();
+        for (Task task : saved) {
+            projectIds.add(task.getProjectId());
+        }
+        projectIds.forEach(this::invalidateProject);
+        return saved;
+    }
+
+    @Override
+    public void update(Task task) {
+        delegate.update(task);
+        invalidateTask(task.getId(), task.getProjectId());
+    }
+
+    @Override
+    public Optional<Task> updateStatus(Long id, TaskStatus status) {
+        return invalidateUpdated(id, delegate.updateStatus(id, status));
+    }
+
+    @Override
+    public Optional<Task> updatePriority(Long id, Priority priority) {
+        return invalidateUpdated(id, delegate.updatePriority(id, priority));
+    }
+
+    @Override
+    public Optional<Task> patch(Long id, TaskPatch patch) {
+        return invalidateUpdated(id, delegate.patch(id, patch));
+    }
+
+    @Override
+    public List<Task> patchAll(Collection<Long> ids, TaskPatch patch) {
+        List<Task> updated = delegate.patchAll(ids, patch);
+        for (Task task : updated) {
+            invalidateTask(task.getId(), task.getProjectId());
+        }
+        return updated;
+    }
+
+    @Override
+    public void delete(Long id) {
+        delegate.delete(id);
+        invalidateDeleted(List.of(id));
+    }
+
+    @Override
+    public List<Long> deleteAll(Collection<Long> ids) {
+        List<Long> deleted = delegate.deleteAll(ids);
+        invalidateDeleted(deleted);
+        return deleted;
+    }
+
+    //observer progetti: le task di un progetto eliminato sono state cancellate a cascata
+    @Override
+    public void onProjectCreated(Project project) {
+        //nessuna task da invalidare
+    }
+
+    @Override
+    public void onProjectUpdated(Project project) {
+        //le task non contengono dati del progetto
+    }
+
+    @Override
+    public void onProjectDeleted(Project project) {
+        invalidateProject(project.getId());
+        byId.invalidateIf((id, task) -> task.getProjectId().equals(project.getId()));
+    }
+
+    //observer utenti: i progetti dell'utente eliminato non sono noti qui, si svuota la cache (evento raro)
+    @Override
+    public void onUserCreated(User user) {
+        //nessuna task da invalidare
+    }
+
+    @Override
+    public void onUserDeleted(Long userId) {
+        invalidateAll();
+    }
+
+    //contatori della cache
+    public CacheStats getByIdStats() {
+        return byId.getStats();
+    }
+
+    public CacheStats getPageStats() {
+        return pages.getStats();
+    }
+
+    public CacheStats getSummaryStats() {
+        return summaries.getStats();
+    }
+
+    public CacheStats getCountStats() {
+        return counts.getStats();
+    }
+
+    //occupazione stimata in byte (0 senza budget di memoria)
+    public long getWeight() {
+        return byId.getWeight() + pages.getWeight() + summaries.getWeight() + counts.getWeight();
+    }
+
+    //svuota tutte le cache (es. dopo modifiche fatte senza passare da questo DAO)
+    public void invalidateAll() {
+        byId.invalidateAll();
+        pages.invalidateAll();
+        summaries.invalidateAll();
+        counts.invalidateAll();
+    }
+
+    //letture non in cache
+    @Override
+    public List<Task> findByProjectId(Long projectId) {
+        return delegate.findByProjectId(projectId);
+    }
+
+    @Override
+    public List<Task> findByStatus(TaskStatus status) {
+        return delegate.findByStatus(status);
+    }
+
+    @Override
+    public List<Task> findByPriority(Priority priority) {
+        return delegate.findByPriority(priority);
+    }
+
+    @Override
+    public List<Task> findByDeadlineBefore(LocalDate date) {
+        return delegate.findByDeadlineBefore(date);
+    }
+
+    @Override
+    public List<Task> findOverdueTasks() {
+        return delegate.findOverdueTasks();
+    }
+
+    @Override
+    public List<Task> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public List<Task> find(TaskQuery query) {
+        return delegate.find(query);
+    }
+
+    @Override
+    public Page<Task> findAll(String pageToken, int pageSize) {
+        return delegate.findAll(pageToken, pageSize);
+    }
+
+    @Override
+    public Stream<Task> streamAll() {
+        return delegate.streamAll();
+    }
+
+    @Override
+    public Stream<Task> streamByStatus(TaskStatus status) {
+        return delegate.streamByStatus(status);
+    }
+
+    @Override
+    public Stream<Task> streamByPriority(Priority priority) {
+        return delegate.streamByPriority(priority);
+    }
+
+    @Override
+    public int countByProjectIdAndStatus(Long projectId, TaskStatus status) {
+        return delegate.countByProjectIdAndStatus(projectId, status);
+    }
+
+    @Override
+    public ProjectOverview findOverviewByProjectId(Long projectId) {
+        return delegate.findOverviewByProjectId(projectId);
+    }
+
+    @Override
+    public boolean existsByProjectId(Long projectId) {
+        return delegate.existsByProjectId(projectId);
+    }
+
+    @Override
+    public Map<Long, ProjectOverview> findOverviewsByProjectIds(Collection<Long> projectIds) {
+        return delegate.findOverviewsByProjectIds(projectIds);
+    }
+
+    private Optional<Task> invalidateUpdated(Long id, Optional<Task> updated) {
+        invalidateTask(id, updated.map(Task::getProjectId).orElse(null));
+        return updated;
+    }
+
+    //la task e le voci del suo progetto (una task non cambia progetto)
+    private void invalidateTask(Long id, Long projectId) {
+        byId.invalidate(id);
+        if (projectId != null) {
+            invalidateProject(projectId);
+        }
+    }
+
+    private void invalidateProject(Long projectId) {
+        pages.invalidateIf((key, page) -> key.ownerId().equals(projectId));
+        summaries.invalidate(projectId);
+        counts.invalidate(projectId);
+    }
+
+    //eliminazione: il progetto si ricava dalla task in cache (di solito letta dal controller prima di eliminarla).
+    //Per le task non in cache si cercano i progetti nelle pagine e nei riepiloghi, con una sola scansione;
+    //i conteggi non contengono gli id e vengono svuotati
+    private void invalidateDeleted(Collection<Long> ids) {
+        Set<Long> unknownIds = new HashSet<>();
+        for (Long id : ids) {
+            Optional<Task> cached = byId.peek(id);
+            if (cached.isPresent()) {
+                invalidateTask(id, cached.get().getProjectId());
+            } else {
+                byId.invalidate(id);
+                unknownIds.add(id);
+            }
+        }
+        if (!unknownIds.isEmpty()) {
+            pages.invalidateIf((key, page) ->
+                    page.getItems().stream().anyMatch(task -> unknownIds.contains(task.getId())));
+            summaries.invalidateIf((projectId, cached) ->
+                    cached.stream().anyMatch(summary -> unknownIds.contains(summary.id())));
+            counts.invalidateAll();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,230 @@
+package com.todolistmanager.dao;
+
+import com.todolistmanager.cache.BloomFilter;
+import com.todolistmanager.cache.CacheStats;
+import com.todolistmanager.cache.LruCache;
+import com.todolistmanager.cache.MemoryBudget;
+import com.todolistmanager.model.User;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.stream.Stream;
+
+//indice degli username davanti a un UserDAO: un filtro di Bloom costruito da tutti gli username
+//risponde "sicuramente libero" senza query, gli utenti trovati restano in una cache LRU limitata.
+//Entrambi sono aggiornati dalle scritture fatte tramite questo DAO. Gli username creati per altre vie
+//(altri processi, BulkLoader) non sono nel filtro: per questo il filtro ha un'età massima, scaduta la quale
+//viene ricostruito in background. Le ricerche non aspettano la scansione: risponde il filtro precedente
+//finché il nuovo non è pronto, e prima del primo filtro risponde il database
+public class CachingUserDAO implements UserDAO {
+
+    //limite di sicurezza sul numero di elementi: la memoria è limitata dal budget condiviso
+    private static final int DEFAULT_MAX_ENTRIES = 10_000;
+    private static final Duration DEFAULT_TTL = Duration.ofMinutes(10);
+
+    //capacità minima del filtro e margine di crescita rispetto agli utenti presenti all'avvio
+    private static final int MIN_FILTER_CAPACITY = 10_000;
+    private static final int FILTER_GROWTH_FACTOR = 2;
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    //oltre quest'età un "sicuramente libero" del filtro non è più affidabile
+    private static final Duration DEFAULT_FILTER_MAX_AGE = Duration.ofMinutes(5);
+
+    //un solo thread daemon condiviso per le ricostruzioni
+    private static final Executor DEFAULT_REBUILD_EXECUTOR = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "username-filter-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final UserDAO delegate;
+    private final LruCache<String, User> byUsername;
+    private final AtomicLong filterSkips = new AtomicLong();
+    private final long filterMaxAgeNanos;
+    private final LongSupplier clock;
+    private final Executor rebuildExecutor;
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    //null finché la prima scansione non è terminata
+    private volatile BloomFilter usernames;
+    private volatile long filterBuiltAt;
+    //filtro in costruzione: riceve anche gli username scritti durante la scansione
+    private volatile BloomFilter nextUsernames;
+
+    public CachingUserDAO(UserDAO delegate) {
+        this(delegate, DEFAULT_MAX_ENTRIES, DEFAULT_TTL, MemoryBudget.getShared());
+    }
+
+    //senza budget: limite solo sul numero di elementi
+    public CachingUserDAO(UserDAO delegate, int maxEntries, Duration ttl) {
+        this(delegate, maxEntries, ttl, null);
+    }
+
+    public CachingUserDAO(UserDAO delegate, int maxEntries, Duration ttl, MemoryBudget budget) {
+        this(delegate, maxEntries, ttl, budget, DEFAULT_FILTER_MAX_AGE, System::nanoTime, DEFAULT_REBUILD_EXECUTOR);
+    }
+
+    //età massima del filtro, orologio (nanosecondi) ed esecutore delle ricostruzioni espliciti per i test
+    CachingUserDAO(UserDAO delegate, int maxEntries, Duration ttl, MemoryBudget budget,
+                   Duration filterMaxAge, LongSupplier clock, Executor rebuildExecutor) {
+        this.delegate = delegate;
+        this.byUsername = new LruCache<>(maxEntries, ttl, budget, CacheWeights.USER);
+        this.filterMaxAgeNanos = filterMaxAge.toNanos();
+        this.clock = clock;
+        this.rebuildExecutor = rebuildExecutor;
+        scheduleRebuild();
+    }
+
+    //ricostruisce subito il filtro leggendo tutti gli username (cursore, memoria costante)
+    public synchronized void rebuild() {
+        long startedAt = clock.getAsLong();
+        int capacity = Math.max(MIN_FILTER_CAPACITY, delegate.count() * FILTER_GROWTH_FACTOR);
+        BloomFilter filter = new BloomFilter(capacity, FALSE_POSITIVE_RATE);
+        nextUsernames = filter;
+        try (Stream<User> users = delegate.streamAll()) {
+            users.forEach(user -> filter.add(user.getUsername()));
+            usernames = filter;
+            filterBuiltAt = startedAt;
+        } finally {
+            nextUsernames = null;
+        }
+    }
+
+    @Override
+    public Optional<User> findByUsername(String username) {
+        BloomFilter filter = usernames;
+        if (filter == null || isFilterExpired()) {
+            scheduleRebuild();
+        }
+        boolean inFilter = filter != null && filter.mightContain(username);
+        if (filter != null && !inFilter) {
+            filterSkips.incrementAndGet();
+            return Optional.empty();
+        }
+        Optional<User> cached = byUsername.get(username);
+        if (cached.isPresent()) {
+            return Optional.of(copy(cached.get()));
+        }
+        Optional<User> user = delegate.findByUsername(username);
+        user.ifPresent(found -> {
+            if (!inFilter) {
+                addUsername(username);
+            }
+            byUsername.put(username, copy(found));
+        });
+        return user;
+    }
+
+    @Override
+    public User save(User user) {
+        //aggiunto prima dell'INSERT: un falso positivo costa solo una query
+        addUsername(user.getUsername());
+        User saved = delegate.save(user);
+        //di nuovo dopo l'INSERT: un rebuild partito nel frattempo potrebbe non vedere la riga
+        addUsername(user.getUsername());
+        return saved;
+    }
+
+    @Override
+    public Optional<User> insertIfAbsent(User user) {
+        addUsername(user.getUsername());
+        Optional<User> inserted = delegate.insertIfAbsent(user);
+        addUsername(user.getUsername());
+        inserted.ifPresent(created -> byUsername.put(created.getUsername(), copy(created)));
+        return inserted;
+    }
+
+    @Override
+    public void delete(Long id) {
+        delegate.delete(id);
+        //il filtro non supporta rimozioni: lo username resta un (falso) positivo fino al rebuild
+        byUsername.invalidateIf((username, user) -> user.getId().equals(id));
+    }
+
+    //contatori: cache degli utenti trovati e ricerche evitate dal filtro
+    public CacheStats getStats() {
+        return byUsername.getStats();
+    }
+
+    //occupazione stimata in byte (0 senza budget di memoria)
+    public long getWeight() {
+        return byUsername.getWeight();
+    }
+
+    public long getFilterSkips() {
+        return filterSkips.get();
+    }
+
+    private boolean isFilterExpired() {
+        return clock.getAsLong() - filterBuiltAt >= filterMaxAgeNanos;
+    }
+
+    //una sola ricostruzione alla volta, in background: chi la fa partire non aspetta la scansione
+    private void scheduleRebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            rebuildExecutor.execute(() -> {
+                try {
+                    rebuild();
+                } catch (RuntimeException e) {
+                    //resta il filtro precedente: la prossima ricerca riprova
+                    System.err.println("❌ Ricostruzione del filtro degli username fallita: " + e.getMessage());
+                } finally {
+                    rebuilding.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rebuilding.set(false);
+        }
+    }
+
+    private void addUsername(String username) {
+        BloomFilter current = usernames;
+        if (current != null) {
+            current.add(username);
+        }
+        BloomFilter next = nextUsernames;
+        if (next != null) {
+            next.add(username);
+        }
+    }
+
+    //letture non in cache
+    @Override
+    public Optional<User> findById(Long id) {
+        return delegate.findById(id);
+    }
+
+    @Override
+    public List<User> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public Page<User> findAll(String pageToken, int pageSize) {
+        return delegate.findAll(pageToken, pageSize);
+    }
+
+    @Override
+    public Stream<User> streamAll() {
+        return delegate.streamAll();
+    }
+
+    @Override
+    public int count() {
+        return delegate.count();
+    }
+
+    private static User copy(User user) {
+        User copy = new User(user.getId(), user.getUsername(), user.getEmail());
+        copy.setCreatedAt(user.getCreatedAt());
+        return copy;
+    }
+}
\ No newline at end of file
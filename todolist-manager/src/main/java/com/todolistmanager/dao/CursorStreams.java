@@ -0,0 +1,132 @@
+package com.todolistmanager.dao;
+
+import com.todolistmanager.db.DBConnection;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+//letture in streaming con cursore lato server: con auto-commit disattivato e fetch size impostato
+//il driver riceve le righe a blocchi invece di caricare tutto il risultato in memoria.
+//Lo stream tiene aperta la connessione: va chiuso (try-with-resources) per restituirla al pool
+final class CursorStreams {
+
+    //righe richieste al server per ogni blocco
+    static final int FETCH_SIZE = 500;
+
+    @FunctionalInterface
+    interface ParameterBinder {
+        void bind(PreparedStatement pstmt) throws SQLException;
+    }
+
+    @FunctionalInterface
+    private interface CleanupStep {
+        void run() throws SQLException;
+    }
+
+    private CursorStreams() {
+    }
+
+    static <T> Stream<T> stream(String sql, ParameterBinder binder, RowMapper<T> mapper) {
+        Connection conn = DBConnection.getInstance().getReadConnection();
+        Cursor<T> cursor = new Cursor<>(conn, mapper);
+        try {
+            cursor.open(sql, binder);
+        } catch (SQLException | RuntimeException e) {
+            RuntimeException failure = new RuntimeException("Errore nell'apertura del cursore", e);
+            try {
+                cursor.close();
+            } catch (RuntimeException closeFailure) {
+                failure.addSuppressed(closeFailure);
+            }
+            throw failure;
+        }
+        return StreamSupport.stream(cursor, false).onClose(cursor::close);
+    }
+
+    private static final class Cursor<T> extends Spliterators.AbstractSpliterator<T> {
+        private final Connection conn;
+        private RowMapper<T> mapper;
+        private PreparedStatement pstmt;
+        private ResultSet rs;
+        private boolean restoreAutoCommit;
+        private boolean closed;
+
+        Cursor(Connection conn, RowMapper<T> mapper) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+            this.conn = conn;
+            this.mapper = mapper;
+        }
+
+        void open(String sql, ParameterBinder binder) throws SQLException {
+            //dentro una transazione l'auto-commit è già disattivato e resta alla transazione
+            if (conn.getAutoCommit()) {
+                conn.setAutoCommit(false);
+                restoreAutoCommit = true;
+            }
+            //statement dedicato (non dalla cache): il fetch size vale solo per questo cursore
+            pstmt = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            pstmt.setFetchSize(FETCH_SIZE);
+            binder.bind(pstmt);
+            rs = pstmt.executeQuery();
+            mapper = mapper.bind(rs);
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (closed) {
+                return false;
+            }
+            try {
+                if (!rs.next()) {
+                    return false;
+                }
+                action.accept(mapper.mapRow(rs));
+                return true;
+            } catch (SQLException e) {
+                throw new RuntimeException("Errore nella lettura dei risultati", e);
+            }
+        }
+
+        void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            //ogni passo viene eseguito anche se i precedenti falliscono: la connessione torna sempre
+            //al pool con l'auto-commit ripristinato. Il primo errore viene rilanciato, gli altri soppressi
+            Exception failure = null;
+            if (rs != null) {
+                failure = runStep(rs::close, failure);
+            }
+            if (pstmt != null) {
+                failure = runStep(pstmt::close, failure);
+            }
+            if (restoreAutoCommit) {
+                failure = runStep(conn::rollback, failure); //sola lettura: chiude la transazione del cursore
+                failure = runStep(() -> conn.setAutoCommit(true), failure);
+            }
+            failure = runStep(conn::close, failure);
+            if (failure != null) {
+                throw new RuntimeException("Errore nella chiusura del cursore", failure);
+            }
+        }
+
+        private static Exception runStep(CleanupStep step, Exception failure) {
+            try {
+                step.run();
+            } catch (SQLException | RuntimeException e) {
+                if (failure == null) {
+                    return e;
+                }
+                failure.addSuppressed(e);
+            }
+            return failure;
+        }
+    }
+}
\ No newline at end of file
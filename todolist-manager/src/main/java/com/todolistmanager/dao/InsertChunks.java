@@ -0,0 +1,46 @@
+package com.todolistmanager.dao;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+//suddivisione degli INSERT multi-riga in blocchi di dimensione fissa: poche varianti dello stesso SQL,
+//quindi pochi statement nella StatementCache e pochi prepared statement lato server
+final class InsertChunks {
+
+    //dimensioni ammesse, dalla più grande (es. 1234 righe = 2x500 + 2x100 + 3x10 + 4x1);
+    //500 righe x 7 parametri resta sotto il limite PostgreSQL di 65535 parametri
+    private static final int[] SIZES = { 500, 100, 10, 1 };
+
+    private InsertChunks() {
+    }
+
+    static <T> List<List<T>> split(List<T> rows) {
+        List<List<T>> chunks = new ArrayList<>();
+        int from = 0;
+        for (int size : SIZES) {
+            while (rows.size() - from >= size) {
+                chunks.add(rows.subList(from, from + size));
+                from += size;
+            }
+        }
+        return chunks;
+    }
+
+    //legge gli id generati: RETURNING deve restituire una riga per ogni riga VALUES, altrimenti errore
+    static long[] generatedIds(ResultSet rs, int expected) throws SQLException {
+        long[] ids = new long[expected];
+        int count = 0;
+        while (rs.next()) {
+            if (count == expected) {
+                throw new SQLException("INSERT ha restituito più id delle righe inserite");
+            }
+            ids[count++] = rs.getLong("id");
+        }
+        if (count != expected) {
+            throw new SQLException("INSERT ha restituito " + count + " id su " + expected + " righe");
+        }
+        return ids;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,100 @@
+package com.todolistmanager.dao;
+
+import com.todolistmanager.db.DBConnection;
+import com.todolistmanager.model.BaseModel;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+//paginazione keyset su (created_at, id) in ordine decrescente, lo stesso delle liste dei DAO:
+//la pagina successiva parte dall'ultima riga letta invece di usare OFFSET, quindi il costo
+//non cresce con il numero di pagine. Il token codifica (created_at, id) dell'ultima riga
+final class KeysetPages {
+
+    static final int MAX_PAGE_SIZE = 1000;
+
+    private KeysetPages() {
+    }
+
+    //filterColumn può essere null (nessun filtro, es. findAll)
+    static <T extends BaseModel> Page<T> fetch(String table, String filterColumn, Long filterValue,
+                                               String pageToken, int pageSize, RowMapper<T> mapper) {
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Dimensione pagina non valida (1-" + MAX_PAGE_SIZE + ")");
+        }
+        Key after = pageToken != null ? decode(pageToken) : null;
+
+        List<String> conditions = new ArrayList<>();
+        if (filterColumn != null) {
+            conditions.add(filterColumn + " = ?");
+        }
+        if (after != null) {
+            conditions.add("(created_at, id) < (?, ?)");
+        }
+        String sql = "SELECT * FROM " + table +
+                     (conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions)) +
+                     " ORDER BY created_at DESC, id DESC LIMIT ?";
+
+        try (Connection conn = DBConnection.getInstance().getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            int index = 1;
+            if (filterColumn != null) {
+                pstmt.setLong(index++, filterValue);
+            }
+            if (after != null) {
+                pstmt.setTimestamp(index++, Timestamp.valueOf(after.createdAt()));
+                pstmt.setLong(index++, after.id());
+            }
+            //una riga in più per sapere se esiste la pagina successiva
+            pstmt.setInt(index, pageSize + 1);
+
+            List<T> items = new ArrayList<>();
+            ResultSet rs = pstmt.executeQuery();
+            RowMapper<T> rowMapper = mapper.bind(rs);
+            while (rs.next()) {
+                items.add(rowMapper.mapRow(rs));
+            }
+
+            if (items.size() <= pageSize) {
+                return new Page<>(items, null);
+            }
+            items.remove(pageSize);
+            T last = items.get(pageSize - 1);
+            return new Page<>(items, encode(new Key(last.getCreatedAt(), last.getId())));
+
+        } catch (SQLException e) {
+            throw new RuntimeException("Errore nel recupero della pagina di " + table, e);
+        }
+    }
+
+    static String encode(Key key) {
+        String raw = key.createdAt() + "|" + key.id();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static Key decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Token di pagina non valido");
+            }
+            return new Key(LocalDateTime.parse(raw.substring(0, separator)),
+                           Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Token di pagina non valido", e);
+        }
+    }
+
+    record Key(LocalDateTime createdAt, long id) {
+    }
+}
\ No newline at end of file
@@ -0,0 +1,36 @@
+package com.todolistmanager.dao;
+
+import java.util.List;
+
+//pagina di risultati: il token (opaco) della pagina successiva è null sull'ultima pagina
+public class Page<T> {
+    private final List<T> items;
+    private final String nextPageToken;
+
+    public Page(List<T> items, String nextPageToken) {
+        this.items = List.copyOf(items);
+        this.nextPageToken = nextPageToken;
+    }
+
+    //getters
+    public List<T> getItems() {
+        return items;
+    }
+
+    public String getNextPageToken() {
+        return nextPageToken;
+    }
+
+    public boolean hasNext() {
+        return nextPageToken != null;
+    }
+
+    public boolean isEmpty() {
+        return items.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "Page{items=" + items.size() + ", hasNext=" + hasNext() + "}";
+    }
+}
\ No newline at end of file
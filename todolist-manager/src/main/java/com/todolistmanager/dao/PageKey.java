@@ -0,0 +1,5 @@
+package com.todolistmanager.dao;
+
+//chiave delle pagine in cache: proprietario dell'elenco (utente o progetto), token e dimensione della pagina
+record PageKey(Long ownerId, String pageToken, int pageSize) {
+}
\ No newline at end of file
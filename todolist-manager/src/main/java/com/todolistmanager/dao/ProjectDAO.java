@@ -1,6 +1,7 @@
 package com.todolistmanager.dao;
 
 import com.todolistmanager.model.Project;
+import com.todolistmanager.model.ProjectSummary;
 import java.util.List;
 import java.util.Optional;
 
@@ -9,14 +10,26 @@ public interface ProjectDAO {
 	//salva progetto nel database
     Project save(Project project);
     
+    //salva più progetti con INSERT multi-riga, assegnando gli id generati
+    List<Project> saveAll(List<Project> projects);
+    
     //aggiorna progetto
     void update(Project project);
     
     //ricerca
     Optional<Project> findById(Long id);
     
+    //ricerca con lock della riga fino al commit (read-modify-write in transazione)
+    Optional<Project> findByIdForUpdate(Long id);
+    
     List<Project> findByUserId(Long userId);
     
+    //proiezione per elenchi e selezioni (senza descrizione), con il numero di task
+    List<ProjectSummary> findSummariesByUserId(Long userId);
+    
+    //paginazione keyset (pageToken null = prima pagina)
+    Page<Project> findByUserId(Long userId, String pageToken, int pageSize);
+    
     List<Project> findAll();
     
     
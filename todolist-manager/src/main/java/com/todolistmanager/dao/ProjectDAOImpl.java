@@ -2,8 +2,10 @@ package com.todolistmanager.dao;
 
 import com.todolistmanager.db.DBConnection;
 import com.todolistmanager.model.Project;
+import com.todolistmanager.model.ProjectSummary;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
@@ -22,9 +24,11 @@ public class ProjectDAOImpl implements ProjectDAO {
             pstmt.setTimestamp(4, Timestamp.valueOf(project.getCreatedAt()));
             
             ResultSet rs = pstmt.executeQuery();
+            DBConnection.getInstance().recordWrite();
             if (rs.next()) {
                 project.setId(rs.getLong("id"));
             }
+            project.clearDirty();
             
             return project;
             
@@ -33,18 +37,75 @@ public class ProjectDAOImpl implements ProjectDAO {
         }
     }
 
+    @Override
+    public List<Project> saveAll(List<Project> projects) {
+        try (Connection conn = DBConnection.getInstance().getConnection()) {
+            for (List<Project> chunk : InsertChunks.split(projects)) {
+                insertBatch(conn, chunk);
+            }
+            DBConnection.getInstance().recordWrite();
+            return projects;
+            
+        } catch (SQLException e) {
+            throw new RuntimeException("Errore nel salvataggio dei progetti", e);
+        }
+    }
+
+    //un solo round-trip per blocco (500, 100, 10 o 1 righe): RETURNING restituisce gli id nell'ordine delle righe VALUES
+    private void insertBatch(Connection conn, List<Project> batch) throws SQLException {
+        String sql = "INSERT INTO projects (user_id, name, description, created_at) VALUES " +
+                     String.join(", ", Collections.nCopies(batch.size(), "(?, ?, ?, ?)")) +
+                     " RETURNING id";
+        
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            int index = 1;
+            for (Project project : batch) {
+                pstmt.setLong(index++, project.getUserId());
+                pstmt.setString(index++, project.getName());
+                pstmt.setString(index++, project.getDescription());
+                pstmt.setTimestamp(index++, Timestamp.valueOf(project.getCreatedAt()));
+            }
+            
+            ResultSet rs = pstmt.executeQuery();
+            long[] ids = InsertChunks.generatedIds(rs, batch.size());
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).setId(ids[i]);
+                batch.get(i).clearDirty();
+            }
+        }
+    }
+
     @Override
     public void update(Project project) {
-        String sql = "UPDATE projects SET name = ?, description = ? WHERE id = ?";
+        //solo le colonne modificate dall'ultimo caricamento; nessuna modifica = nessuna query
+        List<String> columns = new ArrayList<>();
+        List<String> values = new ArrayList<>();
+        if (project.isDirty(Project.FIELD_NAME)) {
+            columns.add("name");
+            values.add(project.getName());
+        }
+        if (project.isDirty(Project.FIELD_DESCRIPTION)) {
+            columns.add("description");
+            values.add(project.getDescription());
+        }
+        if (columns.isEmpty()) {
+            return;
+        }
+
+        String sql = "UPDATE projects SET " + String.join(" = ?, ", columns) + " = ? WHERE id = ?";
         
         try (Connection conn = DBConnection.getInstance().getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
-            pstmt.setString(1, project.getName());
-            pstmt.setString(2, project.getDescription());
-            pstmt.setLong(3, project.getId());
+            int index = 1;
+            for (String value : values) {
+                pstmt.setString(index++, value);
+            }
+            pstmt.setLong(index, project.getId());
             
             pstmt.executeUpdate();
+            DBConnection.getInstance().recordWrite();
+            project.clearDirty();
             
         } catch (SQLException e) {
             throw new RuntimeException("Errore nell'aggiornamento del progetto", e);
@@ -55,6 +116,26 @@ public class ProjectDAOImpl implements ProjectDAO {
     public Optional<Project> findById(Long id) {
         String sql = "SELECT * FROM projects WHERE id = ?";
         
+        try (Connection conn = DBConnection.getInstance().getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            
+            pstmt.setLong(1, id);
+            ResultSet rs = pstmt.executeQuery();
+            
+            if (rs.next()) {
+                return Optional.of(RowMappers.PROJECT.bind(rs).mapRow(rs));
+            }
+            return Optional.empty();
+            
+        } catch (SQLException e) {
+            throw new RuntimeException("Errore nella ricerca del progetto", e);
+        }
+    }
+
+    @Override
+    public Optional<Project> findByIdForUpdate(Long id) {
+        String sql = "SELECT * FROM projects WHERE id = ? FOR UPDATE";
+        
         try (Connection conn = DBConnection.getInstance().getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
@@ -62,7 +143,7 @@ public class ProjectDAOImpl implements ProjectDAO {
             ResultSet rs = pstmt.executeQuery();
             
             if (rs.next()) {
-                return Optional.of(mapRowToProject(rs));
+                return Optional.of(RowMappers.PROJECT.bind(rs).mapRow(rs));
             }
             return Optional.empty();
             
@@ -76,14 +157,15 @@ public class ProjectDAOImpl implements ProjectDAO {
         String sql = "SELECT * FROM projects WHERE user_id = ? ORDER BY created_at DESC";
         List<Project> projects = new ArrayList<>();
         
-        try (Connection conn = DBConnection.getInstance().getConnection();
+        try (Connection conn = DBConnection.getInstance().getReadConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
             pstmt.setLong(1, userId);
             ResultSet rs = pstmt.executeQuery();
             
+            RowMapper<Project> mapper = RowMappers.PROJECT.bind(rs);
             while (rs.next()) {
-                projects.add(mapRowToProject(rs));
+                projects.add(mapper.mapRow(rs));
             }
             
         } catch (SQLException e) {
@@ -93,17 +175,45 @@ public class ProjectDAOImpl implements ProjectDAO {
         return projects;
     }
 
+    @Override
+    public List<ProjectSummary> findSummariesByUserId(Long userId) {
+        //LEFT JOIN: anche i progetti senza task compaiono (con conteggio a zero)
+        String sql = "SELECT p.id, p.name, COUNT(t.id) AS task_count " +
+                     "FROM projects p LEFT JOIN tasks t ON t.project_id = p.id " +
+                     "WHERE p.user_id = ? " +
+                     "GROUP BY p.id, p.name " +
+                     "ORDER BY p.created_at DESC, p.id DESC";
+        List<ProjectSummary> summaries = new ArrayList<>();
+        
+        try (Connection conn = DBConnection.getInstance().getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            
+            pstmt.setLong(1, userId);
+            ResultSet rs = pstmt.executeQuery();
+            
+            while (rs.next()) {
+                summaries.add(new ProjectSummary(rs.getLong("id"), rs.getString("name"), rs.getInt("task_count")));
+            }
+            
+        } catch (SQLException e) {
+            throw new RuntimeException("Errore nel recupero dei progetti dell'utente", e);
+        }
+        
+        return summaries;
+    }
+
     @Override
     public List<Project> findAll() {
         String sql = "SELECT * FROM projects ORDER BY created_at DESC";
         List<Project> projects = new ArrayList<>();
         
-        try (Connection conn = DBConnection.getInstance().getConnection();
+        try (Connection conn = DBConnection.getInstance().getReadConnection();
              Statement stmt = conn.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
             
+            RowMapper<Project> mapper = RowMappers.PROJECT.bind(rs);
             while (rs.next()) {
-                projects.add(mapRowToProject(rs));
+                projects.add(mapper.mapRow(rs));
             }
             
         } catch (SQLException e) {
@@ -113,6 +223,11 @@ public class ProjectDAOImpl implements ProjectDAO {
         return projects;
     }
 
+    @Override
+    public Page<Project> findByUserId(Long userId, String pageToken, int pageSize) {
+        return KeysetPages.fetch("projects", "user_id", userId, pageToken, pageSize, RowMappers.PROJECT);
+    }
+
     @Override
     public void delete(Long id) {
         String sql = "DELETE FROM projects WHERE id = ?";
@@ -122,6 +237,7 @@ public class ProjectDAOImpl implements ProjectDAO {
             
             pstmt.setLong(1, id);
             pstmt.executeUpdate();
+            DBConnection.getInstance().recordWrite();
             
         } catch (SQLException e) {
             throw new RuntimeException("Errore nell'eliminazione del progetto", e);
@@ -132,7 +248,7 @@ public class ProjectDAOImpl implements ProjectDAO {
     public int countByUserId(Long userId) {
         String sql = "SELECT COUNT(*) FROM projects WHERE user_id = ?";
         
-        try (Connection conn = DBConnection.getInstance().getConnection();
+        try (Connection conn = DBConnection.getInstance().getReadConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
             pstmt.setLong(1, userId);
@@ -147,15 +263,4 @@ public class ProjectDAOImpl implements ProjectDAO {
             throw new RuntimeException("Errore nel conteggio dei progetti", e);
         }
     }
-
-    //mappa riga del ResultSet a un oggetto Project
-    private Project mapRowToProject(ResultSet rs) throws SQLException {
-        Project project = new Project();
-        project.setId(rs.getLong("id"));
-        project.setUserId(rs.getLong("user_id"));
-        project.setName(rs.getString("name"));
-        project.setDescription(rs.getString("description"));
-        project.setCreatedAt(rs.getTimestamp("created_at").toLocalDateTime());
-        return project;
-    }
 }
\ No newline at end of file
@@ -0,0 +1,113 @@
+package com.todolistmanager.dao;
+
+import com.todolistmanager.db.DBConnection;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+//più SELECT indipendenti inviate insieme: il driver le accoda nello stesso messaggio (protocollo esteso,
+//un solo Sync) e riceve tutti i risultati con un unico round-trip, invece di uno per query.
+//Ogni ResultSet è consegnato al proprio mapper; i risultati sono disponibili dopo execute()
+public class QueryBatch {
+
+    private final List<Query<?>> queries = new ArrayList<>();
+    private boolean executed;
+
+    //aggiunge una query (una sola istruzione, parametri ? nell'ordine dato)
+    public <T> Result<T> add(String sql, RowMapper<T> mapper, Object... params) {
+        if (executed) {
+            throw new IllegalStateException("Batch già eseguito");
+        }
+        if (sql == null || sql.contains(";")) {
+            throw new IllegalArgumentException("Ogni query del batch deve essere una singola istruzione");
+        }
+        Query<T> query = new Query<>(sql, mapper, params);
+        queries.add(query);
+        return query.result;
+    }
+
+    public void execute() {
+        if (executed) {
+            throw new IllegalStateException("Batch già eseguito");
+        }
+        executed = true;
+        if (queries.isEmpty()) {
+            return;
+        }
+
+        //i parametri sono numerati sull'intero testo, nell'ordine delle query
+        StringBuilder sql = new StringBuilder();
+        for (Query<?> query : queries) {
+            if (sql.length() > 0) {
+                sql.append("; ");
+            }
+            sql.append(query.sql);
+        }
+
+        try (Connection conn = DBConnection.getInstance().getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql.toString())) {
+
+            int index = 1;
+            for (Query<?> query : queries) {
+                for (Object param : query.params) {
+                    pstmt.setObject(index++, param instanceof Enum<?> value ? value.name() : param);
+                }
+            }
+
+            pstmt.execute();
+            for (Query<?> query : queries) {
+                try (ResultSet rs = pstmt.getResultSet()) {
+                    query.read(rs);
+                }
+                pstmt.getMoreResults();
+            }
+
+        } catch (SQLException e) {
+            throw new RuntimeException("Errore nell'esecuzione del batch di query", e);
+        }
+    }
+
+    private static final class Query<T> {
+        private final String sql;
+        private final RowMapper<T> mapper;
+        private final Object[] params;
+        private final Result<T> result = new Result<>();
+
+        Query(String sql, RowMapper<T> mapper, Object[] params) {
+            this.sql = sql;
+            this.mapper = mapper;
+            this.params = params;
+        }
+
+        void read(ResultSet rs) throws SQLException {
+            List<T> rows = new ArrayList<>();
+            RowMapper<T> rowMapper = mapper.bind(rs);
+            while (rs.next()) {
+                rows.add(rowMapper.mapRow(rs));
+            }
+            result.rows = Collections.unmodifiableList(rows);
+        }
+    }
+
+    //risultato di una query del batch
+    public static final class Result<T> {
+        private List<T> rows;
+
+        public List<T> list() {
+            if (rows == null) {
+                throw new IllegalStateException("Batch non ancora eseguito");
+            }
+            return rows;
+        }
+
+        //prima riga (es. aggregazioni), vuoto se la query non ha restituito righe
+        public Optional<T> first() {
+            return list().stream().findFirst();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,207 @@
+package com.todolistmanager.dao;
+
+import com.todolistmanager.cache.CacheStats;
+import com.todolistmanager.cache.LruCache;
+import com.todolistmanager.cache.MemoryBudget;
+import com.todolistmanager.model.Priority;
+import com.todolistmanager.model.Project;
+import com.todolistmanager.model.Task;
+import com.todolistmanager.model.TaskStatus;
+import com.todolistmanager.model.User;
+import com.todolistmanager.observer.ProjectObserver;
+import com.todolistmanager.observer.TaskObserver;
+import com.todolistmanager.observer.UserObserver;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+//risultati delle ricerche per stato, priorità, scadenza, in ritardo e per criteri (TaskQuery), una voce per argomento.
+//Non legge mai il database per invalidare: ogni chiave conosce il predicato della sua query, quindi a una modifica
+//si scartano solo le voci il cui predicato vale per la task aggiornata o che la elencavano già.
+//Va registrata come observer su TaskController, ProjectController e UserController (eliminazioni a cascata)
+public class QueryCache implements TaskObserver, ProjectObserver, UserObserver {
+
+    private static final int DEFAULT_MAX_ENTRIES = 100;
+    private static final Duration DEFAULT_TTL = Duration.ofSeconds(60);
+
+    private final LruCache<Key, List<Task>> results;
+    //incrementato a ogni invalidazione: un risultato caricato nel frattempo non viene messo in cache
+    private long generation;
+
+    public QueryCache() {
+        this(DEFAULT_MAX_ENTRIES, DEFAULT_TTL, MemoryBudget.getShared());
+    }
+
+    public QueryCache(int maxEntries, Duration ttl, MemoryBudget budget) {
+        //peso della lista di task (la chiave conta come un Long)
+        this.results = new LruCache<>(maxEntries, ttl, budget, (key, tasks) -> CacheWeights.TASK_LIST.weigh(null, tasks));
+    }
+
+    //ricerche: loader esegue la query se il risultato non è in cache
+    public List<Task> findByStatus(TaskStatus status, Supplier<List<Task>> loader) {
+        return get(new Key(Kind.STATUS, status), loader);
+    }
+
+    public List<Task> findByPriority(Priority priority, Supplier<List<Task>> loader) {
+        return get(new Key(Kind.PRIORITY, priority), loader);
+    }
+
+    public List<Task> findDueBy(LocalDate date, Supplier<List<Task>> loader) {
+        return get(new Key(Kind.DUE_BY, date), loader);
+    }
+
+    //la data odierna fa parte della chiave: dopo la mezzanotte il risultato del giorno prima non si usa più
+    public List<Task> findOverdue(Supplier<List<Task>> loader) {
+        return get(new Key(Kind.OVERDUE, LocalDate.now()), loader);
+    }
+
+    //la chiave è una copia della query, invalidata con lo stesso predicato del suo SQL
+    public List<Task> find(TaskQuery query, Supplier<List<Task>> loader) {
+        return get(new Key(Kind.QUERY, query.copy()), loader);
+    }
+
+    //observer task
+    @Override
+    public void onTaskCreated(Task task) {
+        invalidateFor(List.of(task));
+    }
+
+    @Override
+    public void onTasksCreated(List<Task> tasks) {
+        invalidateFor(tasks);
+    }
+
+    @Override
+    public void onTaskUpdated(Task task) {
+        invalidateFor(List.of(task));
+    }
+
+    @Override
+    public void onTaskDeleted(Long taskId) {
+        invalidateContaining(Set.of(taskId));
+    }
+
+    @Override
+    public void onTaskStatusChanged(Task task) {
+        invalidateFor(List.of(task));
+    }
+
+    @Override
+    public void onTasksUpdated(List<Task> tasks) {
+        invalidateFor(tasks);
+    }
+
+    @Override
+    public void onTasksDeleted(List<Long> taskIds) {
+        invalidateContaining(Set.copyOf(taskIds));
+    }
+
+    @Override
+    public void onTasksStatusChanged(List<Task> tasks) {
+        invalidateFor(tasks);
+    }
+
+    //observer progetti: le task di un progetto eliminato spariscono dai risultati che le elencavano
+    @Override
+    public void onProjectCreated(Project project) {
+        //un progetto nuovo non ha task
+    }
+
+    @Override
+    public void onProjectUpdated(Project project) {
+        //i risultati non dipendono dai dati del progetto
+    }
+
+    @Override
+    public synchronized void onProjectDeleted(Project project) {
+        generation++;
+        results.invalidateIf((key, cached) ->
+                cached.stream().anyMatch(task -> task.getProjectId().equals(project.getId())));
+    }
+
+    //observer utenti: i progetti dell'utente eliminato non sono noti qui, si scartano tutti i risultati
+    @Override
+    public void onUserCreated(User user) {
+        //un utente nuovo non ha task
+    }
+
+    @Override
+    public void onUserDeleted(Long userId) {
+        invalidateAll();
+    }
+
+    //contatori della cache
+    public CacheStats getStats() {
+        return results.getStats();
+    }
+
+    public synchronized void invalidateAll() {
+        generation++;
+        results.invalidateAll();
+    }
+
+    private List<Task> get(Key key, Supplier<List<Task>> loader) {
+        Optional<List<Task>> cached = results.get(key);
+        if (cached.isPresent()) {
+            return TaskCopies.copyAll(cached.get());
+        }
+        long loadedAt = currentGeneration();
+        List<Task> tasks = loader.get();
+        store(key, tasks, loadedAt);
+        return tasks;
+    }
+
+    private synchronized long currentGeneration() {
+        return generation;
+    }
+
+    private synchronized void store(Key key, List<Task> tasks, long loadedAt) {
+        if (generation == loadedAt) {
+            results.put(key, List.copyOf(TaskCopies.copyAll(tasks)));
+        }
+    }
+
+    //task nuove o modificate: risultati il cui predicato vale per il nuovo stato o che contenevano il vecchio
+    private synchronized void invalidateFor(Collection<Task> tasks) {
+        generation++;
+        Set<Long> ids = tasks.stream().map(Task::getId).collect(Collectors.toSet());
+        results.invalidateIf((key, cached) -> tasks.stream().anyMatch(key::matches) || containsAny(cached, ids));
+    }
+
+    //task eliminate: se ne conosce solo l'id
+    private synchronized void invalidateContaining(Set<Long> ids) {
+        generation++;
+        results.invalidateIf((key, cached) -> containsAny(cached, ids));
+    }
+
+    private static boolean containsAny(List<Task> tasks, Set<Long> ids) {
+        return tasks.stream().anyMatch(task -> ids.contains(task.getId()));
+    }
+
+    private enum Kind {
+        STATUS, PRIORITY, DUE_BY, OVERDUE, QUERY
+    }
+
+    //stessi predicati delle query di TaskDAOImpl
+    private record Key(Kind kind, Object argument) {
+
+        boolean matches(Task task) {
+            return switch (kind) {
+                case STATUS -> task.getStatus() == argument;
+                case PRIORITY -> task.getPriority() == argument;
+                case DUE_BY -> isOpenWithDeadline(task) && !task.getDeadline().isAfter((LocalDate) argument);
+                case OVERDUE -> isOpenWithDeadline(task) && task.getDeadline().isBefore((LocalDate) argument);
+                case QUERY -> ((TaskQuery) argument).matches(task);
+            };
+        }
+
+        private static boolean isOpenWithDeadline(Task task) {
+            return task.getDeadline() != null && task.getStatus() != TaskStatus.DONE;
+        }
+    }
+}
\ No newline at end of file
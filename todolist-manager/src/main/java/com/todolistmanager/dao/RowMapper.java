@@ -0,0 +1,16 @@
+package com.todolistmanager.dao;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+//converte la riga corrente del ResultSet in un oggetto del modello
+@FunctionalInterface
+public interface RowMapper<T> {
+    T mapRow(ResultSet rs) throws SQLException;
+
+    //mapper da usare per tutte le righe di rs: chiamato una volta prima del ciclo, permette di
+    //risolvere le colonne dai metadati una sola volta (vedi RowMappers). Di default è il mapper stesso
+    default RowMapper<T> bind(ResultSet rs) throws SQLException {
+        return this;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,175 @@
+package com.todolistmanager.dao;
+
+import com.todolistmanager.model.Priority;
+import com.todolistmanager.model.Project;
+import com.todolistmanager.model.Task;
+import com.todolistmanager.model.TaskStatus;
+import com.todolistmanager.model.TaskSummary;
+import com.todolistmanager.model.User;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+//mapper condivisi dai DAO: bind(rs) cerca gli indici delle colonne nei metadati una volta per ResultSet,
+//poi ogni riga è letta per indice; gli enum sono decodificati con tabelle precalcolate.
+//I DAO chiamano sempre bind, anche per una sola riga: mapRow senza bind risolve le colonne ad ogni chiamata
+final class RowMappers {
+
+    private static final EnumLookup<TaskStatus> STATUSES = new EnumLookup<>(TaskStatus.values());
+    private static final EnumLookup<Priority> PRIORITIES = new EnumLookup<>(Priority.values());
+
+    static final RowMapper<Task> TASK = indexed(rs -> {
+        Columns columns = new Columns(rs);
+        int id = columns.index("id");
+        int projectId = columns.index("project_id");
+        int title = columns.index("title");
+        int description = columns.index("description");
+        int status = columns.index("status");
+        int priority = columns.index("priority");
+        int deadline = columns.index("deadline");
+        int completedAt = columns.index("completed_at");
+        int createdAt = columns.index("created_at");
+
+        return row -> {
+            Task task = new Task();
+            task.setId(row.getLong(id));
+            task.setProjectId(row.getLong(projectId));
+            task.setTitle(row.getString(title));
+            task.setDescription(row.getString(description));
+            task.setStatus(STATUSES.decode(row.getString(status)));
+            task.setPriority(PRIORITIES.decode(row.getString(priority)));
+            task.setDeadline(toLocalDate(row.getDate(deadline)));
+            Date completed = row.getDate(completedAt);
+            if (completed != null) {
+                task.setCompletedAt(completed.toLocalDate());
+            }
+            task.setCreatedAt(row.getTimestamp(createdAt).toLocalDateTime());
+            task.clearDirty();
+            return task;
+        };
+    });
+
+    static final RowMapper<TaskSummary> TASK_SUMMARY = indexed(rs -> {
+        Columns columns = new Columns(rs);
+        int id = columns.index("id");
+        int title = columns.index("title");
+        int status = columns.index("status");
+        int priority = columns.index("priority");
+        int deadline = columns.index("deadline");
+
+        return row -> new TaskSummary(
+                row.getLong(id),
+                row.getString(title),
+                STATUSES.decode(row.getString(status)),
+                PRIORITIES.decode(row.getString(priority)),
+                toLocalDate(row.getDate(deadline)));
+    });
+
+    static final RowMapper<Project> PROJECT = indexed(rs -> {
+        Columns columns = new Columns(rs);
+        int id = columns.index("id");
+        int userId = columns.index("user_id");
+        int name = columns.index("name");
+        int description = columns.index("description");
+        int createdAt = columns.index("created_at");
+
+        return row -> {
+            Project project = new Project();
+            project.setId(row.getLong(id));
+            project.setUserId(row.getLong(userId));
+            project.setName(row.getString(name));
+            project.setDescription(row.getString(description));
+            project.setCreatedAt(row.getTimestamp(createdAt).toLocalDateTime());
+            project.clearDirty();
+            return project;
+        };
+    });
+
+    static final RowMapper<User> USER = indexed(rs -> {
+        Columns columns = new Columns(rs);
+        int id = columns.index("id");
+        int username = columns.index("username");
+        int email = columns.index("email");
+        int createdAt = columns.index("created_at");
+
+        return row -> {
+            User user = new User();
+            user.setId(row.getLong(id));
+            user.setUsername(row.getString(username));
+            user.setEmail(row.getString(email));
+            user.setCreatedAt(row.getTimestamp(createdAt).toLocalDateTime());
+            return user;
+        };
+    });
+
+    private RowMappers() {
+    }
+
+    //costruisce il mapper per un ResultSet (risolve le colonne e restituisce il lettore per indice)
+    @FunctionalInterface
+    interface Binder<T> {
+        RowMapper<T> bind(ResultSet rs) throws SQLException;
+    }
+
+    static <T> RowMapper<T> indexed(Binder<T> binder) {
+        return new RowMapper<>() {
+            @Override
+            public T mapRow(ResultSet rs) throws SQLException {
+                return binder.bind(rs).mapRow(rs);
+            }
+
+            @Override
+            public RowMapper<T> bind(ResultSet rs) throws SQLException {
+                return binder.bind(rs);
+            }
+        };
+    }
+
+    private static LocalDate toLocalDate(Date date) {
+        return date != null ? date.toLocalDate() : null;
+    }
+
+    //indici delle colonne per nome (etichetta), dai metadati del ResultSet
+    private static final class Columns {
+        private final Map<String, Integer> indexes = new HashMap<>();
+
+        Columns(ResultSet rs) throws SQLException {
+            ResultSetMetaData metaData = rs.getMetaData();
+            for (int i = metaData.getColumnCount(); i >= 1; i--) {
+                indexes.put(metaData.getColumnLabel(i).toLowerCase(Locale.ROOT), i); //a parità di nome vince la prima
+            }
+        }
+
+        int index(String name) throws SQLException {
+            Integer index = indexes.get(name);
+            if (index == null) {
+                throw new SQLException("Colonna " + name + " non presente nel risultato");
+            }
+            return index;
+        }
+    }
+
+    //decodifica dei valori testuali degli enum senza valueOf per riga
+    private static final class EnumLookup<E extends Enum<E>> {
+        private final Map<String, E> values = new HashMap<>();
+
+        EnumLookup(E[] constants) {
+            for (E constant : constants) {
+                values.put(constant.name(), constant);
+            }
+        }
+
+        E decode(String name) {
+            E value = values.get(name);
+            if (value == null) {
+                throw new IllegalArgumentException("Valore non valido: " + name);
+            }
+            return value;
+        }
+    }
+}
\ No newline at end of file
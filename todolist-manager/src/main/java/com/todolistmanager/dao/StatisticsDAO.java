@@ -0,0 +1,9 @@
+package com.todolistmanager.dao;
+
+import com.todolistmanager.model.StatisticsSnapshot;
+
+public interface StatisticsDAO {
+    
+    //conteggi per stato e in ritardo di tutti i progetti dell'utente (una sola query)
+    StatisticsSnapshot findByUserId(Long userId);
+}
\ No newline at end of file
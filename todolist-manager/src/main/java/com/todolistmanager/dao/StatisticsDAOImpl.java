@@ -0,0 +1,53 @@
+package com.todolistmanager.dao;
+
+import com.todolistmanager.db.DBConnection;
+import com.todolistmanager.model.StatisticsSnapshot;
+import com.todolistmanager.model.StatisticsSnapshot.ProjectStatistics;
+import com.todolistmanager.model.StatisticsSnapshot.TaskCounts;
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+
+public class StatisticsDAOImpl implements StatisticsDAO {
+
+    @Override
+    public StatisticsSnapshot findByUserId(Long userId) {
+        //LEFT JOIN: anche i progetti senza task compaiono (con conteggi a zero)
+        String sql = "SELECT p.id, p.name, " +
+                     "COUNT(*) FILTER (WHERE t.status = 'TODO') AS todo, " +
+                     "COUNT(*) FILTER (WHERE t.status = 'IN_PROGRESS') AS in_progress, " +
+                     "COUNT(*) FILTER (WHERE t.status = 'PAUSED') AS paused, " +
+                     "COUNT(*) FILTER (WHERE t.status = 'DONE') AS done, " +
+                     "COUNT(*) FILTER (WHERE t.status != 'DONE' AND t.deadline < CURRENT_DATE) AS overdue " +
+                     "FROM projects p LEFT JOIN tasks t ON t.project_id = p.id " +
+                     "WHERE p.user_id = ? " +
+                     "GROUP BY p.id, p.name " +
+                     "ORDER BY p.created_at DESC, p.id DESC";
+        
+        try (Connection conn = DBConnection.getInstance().getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            
+            pstmt.setLong(1, userId);
+            ResultSet rs = pstmt.executeQuery();
+            
+            List<ProjectStatistics> projects = new ArrayList<>();
+            TaskCounts totals = TaskCounts.EMPTY;
+            while (rs.next()) {
+                TaskCounts counts = new TaskCounts(
+                    rs.getInt("todo"),
+                    rs.getInt("in_progress"),
+                    rs.getInt("paused"),
+                    rs.getInt("done"),
+                    rs.getInt("overdue")
+                );
+                projects.add(new ProjectStatistics(rs.getLong("id"), rs.getString("name"), counts));
+                totals = totals.plus(counts);
+            }
+            
+            return new StatisticsSnapshot(userId, totals, projects);
+            
+        } catch (SQLException e) {
+            throw new RuntimeException("Errore nel calcolo delle statistiche", e);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,29 @@
+package com.todolistmanager.dao;
+
+import com.todolistmanager.model.Task;
+import java.util.ArrayList;
+import java.util.List;
+
+//copie difensive delle task per le cache (CachingTaskDAO, QueryCache): il chiamante può modificarle liberamente
+final class TaskCopies {
+
+    private TaskCopies() {
+    }
+
+    static List<Task> copyAll(List<Task> tasks) {
+        List<Task> copies = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            copies.add(copy(task));
+        }
+        return copies;
+    }
+
+    static Task copy(Task task) {
+        Task copy = new Task(task.getId(), task.getProjectId(), task.getTitle(), task.getDescription(),
+                             task.getStatus(), task.getPriority(), task.getDeadline());
+        copy.setCompletedAt(task.getCompletedAt());
+        copy.setCreatedAt(task.getCreatedAt());
+        copy.clearDirty();
+        return copy;
+    }
+}
\ No newline at end of file
@@ -1,25 +1,47 @@
 package com.todolistmanager.dao;
 
 import com.todolistmanager.model.Priority;
+import com.todolistmanager.model.ProjectOverview;
+import com.todolistmanager.model.StatisticsSnapshot.TaskCounts;
 import com.todolistmanager.model.Task;
 import com.todolistmanager.model.TaskStatus;
+import com.todolistmanager.model.TaskSummary;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface TaskDAO {
     
     //salva task nel database
     Task save(Task task);
     
+    //salva più task con INSERT multi-riga, assegnando gli id generati
+    List<Task> saveAll(List<Task> tasks);
+    
     //aggiorna task
     void update(Task task);
     
+    //aggiornamenti parziali in un solo round-trip (UPDATE ... RETURNING *), vuoto se la task non esiste
+    Optional<Task> updateStatus(Long id, TaskStatus status);
+    
+    Optional<Task> updatePriority(Long id, Priority priority);
+    
+    Optional<Task> patch(Long id, TaskPatch patch);
+    
+    //stessa patch su più task in un solo UPDATE ... WHERE id = ANY(?): restituisce le task aggiornate
+    List<Task> patchAll(Collection<Long> ids, TaskPatch patch);
+    
     //ricerca
     Optional<Task> findById(Long id);
     
     List<Task> findByProjectId(Long projectId);
     
+    //proiezione per elenchi e selezioni (senza descrizione)
+    List<TaskSummary> findSummariesByProjectId(Long projectId);
+    
     List<Task> findByStatus(TaskStatus status);
     
     List<Task> findByPriority(Priority priority);
@@ -30,10 +52,40 @@ public interface TaskDAO {
     
     List<Task> findAll();
     
+    //ricerca per criteri combinati (progetto, utente, stati, priorità, deadline, ordinamento, limite)
+    List<Task> find(TaskQuery query);
+    
+    //paginazione keyset (pageToken null = prima pagina)
+    Page<Task> findByProjectId(Long projectId, String pageToken, int pageSize);
+    
+    Page<Task> findAll(String pageToken, int pageSize);
+    
+    //varianti in streaming (cursore, memoria costante): lo stream va chiuso
+    Stream<Task> streamAll();
+    
+    Stream<Task> streamByStatus(TaskStatus status);
+    
+    Stream<Task> streamByPriority(Priority priority);
+    
     
     //elimina task
     void delete(Long id);
     
+    //elimina più task con un solo DELETE, restituisce gli id effettivamente eliminati
+    List<Long> deleteAll(Collection<Long> ids);
+    
     //counter
     int countByProjectIdAndStatus(Long projectId, TaskStatus status);
+    
+    //conteggi per stato e task in ritardo di un progetto (un'unica aggregazione)
+    TaskCounts countByProjectId(Long projectId);
+    
+    //conteggi e task in ritardo del progetto, letti insieme con un solo round-trip
+    ProjectOverview findOverviewByProjectId(Long projectId);
+    
+    //schede di più progetti (es. una pagina) con un solo round-trip, nell'ordine degli id
+    Map<Long, ProjectOverview> findOverviewsByProjectIds(Collection<Long> projectIds);
+    
+    //true se il progetto ha almeno una task (EXISTS, si ferma alla prima riga)
+    boolean existsByProjectId(Long projectId);
 }
\ No newline at end of file
@@ -2,16 +2,44 @@ package com.todolistmanager.dao;
 
 import com.todolistmanager.db.DBConnection;
 import com.todolistmanager.model.Priority;
+import com.todolistmanager.model.ProjectOverview;
+import com.todolistmanager.model.StatisticsSnapshot.TaskCounts;
 import com.todolistmanager.model.Task;
 import com.todolistmanager.model.TaskStatus;
+import com.todolistmanager.model.TaskSummary;
 import java.sql.*;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public class TaskDAOImpl implements TaskDAO {
 
+    //conteggi per stato e task in ritardo di un progetto (un'unica aggregazione)
+    private static final String COUNT_BY_PROJECT_SQL = "SELECT " +
+            "COUNT(*) FILTER (WHERE status = 'TODO'), " +
+            "COUNT(*) FILTER (WHERE status = 'IN_PROGRESS'), " +
+            "COUNT(*) FILTER (WHERE status = 'PAUSED'), " +
+            "COUNT(*) FILTER (WHERE status = 'DONE'), " +
+            "COUNT(*) FILTER (WHERE status != 'DONE' AND deadline < CURRENT_DATE) " +
+            "FROM tasks WHERE project_id = ?";
+
+    //stessi conteggi per più progetti, con il project_id in ultima colonna
+    private static final String COUNT_BY_PROJECTS_SQL = "SELECT " +
+            "COUNT(*) FILTER (WHERE status = 'TODO'), " +
+            "COUNT(*) FILTER (WHERE status = 'IN_PROGRESS'), " +
+            "COUNT(*) FILTER (WHERE status = 'PAUSED'), " +
+            "COUNT(*) FILTER (WHERE status = 'DONE'), " +
+            "COUNT(*) FILTER (WHERE status != 'DONE' AND deadline < CURRENT_DATE), " +
+            "project_id " +
+            "FROM tasks WHERE project_id = ANY(?) GROUP BY project_id";
+
     @Override
     public Task save(Task task) {
         String sql = "INSERT INTO tasks (project_id, title, description, status, priority, deadline, created_at) " +
@@ -29,9 +57,11 @@ public class TaskDAOImpl implements TaskDAO {
             pstmt.setTimestamp(7, Timestamp.valueOf(task.getCreatedAt()));
             
             ResultSet rs = pstmt.executeQuery();
+            DBConnection.getInstance().recordWrite();
             if (rs.next()) {
                 task.setId(rs.getLong("id"));
             }
+            task.clearDirty();
             
             return task;
             
@@ -40,41 +70,208 @@ public class TaskDAOImpl implements TaskDAO {
         }
     }
 
+    @Override
+    public List<Task> saveAll(List<Task> tasks) {
+        try (Connection conn = DBConnection.getInstance().getConnection()) {
+            for (List<Task> chunk : InsertChunks.split(tasks)) {
+                insertBatch(conn, chunk);
+            }
+            DBConnection.getInstance().recordWrite();
+            return tasks;
+            
+        } catch (SQLException e) {
+            throw new RuntimeException("Errore nel salvataggio delle task", e);
+        }
+    }
+
+    //un solo round-trip per blocco (500, 100, 10 o 1 righe): RETURNING restituisce gli id nell'ordine delle righe VALUES
+    private void insertBatch(Connection conn, List<Task> batch) throws SQLException {
+        String sql = "INSERT INTO tasks (project_id, title, description, status, priority, deadline, created_at) VALUES " +
+                     String.join(", ", Collections.nCopies(batch.size(), "(?, ?, ?, ?, ?, ?, ?)")) +
+                     " RETURNING id";
+        
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            int index = 1;
+            for (Task task : batch) {
+                pstmt.setLong(index++, task.getProjectId());
+                pstmt.setString(index++, task.getTitle());
+                pstmt.setString(index++, task.getDescription());
+                pstmt.setString(index++, task.getStatus().name());
+                pstmt.setString(index++, task.getPriority().name());
+                pstmt.setDate(index++, task.getDeadline() != null ? Date.valueOf(task.getDeadline()) : null);
+                pstmt.setTimestamp(index++, Timestamp.valueOf(task.getCreatedAt()));
+            }
+            
+            ResultSet rs = pstmt.executeQuery();
+            long[] ids = InsertChunks.generatedIds(rs, batch.size());
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).setId(ids[i]);
+                batch.get(i).clearDirty();
+            }
+        }
+    }
+
     @Override
     public void update(Task task) {
-        String sql = "UPDATE tasks SET title = ?, description = ?, status = ?, priority = ?, " +
-                     "deadline = ?, completed_at = ? WHERE id = ?";
+        //solo le colonne modificate dall'ultimo caricamento; nessuna modifica = nessuna query
+        List<String> columns = new ArrayList<>();
+        List<Object> values = new ArrayList<>();
+        if (task.isDirty(Task.FIELD_TITLE)) {
+            columns.add("title");
+            values.add(task.getTitle());
+        }
+        if (task.isDirty(Task.FIELD_DESCRIPTION)) {
+            columns.add("description");
+            values.add(task.getDescription());
+        }
+        if (task.isDirty(Task.FIELD_STATUS)) {
+            columns.add("status");
+            values.add(task.getStatus().name());
+        }
+        if (task.isDirty(Task.FIELD_PRIORITY)) {
+            columns.add("priority");
+            values.add(task.getPriority().name());
+        }
+        if (task.isDirty(Task.FIELD_DEADLINE)) {
+            columns.add("deadline");
+            values.add(task.getDeadline() != null ? Date.valueOf(task.getDeadline()) : null);
+        }
+        if (task.isDirty(Task.FIELD_COMPLETED_AT)) {
+            columns.add("completed_at");
+            values.add(task.getCompletedAt() != null ? Date.valueOf(task.getCompletedAt()) : null);
+        }
+        if (columns.isEmpty()) {
+            return;
+        }
+
+        String sql = "UPDATE tasks SET " + String.join(" = ?, ", columns) + " = ? WHERE id = ?";
         
         try (Connection conn = DBConnection.getInstance().getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
-            pstmt.setString(1, task.getTitle());
-            pstmt.setString(2, task.getDescription());
-            pstmt.setString(3, task.getStatus().name());
-            pstmt.setString(4, task.getPriority().name());
-            pstmt.setDate(5, task.getDeadline() != null ? Date.valueOf(task.getDeadline()) : null);
-            pstmt.setDate(6, task.getCompletedAt() != null ? Date.valueOf(task.getCompletedAt()) : null);
-            pstmt.setLong(7, task.getId());
+            int index = 1;
+            for (Object value : values) {
+                pstmt.setObject(index++, value);
+            }
+            pstmt.setLong(index, task.getId());
             
             pstmt.executeUpdate();
+            DBConnection.getInstance().recordWrite();
+            task.clearDirty();
+            
+        } catch (SQLException e) {
+            throw new RuntimeException("Errore nell'aggiornamento della task", e);
+        }
+    }
+
+    @Override
+    public Optional<Task> updateStatus(Long id, TaskStatus status) {
+        return patch(id, new TaskPatch().setStatus(status));
+    }
+
+    @Override
+    public Optional<Task> updatePriority(Long id, Priority priority) {
+        return patch(id, new TaskPatch().setPriority(priority));
+    }
+
+    @Override
+    public Optional<Task> patch(Long id, TaskPatch patch) {
+        if (patch.isEmpty()) {
+            return findById(id);
+        }
+
+        try (Connection conn = DBConnection.getInstance().getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(patchSql(patch, "id = ?"))) {
+            
+            int index = bindPatch(pstmt, patch);
+            pstmt.setLong(index, id);
+            
+            ResultSet rs = pstmt.executeQuery();
+            DBConnection.getInstance().recordWrite();
+            if (rs.next()) {
+                return Optional.of(RowMappers.TASK.bind(rs).mapRow(rs));
+            }
+            return Optional.empty();
             
         } catch (SQLException e) {
             throw new RuntimeException("Errore nell'aggiornamento della task", e);
         }
     }
 
+    @Override
+    public List<Task> patchAll(Collection<Long> ids, TaskPatch patch) {
+        List<Task> tasks = new ArrayList<>();
+        if (ids.isEmpty() || patch.isEmpty()) {
+            return tasks;
+        }
+        
+        try (Connection conn = DBConnection.getInstance().getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(patchSql(patch, "id = ANY(?)"))) {
+            
+            int index = bindPatch(pstmt, patch);
+            pstmt.setArray(index, conn.createArrayOf("bigint", ids.toArray()));
+            
+            ResultSet rs = pstmt.executeQuery();
+            DBConnection.getInstance().recordWrite();
+            RowMapper<Task> mapper = RowMappers.TASK.bind(rs);
+            while (rs.next()) {
+                tasks.add(mapper.mapRow(rs));
+            }
+            
+        } catch (SQLException e) {
+            throw new RuntimeException("Errore nell'aggiornamento delle task", e);
+        }
+        
+        return tasks;
+    }
+
+    //SET solo sulle colonne modificate; completed_at segue lo stato come in Task.setStatus
+    private String patchSql(TaskPatch patch, String condition) {
+        StringBuilder sql = new StringBuilder("UPDATE tasks SET ");
+        String separator = "";
+        for (TaskPatch.Field field : patch.getChanges().keySet()) {
+            sql.append(separator).append(field.getColumn()).append(" = ?");
+            separator = ", ";
+        }
+        if (patch.contains(TaskPatch.Field.STATUS)) {
+            sql.append(", completed_at = CASE WHEN ? = 'DONE' THEN COALESCE(completed_at, CURRENT_DATE) ELSE NULL END");
+        }
+        return sql.append(" WHERE ").append(condition).append(" RETURNING *").toString();
+    }
+
+    //lega i valori della patch nell'ordine di patchSql, restituisce l'indice del primo parametro della condizione
+    private int bindPatch(PreparedStatement pstmt, TaskPatch patch) throws SQLException {
+        int index = 1;
+        for (Map.Entry<TaskPatch.Field, Object> change : patch.getChanges().entrySet()) {
+            bindPatchValue(pstmt, index++, change.getKey(), change.getValue());
+        }
+        if (patch.contains(TaskPatch.Field.STATUS)) {
+            bindPatchValue(pstmt, index++, TaskPatch.Field.STATUS, patch.get(TaskPatch.Field.STATUS));
+        }
+        return index;
+    }
+
+    private void bindPatchValue(PreparedStatement pstmt, int index, TaskPatch.Field field, Object value) throws SQLException {
+        switch (field) {
+            case TITLE, DESCRIPTION -> pstmt.setString(index, (String) value);
+            case STATUS -> pstmt.setString(index, ((TaskStatus) value).name());
+            case PRIORITY -> pstmt.setString(index, ((Priority) value).name());
+            case DEADLINE -> pstmt.setDate(index, value != null ? Date.valueOf((LocalDate) value) : null);
+        }
+    }
+
     @Override
     public Optional<Task> findById(Long id) {
         String sql = "SELECT * FROM tasks WHERE id = ?";
         
-        try (Connection conn = DBConnection.getInstance().getConnection();
+        try (Connection conn = DBConnection.getInstance().getReadConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
             pstmt.setLong(1, id);
             ResultSet rs = pstmt.executeQuery();
             
             if (rs.next()) {
-                return Optional.of(mapRowToTask(rs));
+                return Optional.of(RowMappers.TASK.bind(rs).mapRow(rs));
             }
             return Optional.empty();
             
@@ -88,14 +285,15 @@ public class TaskDAOImpl implements TaskDAO {
         String sql = "SELECT * FROM tasks WHERE project_id = ? ORDER BY created_at DESC";
         List<Task> tasks = new ArrayList<>();
         
-        try (Connection conn = DBConnection.getInstance().getConnection();
+        try (Connection conn = DBConnection.getInstance().getReadConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
             pstmt.setLong(1, projectId);
             ResultSet rs = pstmt.executeQuery();
             
+            RowMapper<Task> mapper = RowMappers.TASK.bind(rs);
             while (rs.next()) {
-                tasks.add(mapRowToTask(rs));
+                tasks.add(mapper.mapRow(rs));
             }
             
         } catch (SQLException e) {
@@ -105,19 +303,44 @@ public class TaskDAOImpl implements TaskDAO {
         return tasks;
     }
 
+    @Override
+    public List<TaskSummary> findSummariesByProjectId(Long projectId) {
+        String sql = "SELECT id, title, status, priority, deadline FROM tasks " +
+                     "WHERE project_id = ? ORDER BY created_at DESC";
+        List<TaskSummary> summaries = new ArrayList<>();
+        
+        try (Connection conn = DBConnection.getInstance().getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            
+            pstmt.setLong(1, projectId);
+            ResultSet rs = pstmt.executeQuery();
+            
+            RowMapper<TaskSummary> mapper = RowMappers.TASK_SUMMARY.bind(rs);
+            while (rs.next()) {
+                summaries.add(mapper.mapRow(rs));
+            }
+            
+        } catch (SQLException e) {
+            throw new RuntimeException("Errore nel recupero delle task del progetto", e);
+        }
+        
+        return summaries;
+    }
+
     @Override
     public List<Task> findByStatus(TaskStatus status) {
         String sql = "SELECT * FROM tasks WHERE status = ? ORDER BY created_at DESC";
         List<Task> tasks = new ArrayList<>();
         
-        try (Connection conn = DBConnection.getInstance().getConnection();
+        try (Connection conn = DBConnection.getInstance().getReadConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
             pstmt.setString(1, status.name());
             ResultSet rs = pstmt.executeQuery();
             
+            RowMapper<Task> mapper = RowMappers.TASK.bind(rs);
             while (rs.next()) {
-                tasks.add(mapRowToTask(rs));
+                tasks.add(mapper.mapRow(rs));
             }
             
         } catch (SQLException e) {
@@ -132,14 +355,15 @@ public class TaskDAOImpl implements TaskDAO {
         String sql = "SELECT * FROM tasks WHERE priority = ? ORDER BY created_at DESC";
         List<Task> tasks = new ArrayList<>();
         
-        try (Connection conn = DBConnection.getInstance().getConnection();
+        try (Connection conn = DBConnection.getInstance().getReadConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
             pstmt.setString(1, priority.name());
             ResultSet rs = pstmt.executeQuery();
             
+            RowMapper<Task> mapper = RowMappers.TASK.bind(rs);
             while (rs.next()) {
-                tasks.add(mapRowToTask(rs));
+                tasks.add(mapper.mapRow(rs));
             }
             
         } catch (SQLException e) {
@@ -154,14 +378,15 @@ public class TaskDAOImpl implements TaskDAO {
     	String sql = "SELECT * FROM tasks WHERE deadline <= ? AND deadline IS NOT NULL AND status != 'DONE' ORDER BY deadline ASC";
         List<Task> tasks = new ArrayList<>();
         
-        try (Connection conn = DBConnection.getInstance().getConnection();
+        try (Connection conn = DBConnection.getInstance().getReadConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
             pstmt.setDate(1, Date.valueOf(date));
             ResultSet rs = pstmt.executeQuery();
             
+            RowMapper<Task> mapper = RowMappers.TASK.bind(rs);
             while (rs.next()) {
-                tasks.add(mapRowToTask(rs));
+                tasks.add(mapper.mapRow(rs));
             }
             
         } catch (SQLException e) {
@@ -176,12 +401,13 @@ public class TaskDAOImpl implements TaskDAO {
     	String sql = "SELECT * FROM tasks WHERE deadline < CURRENT_DATE AND deadline IS NOT NULL AND status != 'DONE' ORDER BY deadline ASC";
         List<Task> tasks = new ArrayList<>();
         
-        try (Connection conn = DBConnection.getInstance().getConnection();
+        try (Connection conn = DBConnection.getInstance().getReadConnection();
              Statement stmt = conn.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
             
+            RowMapper<Task> mapper = RowMappers.TASK.bind(rs);
             while (rs.next()) {
-                tasks.add(mapRowToTask(rs));
+                tasks.add(mapper.mapRow(rs));
             }
             
         } catch (SQLException e) {
@@ -196,12 +422,13 @@ public class TaskDAOImpl implements TaskDAO {
         String sql = "SELECT * FROM tasks ORDER BY created_at DESC";
         List<Task> tasks = new ArrayList<>();
         
-        try (Connection conn = DBConnection.getInstance().getConnection();
+        try (Connection conn = DBConnection.getInstance().getReadConnection();
              Statement stmt = conn.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
             
+            RowMapper<Task> mapper = RowMappers.TASK.bind(rs);
             while (rs.next()) {
-                tasks.add(mapRowToTask(rs));
+                tasks.add(mapper.mapRow(rs));
             }
             
         } catch (SQLException e) {
@@ -211,6 +438,56 @@ public class TaskDAOImpl implements TaskDAO {
         return tasks;
     }
 
+    @Override
+    public List<Task> find(TaskQuery query) {
+        List<Task> tasks = new ArrayList<>();
+        
+        try (Connection conn = DBConnection.getInstance().getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(query.toSql())) {
+            
+            query.bind(conn, pstmt);
+            ResultSet rs = pstmt.executeQuery();
+            
+            RowMapper<Task> mapper = RowMappers.TASK.bind(rs);
+            while (rs.next()) {
+                tasks.add(mapper.mapRow(rs));
+            }
+            
+        } catch (SQLException e) {
+            throw new RuntimeException("Errore nella ricerca delle task", e);
+        }
+        
+        return tasks;
+    }
+
+    @Override
+    public Page<Task> findByProjectId(Long projectId, String pageToken, int pageSize) {
+        return KeysetPages.fetch("tasks", "project_id", projectId, pageToken, pageSize, RowMappers.TASK);
+    }
+
+    @Override
+    public Page<Task> findAll(String pageToken, int pageSize) {
+        return KeysetPages.fetch("tasks", null, null, pageToken, pageSize, RowMappers.TASK);
+    }
+
+    @Override
+    public Stream<Task> streamAll() {
+        return CursorStreams.stream("SELECT * FROM tasks ORDER BY created_at DESC",
+                pstmt -> { }, RowMappers.TASK);
+    }
+
+    @Override
+    public Stream<Task> streamByStatus(TaskStatus status) {
+        return CursorStreams.stream("SELECT * FROM tasks WHERE status = ? ORDER BY created_at DESC",
+                pstmt -> pstmt.setString(1, status.name()), RowMappers.TASK);
+    }
+
+    @Override
+    public Stream<Task> streamByPriority(Priority priority) {
+        return CursorStreams.stream("SELECT * FROM tasks WHERE priority = ? ORDER BY created_at DESC",
+                pstmt -> pstmt.setString(1, priority.name()), RowMappers.TASK);
+    }
+
     @Override
     public void delete(Long id) {
         String sql = "DELETE FROM tasks WHERE id = ?";
@@ -220,17 +497,44 @@ public class TaskDAOImpl implements TaskDAO {
             
             pstmt.setLong(1, id);
             pstmt.executeUpdate();
+            DBConnection.getInstance().recordWrite();
             
         } catch (SQLException e) {
             throw new RuntimeException("Errore nell'eliminazione della task", e);
         }
     }
 
+    @Override
+    public List<Long> deleteAll(Collection<Long> ids) {
+        String sql = "DELETE FROM tasks WHERE id = ANY(?) RETURNING id";
+        List<Long> deletedIds = new ArrayList<>();
+        if (ids.isEmpty()) {
+            return deletedIds;
+        }
+        
+        try (Connection conn = DBConnection.getInstance().getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            
+            pstmt.setArray(1, conn.createArrayOf("bigint", ids.toArray()));
+            ResultSet rs = pstmt.executeQuery();
+            DBConnection.getInstance().recordWrite();
+            
+            while (rs.next()) {
+                deletedIds.add(rs.getLong(1));
+            }
+            
+        } catch (SQLException e) {
+            throw new RuntimeException("Errore nell'eliminazione delle task", e);
+        }
+        
+        return deletedIds;
+    }
+
     @Override
     public int countByProjectIdAndStatus(Long projectId, TaskStatus status) {
         String sql = "SELECT COUNT(*) FROM tasks WHERE project_id = ? AND status = ?";
         
-        try (Connection conn = DBConnection.getInstance().getConnection();
+        try (Connection conn = DBConnection.getInstance().getReadConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
             pstmt.setLong(1, projectId);
@@ -247,27 +551,98 @@ public class TaskDAOImpl implements TaskDAO {
         }
     }
 
-    //mappa riga del ResultSet a un oggetto Task
-    private Task mapRowToTask(ResultSet rs) throws SQLException {
-        Task task = new Task();
-        task.setId(rs.getLong("id"));
-        task.setProjectId(rs.getLong("project_id"));
-        task.setTitle(rs.getString("title"));
-        task.setDescription(rs.getString("description"));
-        task.setStatus(TaskStatus.valueOf(rs.getString("status")));
-        task.setPriority(Priority.valueOf(rs.getString("priority")));
+    @Override
+    public TaskCounts countByProjectId(Long projectId) {
+        try (Connection conn = DBConnection.getInstance().getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(COUNT_BY_PROJECT_SQL)) {
+            
+            pstmt.setLong(1, projectId);
+            ResultSet rs = pstmt.executeQuery();
+            
+            //l'aggregazione senza GROUP BY restituisce sempre una riga
+            rs.next();
+            return mapRowToTaskCounts(rs);
+            
+        } catch (SQLException e) {
+            throw new RuntimeException("Errore nel conteggio delle task del progetto", e);
+        }
+    }
+
+    @Override
+    public ProjectOverview findOverviewByProjectId(Long projectId) {
+        //conteggi e task in ritardo in un solo round-trip
+        QueryBatch batch = new QueryBatch();
+        QueryBatch.Result<TaskCounts> counts = batch.add(COUNT_BY_PROJECT_SQL, this::mapRowToTaskCounts, projectId);
+        QueryBatch.Result<TaskSummary> overdueTasks = batch.add(
+                "SELECT id, title, status, priority, deadline FROM tasks " +
+                "WHERE project_id = ? AND status <> 'DONE' AND deadline < CURRENT_DATE " +
+                "ORDER BY deadline ASC, id ASC",
+                RowMappers.TASK_SUMMARY, projectId);
+        batch.execute();
         
-        Date deadline = rs.getDate("deadline");
-        if (deadline != null) {
-            task.setDeadline(deadline.toLocalDate());
+        return new ProjectOverview(projectId, counts.first().orElse(TaskCounts.EMPTY), overdueTasks.list());
+    }
+
+    @Override
+    public Map<Long, ProjectOverview> findOverviewsByProjectIds(Collection<Long> projectIds) {
+        Map<Long, ProjectOverview> overviews = new LinkedHashMap<>();
+        if (projectIds.isEmpty()) {
+            return overviews;
         }
         
-        Date completedAt = rs.getDate("completed_at");
-        if (completedAt != null) {
-            task.setCompletedAt(completedAt.toLocalDate());
+        //conteggi e task in ritardo di tutti i progetti: due query project_id = ANY(?) in un solo round-trip
+        Long[] ids = projectIds.toArray(new Long[0]);
+        QueryBatch batch = new QueryBatch();
+        QueryBatch.Result<Map.Entry<Long, TaskCounts>> counts = batch.add(
+                COUNT_BY_PROJECTS_SQL, rs -> Map.entry(rs.getLong(6), mapRowToTaskCounts(rs)), (Object) ids);
+        QueryBatch.Result<Map.Entry<Long, TaskSummary>> overdueTasks = batch.add(
+                "SELECT project_id, id, title, status, priority, deadline FROM tasks " +
+                "WHERE project_id = ANY(?) AND status <> 'DONE' AND deadline < CURRENT_DATE " +
+                "ORDER BY deadline ASC, id ASC",
+                RowMappers.indexed(rs -> {
+                    RowMapper<TaskSummary> summary = RowMappers.TASK_SUMMARY.bind(rs);
+                    int projectId = rs.findColumn("project_id");
+                    return row -> Map.entry(row.getLong(projectId), summary.mapRow(row));
+                }),
+                (Object) ids);
+        batch.execute();
+        
+        Map<Long, TaskCounts> countsByProject = new HashMap<>();
+        for (Map.Entry<Long, TaskCounts> entry : counts.list()) {
+            countsByProject.put(entry.getKey(), entry.getValue());
+        }
+        Map<Long, List<TaskSummary>> overdueByProject = new HashMap<>();
+        for (Map.Entry<Long, TaskSummary> entry : overdueTasks.list()) {
+            overdueByProject.computeIfAbsent(entry.getKey(), id -> new ArrayList<>()).add(entry.getValue());
+        }
+        //i progetti senza task non compaiono nelle aggregazioni: scheda vuota
+        for (Long projectId : projectIds) {
+            overviews.put(projectId, new ProjectOverview(projectId,
+                    countsByProject.getOrDefault(projectId, TaskCounts.EMPTY),
+                    overdueByProject.getOrDefault(projectId, List.of())));
         }
+        return overviews;
+    }
+
+    @Override
+    public boolean existsByProjectId(Long projectId) {
+        String sql = "SELECT EXISTS (SELECT 1 FROM tasks WHERE project_id = ?)";
         
-        task.setCreatedAt(rs.getTimestamp("created_at").toLocalDateTime());
-        return task;
+        try (Connection conn = DBConnection.getInstance().getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            
+            pstmt.setLong(1, projectId);
+            ResultSet rs = pstmt.executeQuery();
+            
+            rs.next();
+            return rs.getBoolean(1);
+            
+        } catch (SQLException e) {
+            throw new RuntimeException("Errore nella verifica delle task del progetto", e);
+        }
+    }
+
+    private TaskCounts mapRowToTaskCounts(ResultSet rs) throws SQLException {
+        return new TaskCounts(rs.getInt(1), rs.getInt(2), rs.getInt(3), rs.getInt(4), rs.getInt(5));
     }
 }
\ No newline at end of file
@@ -0,0 +1,81 @@
+package com.todolistmanager.dao;
+
+import com.todolistmanager.model.Priority;
+import com.todolistmanager.model.TaskStatus;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+//modifica parziale di una task: vengono scritte solo le colonne impostate
+public class TaskPatch {
+
+    //colonne modificabili
+    public enum Field {
+        TITLE("title"),
+        DESCRIPTION("description"),
+        STATUS("status"),
+        PRIORITY("priority"),
+        DEADLINE("deadline");
+
+        private final String column;
+
+        Field(String column) {
+            this.column = column;
+        }
+
+        public String getColumn() {
+            return column;
+        }
+    }
+
+    private final EnumMap<Field, Object> changes = new EnumMap<>(Field.class);
+
+    //setters (null è un valore valido, es. deadline rimossa)
+    public TaskPatch setTitle(String title) {
+        changes.put(Field.TITLE, title);
+        return this;
+    }
+
+    public TaskPatch setDescription(String description) {
+        changes.put(Field.DESCRIPTION, description);
+        return this;
+    }
+
+    public TaskPatch setStatus(TaskStatus status) {
+        changes.put(Field.STATUS, status);
+        return this;
+    }
+
+    public TaskPatch setPriority(Priority priority) {
+        changes.put(Field.PRIORITY, priority);
+        return this;
+    }
+
+    public TaskPatch setDeadline(LocalDate deadline) {
+        changes.put(Field.DEADLINE, deadline);
+        return this;
+    }
+
+    //getters
+    public boolean isEmpty() {
+        return changes.isEmpty();
+    }
+
+    public boolean contains(Field field) {
+        return changes.containsKey(field);
+    }
+
+    public Object get(Field field) {
+        return changes.get(field);
+    }
+
+    public Map<Field, Object> getChanges() {
+        return Collections.unmodifiableMap(changes);
+    }
+
+    @Override
+    public String toString() {
+        return "TaskPatch" + changes;
+    }
+}
\ No newline at end of file
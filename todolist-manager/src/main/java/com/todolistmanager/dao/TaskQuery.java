@@ -0,0 +1,248 @@
+package com.todolistmanager.dao;
+
+import com.todolistmanager.model.Priority;
+import com.todolistmanager.model.Task;
+import com.todolistmanager.model.TaskStatus;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+//criteri di ricerca delle task, compilati in un'unica query parametrizzata.
+//Gli insiemi di stati/priorità usano = ANY(?), quindi l'SQL dipende solo da quali criteri sono
+//impostati (la "forma") e non dai valori: è generato una volta per forma e riusato
+public class TaskQuery {
+
+    //ordinamenti disponibili (id come spareggio per un ordine stabile)
+    public enum Sort {
+        CREATED_DESC("created_at DESC, id DESC"),
+        DEADLINE_ASC("deadline ASC, id ASC"),
+        PRIORITY("CASE priority WHEN 'HIGH' THEN 0 WHEN 'MEDIUM' THEN 1 ELSE 2 END, deadline ASC, id ASC");
+
+        private final String orderBy;
+
+        Sort(String orderBy) {
+            this.orderBy = orderBy;
+        }
+    }
+
+    //SQL compilato per forma della query
+    private static final Map<String, String> SQL_CACHE = new ConcurrentHashMap<>();
+
+    private Long projectId;
+    private Long userId;
+    private final EnumSet<TaskStatus> statuses = EnumSet.noneOf(TaskStatus.class);
+    private final EnumSet<Priority> priorities = EnumSet.noneOf(Priority.class);
+    private boolean openOnly;
+    private LocalDate deadlineFrom;
+    private LocalDate deadlineTo;
+    private Sort sort = Sort.CREATED_DESC;
+    private Integer limit;
+
+    //criteri (ogni metodo restituisce la query per concatenare le chiamate)
+    public TaskQuery forProject(Long projectId) {
+        this.projectId = projectId;
+        return this;
+    }
+
+    //solo le task dei progetti dell'utente
+    public TaskQuery forUser(Long userId) {
+        this.userId = userId;
+        return this;
+    }
+
+    public TaskQuery withStatus(TaskStatus... statuses) {
+        this.statuses.addAll(Arrays.asList(statuses));
+        return this;
+    }
+
+    public TaskQuery withPriority(Priority... priorities) {
+        this.priorities.addAll(Arrays.asList(priorities));
+        return this;
+    }
+
+    //esclude le task completate
+    public TaskQuery openOnly() {
+        this.openOnly = true;
+        return this;
+    }
+
+    //deadline compresa tra from e to (estremi inclusi, null = nessun limite)
+    public TaskQuery deadlineFrom(LocalDate from) {
+        this.deadlineFrom = from;
+        return this;
+    }
+
+    public TaskQuery deadlineTo(LocalDate to) {
+        this.deadlineTo = to;
+        return this;
+    }
+
+    public TaskQuery sortBy(Sort sort) {
+        if (sort == null) {
+            throw new IllegalArgumentException("Ordinamento non può essere null");
+        }
+        this.sort = sort;
+        return this;
+    }
+
+    public TaskQuery limit(int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limite non valido");
+        }
+        this.limit = limit;
+        return this;
+    }
+
+    //le task completate sono escluse: abilita l'indice parziale su deadline (status <> 'DONE')
+    private boolean excludesDone() {
+        return openOnly || (!statuses.isEmpty() && !statuses.contains(TaskStatus.DONE));
+    }
+
+    String shape() {
+        return (projectId != null ? "p" : "") +
+               (userId != null ? "u" : "") +
+               (!statuses.isEmpty() ? "s" : "") +
+               (excludesDone() ? "o" : "") +
+               (!priorities.isEmpty() ? "q" : "") +
+               (deadlineFrom != null ? "f" : "") +
+               (deadlineTo != null ? "t" : "") +
+               (limit != null ? "l" : "") +
+               ":" + sort.name();
+    }
+
+    String toSql() {
+        return SQL_CACHE.computeIfAbsent(shape(), key -> compile());
+    }
+
+    private String compile() {
+        List<String> conditions = new ArrayList<>();
+        if (projectId != null) {
+            conditions.add("project_id = ?");
+        }
+        if (userId != null) {
+            conditions.add("project_id IN (SELECT id FROM projects WHERE user_id = ?)");
+        }
+        if (!statuses.isEmpty()) {
+            conditions.add("status = ANY(?)");
+        }
+        if (excludesDone()) {
+            conditions.add("status <> 'DONE'");
+        }
+        if (!priorities.isEmpty()) {
+            conditions.add("priority = ANY(?)");
+        }
+        if (deadlineFrom != null) {
+            conditions.add("deadline >= ?");
+        }
+        if (deadlineTo != null) {
+            conditions.add("deadline <= ?");
+        }
+
+        return "SELECT * FROM tasks" +
+               (conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions)) +
+               " ORDER BY " + sort.orderBy +
+               (limit != null ? " LIMIT ?" : "");
+    }
+
+    //parametri nello stesso ordine delle condizioni di compile()
+    void bind(Connection conn, PreparedStatement pstmt) throws SQLException {
+        int index = 1;
+        if (projectId != null) {
+            pstmt.setLong(index++, projectId);
+        }
+        if (userId != null) {
+            pstmt.setLong(index++, userId);
+        }
+        if (!statuses.isEmpty()) {
+            pstmt.setArray(index++, conn.createArrayOf("varchar", statuses.stream().map(Enum::name).toArray()));
+        }
+        if (!priorities.isEmpty()) {
+            pstmt.setArray(index++, conn.createArrayOf("varchar", priorities.stream().map(Enum::name).toArray()));
+        }
+        if (deadlineFrom != null) {
+            pstmt.setDate(index++, Date.valueOf(deadlineFrom));
+        }
+        if (deadlineTo != null) {
+            pstmt.setDate(index++, Date.valueOf(deadlineTo));
+        }
+        if (limit != null) {
+            pstmt.setInt(index, limit);
+        }
+    }
+
+    //copia immutabile per l'uso come chiave di cache: le modifiche successive alla query non la toccano
+    TaskQuery copy() {
+        TaskQuery copy = new TaskQuery();
+        copy.projectId = projectId;
+        copy.userId = userId;
+        copy.statuses.addAll(statuses);
+        copy.priorities.addAll(priorities);
+        copy.openOnly = openOnly;
+        copy.deadlineFrom = deadlineFrom;
+        copy.deadlineTo = deadlineTo;
+        copy.sort = sort;
+        copy.limit = limit;
+        return copy;
+    }
+
+    //stesso predicato di compile() valutato su una task in memoria.
+    //Il progetto della task non dice a quale utente appartiene: il criterio forUser non la esclude mai
+    boolean matches(Task task) {
+        if (projectId != null && !projectId.equals(task.getProjectId())) {
+            return false;
+        }
+        if (!statuses.isEmpty() && !statuses.contains(task.getStatus())) {
+            return false;
+        }
+        if (excludesDone() && task.getStatus() == TaskStatus.DONE) {
+            return false;
+        }
+        if (!priorities.isEmpty() && !priorities.contains(task.getPriority())) {
+            return false;
+        }
+        //in SQL il confronto con una deadline NULL non è mai vero
+        if ((deadlineFrom != null || deadlineTo != null) && task.getDeadline() == null) {
+            return false;
+        }
+        if (deadlineFrom != null && task.getDeadline().isBefore(deadlineFrom)) {
+            return false;
+        }
+        return deadlineTo == null || !task.getDeadline().isAfter(deadlineTo);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof TaskQuery other)) {
+            return false;
+        }
+        return Objects.equals(projectId, other.projectId) && Objects.equals(userId, other.userId) &&
+               statuses.equals(other.statuses) && priorities.equals(other.priorities) &&
+               openOnly == other.openOnly && Objects.equals(deadlineFrom, other.deadlineFrom) &&
+               Objects.equals(deadlineTo, other.deadlineTo) && sort == other.sort &&
+               Objects.equals(limit, other.limit);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(projectId, userId, statuses, priorities, openOnly, deadlineFrom, deadlineTo, sort, limit);
+    }
+
+    @Override
+    public String toString() {
+        return "TaskQuery{projectId=" + projectId + ", userId=" + userId + ", statuses=" + statuses +
+               ", priorities=" + priorities + ", openOnly=" + openOnly + ", deadline=" + deadlineFrom +
+               ".." + deadlineTo + ", sort=" + sort + ", limit=" + limit + "}";
+    }
+}
\ No newline at end of file
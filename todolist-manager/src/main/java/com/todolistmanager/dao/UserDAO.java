@@ -3,12 +3,17 @@ package com.todolistmanager.dao;
 import com.todolistmanager.model.User;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface UserDAO {
     
     //salva utente nel database
     User save(User user);
     
+    //inserisce l'utente solo se lo username è libero (un solo statement, sicuro con inserimenti concorrenti):
+    //vuoto se lo username esiste già
+    Optional<User> insertIfAbsent(User user);
+    
     //ricerca utente
     Optional<User> findById(Long id);
     
@@ -18,6 +23,12 @@ public interface UserDAO {
     //utili
     List<User> findAll();
     
+    //paginazione keyset (pageToken null = prima pagina)
+    Page<User> findAll(String pageToken, int pageSize);
+    
+    //variante in streaming (cursore, memoria costante): lo stream va chiuso
+    Stream<User> streamAll();
+    
     int count();
     
     
@@ -6,6 +6,7 @@ import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public class UserDAOImpl implements UserDAO {
 
@@ -21,6 +22,7 @@ public class UserDAOImpl implements UserDAO {
             pstmt.setTimestamp(3, Timestamp.valueOf(user.getCreatedAt()));
             
             ResultSet rs = pstmt.executeQuery();
+            DBConnection.getInstance().recordWrite();
             if (rs.next()) {
                 user.setId(rs.getLong("id"));
             }
@@ -32,18 +34,43 @@ public class UserDAOImpl implements UserDAO {
         }
     }
 
+    @Override
+    public Optional<User> insertIfAbsent(User user) {
+        String sql = "INSERT INTO users (username, email, created_at) VALUES (?, ?, ?) " +
+                     "ON CONFLICT (username) DO NOTHING RETURNING *";
+        
+        try (Connection conn = DBConnection.getInstance().getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            
+            pstmt.setString(1, user.getUsername());
+            pstmt.setString(2, user.getEmail());
+            pstmt.setTimestamp(3, Timestamp.valueOf(user.getCreatedAt()));
+            
+            //nessuna riga restituita = conflitto sullo username
+            ResultSet rs = pstmt.executeQuery();
+            DBConnection.getInstance().recordWrite();
+            if (rs.next()) {
+                return Optional.of(RowMappers.USER.bind(rs).mapRow(rs));
+            }
+            return Optional.empty();
+            
+        } catch (SQLException e) {
+            throw new RuntimeException("Errore nel salvataggio dell'utente", e);
+        }
+    }
+
     @Override
     public Optional<User> findById(Long id) {
         String sql = "SELECT * FROM users WHERE id = ?";
         
-        try (Connection conn = DBConnection.getInstance().getConnection();
+        try (Connection conn = DBConnection.getInstance().getReadConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
             pstmt.setLong(1, id);
             ResultSet rs = pstmt.executeQuery();
             
             if (rs.next()) {
-                return Optional.of(mapRowToUser(rs));
+                return Optional.of(RowMappers.USER.bind(rs).mapRow(rs));
             }
             return Optional.empty();
             
@@ -56,14 +83,14 @@ public class UserDAOImpl implements UserDAO {
     public Optional<User> findByUsername(String username) {
         String sql = "SELECT * FROM users WHERE username = ?";
         
-        try (Connection conn = DBConnection.getInstance().getConnection();
+        try (Connection conn = DBConnection.getInstance().getReadConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
             pstmt.setString(1, username);
             ResultSet rs = pstmt.executeQuery();
             
             if (rs.next()) {
-                return Optional.of(mapRowToUser(rs));
+                return Optional.of(RowMappers.USER.bind(rs).mapRow(rs));
             }
             return Optional.empty();
             
@@ -77,12 +104,13 @@ public class UserDAOImpl implements UserDAO {
         String sql = "SELECT * FROM users ORDER BY created_at DESC";
         List<User> users = new ArrayList<>();
         
-        try (Connection conn = DBConnection.getInstance().getConnection();
+        try (Connection conn = DBConnection.getInstance().getReadConnection();
              Statement stmt = conn.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
             
+            RowMapper<User> mapper = RowMappers.USER.bind(rs);
             while (rs.next()) {
-                users.add(mapRowToUser(rs));
+                users.add(mapper.mapRow(rs));
             }
             
         } catch (SQLException e) {
@@ -92,6 +120,17 @@ public class UserDAOImpl implements UserDAO {
         return users;
     }
 
+    @Override
+    public Page<User> findAll(String pageToken, int pageSize) {
+        return KeysetPages.fetch("users", null, null, pageToken, pageSize, RowMappers.USER);
+    }
+
+    @Override
+    public Stream<User> streamAll() {
+        return CursorStreams.stream("SELECT * FROM users ORDER BY created_at DESC",
+                pstmt -> { }, RowMappers.USER);
+    }
+
     @Override
     public void delete(Long id) {
         String sql = "DELETE FROM users WHERE id = ?";
@@ -101,6 +140,7 @@ public class UserDAOImpl implements UserDAO {
             
             pstmt.setLong(1, id);
             pstmt.executeUpdate();
+            DBConnection.getInstance().recordWrite();
             
         } catch (SQLException e) {
             throw new RuntimeException("Errore nell'eliminazione dell'utente", e);
@@ -111,7 +151,7 @@ public class UserDAOImpl implements UserDAO {
     public int count() {
         String sql = "SELECT COUNT(*) FROM users";
         
-        try (Connection conn = DBConnection.getInstance().getConnection();
+        try (Connection conn = DBConnection.getInstance().getReadConnection();
              Statement stmt = conn.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
             
@@ -124,14 +164,4 @@ public class UserDAOImpl implements UserDAO {
             throw new RuntimeException("Errore nel conteggio degli utenti", e);
         }
     }
-
-    //mappa riga del ResultSet a un oggetto User
-    private User mapRowToUser(ResultSet rs) throws SQLException {
-        User user = new User();
-        user.setId(rs.getLong("id"));
-        user.setUsername(rs.getString("username"));
-        user.setEmail(rs.getString("email"));
-        user.setCreatedAt(rs.getTimestamp("created_at").toLocalDateTime());
-        return user;
-    }
 }
\ No newline at end of file
@@ -0,0 +1,10 @@
+package com.todolistmanager.db;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+//crea una nuova connessione fisica verso il database
+@FunctionalInterface
+public interface ConnectionFactory {
+    Connection create() throws SQLException;
+}
\ No newline at end of file
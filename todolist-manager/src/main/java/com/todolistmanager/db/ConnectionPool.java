@@ -0,0 +1,480 @@
+package com.todolistmanager.db;
+
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLTimeoutException;
+import java.util.Set;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+import javax.sql.DataSource;
+
+//pool di connessioni JDBC con dimensione minima/massima, eviction delle connessioni inattive,
+//validazione al prelievo e rilevamento dei leak (registra quando e da quale thread la connessione è stata
+//prelevata; lo stack del prelievo solo con leakStackTraces, perché catturarlo ad ogni prelievo costa)
+public class ConnectionPool implements DataSource, AutoCloseable {
+
+    private final ConnectionFactory factory;
+    private final PoolConfig config;
+
+    private final BlockingDeque<PooledConnection> idle = new LinkedBlockingDeque<>();
+    private final Set<PooledConnection> borrowed = ConcurrentHashMap.newKeySet();
+    private final Semaphore permits;
+    private final AtomicInteger totalConnections = new AtomicInteger();
+    private final AtomicLong leakCount = new AtomicLong();
+    private final StatementCacheStats statementCacheStats = new StatementCacheStats();
+    private final ScheduledExecutorService housekeeper;
+
+    private volatile boolean closed;
+    private PrintWriter logWriter;
+    private int loginTimeout;
+
+    public ConnectionPool(ConnectionFactory factory, PoolConfig config) throws SQLException {
+        config.validate();
+        this.factory = factory;
+        this.config = config;
+        this.permits = new Semaphore(config.getMaxSize(), true);
+
+        //apre subito le connessioni minime (fallisce se il database non è raggiungibile)
+        fillToMinimum();
+
+        if (config.getHousekeepingIntervalMillis() > 0) {
+            this.housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "db-pool-housekeeper");
+                thread.setDaemon(true);
+                return thread;
+            });
+            long interval = config.getHousekeepingIntervalMillis();
+            housekeeper.scheduleWithFixedDelay(this::runHousekeeping, interval, interval, TimeUnit.MILLISECONDS);
+        } else {
+            this.housekeeper = null;
+        }
+    }
+
+    //preleva una connessione: close() la restituisce al pool
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (closed) {
+            throw new SQLException("Pool di connessioni chiuso");
+        }
+
+        long deadline = System.currentTimeMillis() + config.getBorrowTimeoutMillis();
+        try {
+            if (!permits.tryAcquire(config.getBorrowTimeoutMillis(), TimeUnit.MILLISECONDS)) {
+                throw new SQLTimeoutException("Nessuna connessione disponibile entro " +
+                        config.getBorrowTimeoutMillis() + " ms (max " + config.getMaxSize() + ")");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Attesa della connessione interrotta", e);
+        }
+
+        try {
+            PooledConnection pooled = takeIdleOrCreate(deadline);
+            Throwable borrowSite = config.getLeakThresholdMillis() > 0 && config.isLeakStackTraces()
+                    ? new Exception("Connessione prelevata qui")
+                    : null;
+            pooled.markBorrowed(Thread.currentThread().getName(), borrowSite);
+            borrowed.add(pooled);
+            return pooled.newHandle(this);
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Credenziali fissate nella configurazione del pool");
+    }
+
+    //connessione inattiva valida oppure nuova connessione fisica (se sotto il massimo)
+    private PooledConnection takeIdleOrCreate(long deadline) throws SQLException {
+        while (true) {
+            PooledConnection pooled = idle.pollFirst();
+            if (pooled != null) {
+                if (isUsable(pooled)) {
+                    return pooled;
+                }
+                discard(pooled);
+                continue;
+            }
+
+            int total = totalConnections.get();
+            if (total < config.getMaxSize()) {
+                if (totalConnections.compareAndSet(total, total + 1)) {
+                    return createPooled();
+                }
+                continue;
+            }
+
+            //tutte le connessioni esistono già: una è in fase di restituzione
+            long remaining = deadline - System.currentTimeMillis();
+            try {
+                pooled = remaining > 0 ? idle.pollFirst(remaining, TimeUnit.MILLISECONDS) : null;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SQLException("Attesa della connessione interrotta", e);
+            }
+            if (pooled == null) {
+                throw new SQLTimeoutException("Nessuna connessione disponibile entro " +
+                        config.getBorrowTimeoutMillis() + " ms");
+            }
+            idle.offerFirst(pooled);
+        }
+    }
+
+    //crea connessione fisica (lo slot in totalConnections è già riservato)
+    private PooledConnection createPooled() throws SQLException {
+        try {
+            Connection physical = factory.create();
+            StatementCache statementCache = config.getStatementCacheSize() > 0
+                    ? new StatementCache(physical, config.getStatementCacheSize(), statementCacheStats)
+                    : null;
+            return new PooledConnection(physical, statementCache);
+        } catch (SQLException | RuntimeException e) {
+            totalConnections.decrementAndGet();
+            throw e;
+        }
+    }
+
+    //validazione al prelievo, solo se la connessione è rimasta inattiva a lungo
+    private boolean isUsable(PooledConnection pooled) {
+        try {
+            if (pooled.getPhysical().isClosed()) {
+                return false;
+            }
+            long idleFor = System.currentTimeMillis() - pooled.getLastUsedAt();
+            if (idleFor < config.getValidationIntervalMillis()) {
+                return true;
+            }
+            return pooled.getPhysical().isValid(config.getValidationTimeoutSeconds());
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    //restituisce la connessione al pool (chiamato dal close() della connessione prelevata)
+    void release(PooledConnection pooled) {
+        borrowed.remove(pooled);
+        try {
+            if (!closed && resetState(pooled)) {
+                pooled.markReturned();
+                idle.offerFirst(pooled);
+            } else {
+                discard(pooled);
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    //ripristina lo stato della connessione prima di riusarla
+    private boolean resetState(PooledConnection pooled) {
+        Connection physical = pooled.getPhysical();
+        try {
+            if (physical.isClosed()) {
+                return false;
+            }
+            if (!physical.getAutoCommit()) {
+                physical.rollback();
+                physical.setAutoCommit(true);
+            }
+            physical.clearWarnings();
+            return true;
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private void discard(PooledConnection pooled) {
+        totalConnections.decrementAndGet();
+        try {
+            if (pooled.getStatementCache() != null) {
+                pooled.getStatementCache().clear();
+            }
+            pooled.getPhysical().close();
+        } catch (SQLException e) {
+            System.err.println("❌ Errore chiusura connessione del pool: " + e.getMessage());
+        }
+    }
+
+    //manutenzione periodica
+    private void runHousekeeping() {
+        try {
+            evictIdle();
+            detectLeaks();
+        } catch (RuntimeException e) {
+            System.err.println("❌ Errore manutenzione pool: " + e.getMessage());
+        }
+    }
+
+    //chiude le connessioni inattive oltre l'idle timeout, mantenendo la dimensione minima
+    void evictIdle() {
+        long now = System.currentTimeMillis();
+        for (PooledConnection pooled : idle) {
+            if (totalConnections.get() <= config.getMinSize()) {
+                break;
+            }
+            if (now - pooled.getLastUsedAt() >= config.getIdleTimeoutMillis() && idle.remove(pooled)) {
+                discard(pooled);
+            }
+        }
+
+        try {
+            fillToMinimum();
+        } catch (SQLException e) {
+            System.err.println("❌ Impossibile ripristinare le connessioni minime: " + e.getMessage());
+        }
+    }
+
+    //segnala le connessioni prelevate da troppo tempo, con lo stack di chi le ha prelevate
+    void detectLeaks() {
+        long threshold = config.getLeakThresholdMillis();
+        if (threshold <= 0) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        for (PooledConnection pooled : borrowed) {
+            long heldFor = now - pooled.getBorrowedAt();
+            if (heldFor >= threshold && pooled.markLeakReported()) {
+                leakCount.incrementAndGet();
+                System.err.println("⚠️  Possibile connection leak: connessione in uso da " + heldFor +
+                        " ms, prelevata dal thread " + pooled.getBorrowThread());
+                if (pooled.getBorrowSite() != null) {
+                    pooled.getBorrowSite().printStackTrace();
+                }
+            }
+        }
+    }
+
+    private void fillToMinimum() throws SQLException {
+        while (!closed) {
+            int total = totalConnections.get();
+            if (total >= config.getMinSize()) {
+                return;
+            }
+            if (totalConnections.compareAndSet(total, total + 1)) {
+                idle.offerLast(createPooled());
+            }
+        }
+    }
+
+    //chiude il pool: le connessioni in uso vengono chiuse alla restituzione
+    @Override
+    public void close() {
+        closed = true;
+        if (housekeeper != null) {
+            housekeeper.shutdownNow();
+        }
+        PooledConnection pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            discard(pooled);
+        }
+    }
+
+    //statistiche
+    public int getActiveConnections() {
+        return borrowed.size();
+    }
+
+    public int getIdleConnections() {
+        return idle.size();
+    }
+
+    public int getTotalConnections() {
+        return totalConnections.get();
+    }
+
+    public long getLeakCount() {
+        return leakCount.get();
+    }
+
+    public StatementCacheStats getStatementCacheStats() {
+        return statementCacheStats;
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    //DataSource
+    @Override
+    public PrintWriter getLogWriter() {
+        return logWriter;
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) {
+        this.logWriter = out;
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) {
+        this.loginTimeout = seconds;
+    }
+
+    @Override
+    public int getLoginTimeout() {
+        return loginTimeout;
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        throw new SQLFeatureNotSupportedException("Logger non supportato");
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+        throw new SQLException("Non è un wrapper di " + iface.getName());
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) {
+        return iface.isInstance(this);
+    }
+
+
+    //connessione fisica gestita dal pool
+    static final class PooledConnection {
+        private final Connection physical;
+        private final StatementCache statementCache;
+        private volatile long lastUsedAt;
+        private volatile long borrowedAt;
+        private volatile String borrowThread;
+        private volatile Throwable borrowSite;
+        private volatile boolean leakReported;
+
+        PooledConnection(Connection physical, StatementCache statementCache) {
+            this.physical = physical;
+            this.statementCache = statementCache;
+            this.lastUsedAt = System.currentTimeMillis();
+        }
+
+        Connection getPhysical() {
+            return physical;
+        }
+
+        StatementCache getStatementCache() {
+            return statementCache;
+        }
+
+        long getLastUsedAt() {
+            return lastUsedAt;
+        }
+
+        long getBorrowedAt() {
+            return borrowedAt;
+        }
+
+        String getBorrowThread() {
+            return borrowThread;
+        }
+
+        Throwable getBorrowSite() {
+            return borrowSite;
+        }
+
+        void markBorrowed(String borrowThread, Throwable borrowSite) {
+            this.borrowedAt = System.currentTimeMillis();
+            this.borrowThread = borrowThread;
+            this.borrowSite = borrowSite;
+            this.leakReported = false;
+        }
+
+        void markReturned() {
+            this.lastUsedAt = System.currentTimeMillis();
+            this.borrowSite = null;
+        }
+
+        //true solo la prima volta (un leak viene segnalato una volta sola)
+        synchronized boolean markLeakReported() {
+            if (leakReported) {
+                return false;
+            }
+            leakReported = true;
+            return true;
+        }
+
+        //ogni prelievo ottiene un proxy distinto: un close() ripetuto non restituisce due volte
+        Connection newHandle(ConnectionPool pool) {
+            return (Connection) Proxy.newProxyInstance(
+                    Connection.class.getClassLoader(),
+                    new Class<?>[] { Connection.class },
+                    new ConnectionHandle(pool, this));
+        }
+    }
+
+    //proxy della connessione prelevata: close() la restituisce al pool invece di chiuderla
+    private static final class ConnectionHandle implements InvocationHandler {
+        private final ConnectionPool pool;
+        private final PooledConnection pooled;
+        private boolean returned;
+
+        ConnectionHandle(ConnectionPool pool, PooledConnection pooled) {
+            this.pool = pool;
+            this.pooled = pooled;
+        }
+
+        @Override
+        public synchronized Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close" -> {
+                    if (!returned) {
+                        returned = true;
+                        pool.release(pooled);
+                    }
+                    return null;
+                }
+                case "isClosed" -> {
+                    return returned || pooled.getPhysical().isClosed();
+                }
+                case "equals" -> {
+                    return proxy == args[0];
+                }
+                case "hashCode" -> {
+                    return System.identityHashCode(proxy);
+                }
+                case "toString" -> {
+                    return "PooledConnection[" + pooled.getPhysical() + ", returned=" + returned + "]";
+                }
+                default -> {
+                    //continua sotto
+                }
+            }
+
+            if (returned) {
+                throw new SQLException("Connessione già restituita al pool");
+            }
+
+            //prepareStatement(sql): statement riusato dalla cache della connessione fisica
+            if ("prepareStatement".equals(method.getName()) && args.length == 1
+                    && pooled.getStatementCache() != null) {
+                return pooled.getStatementCache().prepare((String) args[0]);
+            }
+
+            try {
+                return method.invoke(pooled.getPhysical(), args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -1,29 +1,114 @@
 package com.todolistmanager.db;
 
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
 
 public class DBConnection {
     private static DBConnection instance;
-    private Connection connection;
-    
+    private final ConnectionPool pool;
+    private final ReplicaRouter replicaRouter;
+
+    //connessione della transazione aperta nel thread corrente (vedi JdbcTransactionManager)
+    private final ThreadLocal<Connection> transactionConnection = new ThreadLocal<>();
+
     //configurazione database
     private static final String URL = "jdbc:postgresql://localhost:5434/exam";
     private static final String USER = "postgres";
     private static final String PASSWORD = "**************"; //password oscurata
 
+    //repliche di lettura: URL JDBC separati da virgola (es. -Dtodolist.db.replicas=jdbc:postgresql://localhost:5435/exam)
+    private static final String REPLICAS_PROPERTY = "todolist.db.replicas";
+    private static final String REPLICA_STRATEGY_PROPERTY = "todolist.db.replicaStrategy";
+
+    //migrazioni dello schema all'avvio (disattivabili con -Dtodolist.db.migrate=false)
+    private static final String MIGRATE_PROPERTY = "todolist.db.migrate";
+
+    //dopo una scrittura le letture della stessa sessione restano sul primary per questo intervallo
+    private static final long REPLICA_STICKY_WINDOW_MS = 5_000;
+
+    //configurazione pool
+    private static final int POOL_MIN_SIZE = 2;
+    private static final int POOL_MAX_SIZE = 10;
+    private static final long POOL_IDLE_TIMEOUT_MS = 300_000;
+    private static final long POOL_LEAK_THRESHOLD_MS = 30_000;
+    //stack del prelievo nei report dei leak, solo per il debug (-Dtodolist.db.leakStackTraces=true)
+    private static final String LEAK_STACK_TRACES_PROPERTY = "todolist.db.leakStackTraces";
+    private static final int STATEMENT_CACHE_SIZE = 64;
+
+    //esecuzioni dello stesso statement dopo le quali il driver lo prepara lato server
+    //(es. -Dtodolist.db.prepareThreshold=5, 0 disabilita i prepared statement lato server)
+    private static final String PREPARE_THRESHOLD_PROPERTY = "todolist.db.prepareThreshold";
+    private static final int DEFAULT_PREPARE_THRESHOLD = 1;
+
     //costruttore privato (Singleton)
     private DBConnection() {
         try {
-            this.connection = DriverManager.getConnection(URL, USER, PASSWORD);
+            this.pool = createPool(URL);
+            this.replicaRouter = new ReplicaRouter(createReplicaPools(), replicaStrategy(), REPLICA_STICKY_WINDOW_MS);
             System.out.println("✅ Connessione al database riuscita!");
+
+            if (Boolean.parseBoolean(System.getProperty(MIGRATE_PROPERTY, "true"))) {
+                new MigrationRunner(pool).migrate();
+            }
         } catch (SQLException e) {
             System.err.println("❌ Errore connessione database: " + e.getMessage());
             throw new RuntimeException("Impossibile connettersi al database", e);
         }
     }
 
+    private static ConnectionPool createPool(String url) throws SQLException {
+        return new ConnectionPool(() -> DriverManager.getConnection(url, connectionProperties()), poolConfig());
+    }
+
+    //una replica non raggiungibile viene ignorata: le letture ripiegano sulle altre o sul primary
+    private static List<ConnectionPool> createReplicaPools() {
+        List<ConnectionPool> replicas = new ArrayList<>();
+        String urls = System.getProperty(REPLICAS_PROPERTY, "").trim();
+        if (urls.isEmpty()) {
+            return replicas;
+        }
+
+        for (String url : urls.split(",")) {
+            try {
+                replicas.add(createPool(url.trim()));
+                System.out.println("✅ Replica di lettura collegata: " + url.trim());
+            } catch (SQLException e) {
+                System.err.println("❌ Replica non raggiungibile (" + url.trim() + "): " + e.getMessage());
+            }
+        }
+        return replicas;
+    }
+
+    private static ReplicaRouter.Strategy replicaStrategy() {
+        String strategy = System.getProperty(REPLICA_STRATEGY_PROPERTY, ReplicaRouter.Strategy.LEAST_OUTSTANDING.name());
+        return ReplicaRouter.Strategy.valueOf(strategy.trim().toUpperCase());
+    }
+
+    private static Properties connectionProperties() {
+        Properties props = new Properties();
+        props.setProperty("user", USER);
+        props.setProperty("password", PASSWORD);
+        props.setProperty("prepareThreshold", String.valueOf(Integer.getInteger(PREPARE_THRESHOLD_PROPERTY, DEFAULT_PREPARE_THRESHOLD)));
+        return props;
+    }
+
+    private static PoolConfig poolConfig() {
+        PoolConfig config = new PoolConfig();
+        config.setMinSize(POOL_MIN_SIZE);
+        config.setMaxSize(POOL_MAX_SIZE);
+        config.setIdleTimeoutMillis(POOL_IDLE_TIMEOUT_MS);
+        config.setLeakThresholdMillis(POOL_LEAK_THRESHOLD_MS);
+        config.setLeakStackTraces(Boolean.getBoolean(LEAK_STACK_TRACES_PROPERTY));
+        config.setStatementCacheSize(STATEMENT_CACHE_SIZE);
+        return config;
+    }
+
     //restituisce istanza Singleton
     public static DBConnection getInstance() {
         if (instance == null) {
@@ -36,28 +121,103 @@ public class DBConnection {
         return instance;
     }
 
-    //restituisce connessione
+    //connessione al primary per le scritture: close() la restituisce al pool
+    //dentro una transazione restituisce la connessione della transazione
     public Connection getConnection() {
-        try {
-            //connessione chiusa, la ricrea
-            if (connection == null || connection.isClosed()) {
-                connection = DriverManager.getConnection(URL, USER, PASSWORD);
+        Connection bound = transactionConnection.get();
+        if (bound != null) {
+            return bound;
+        }
+        return borrow(pool);
+    }
+
+    //scrittura completata: da qui le letture della sessione restano sul primary per la finestra di stickiness.
+    //Dentro una transazione conta il commit, registrato da JdbcTransactionManager
+    public void recordWrite() {
+        if (!isInTransaction()) {
+            replicaRouter.recordWrite();
+        }
+    }
+
+    //connessione per le sole letture: una replica, oppure il primary se la sessione ha scritto da poco
+    public Connection getReadConnection() {
+        Connection bound = transactionConnection.get();
+        if (bound != null) {
+            return bound;
+        }
+        if (!replicaRouter.hasReplicas() || replicaRouter.isPinnedToPrimary()) {
+            return borrow(pool);
+        }
+
+        ConnectionPool replica = replicaRouter.selectReplica();
+        if (replica != null) {
+            try {
+                return replica.getConnection();
+            } catch (SQLException e) {
+                System.err.println("❌ Replica non disponibile, lettura sul primary: " + e.getMessage());
             }
+        }
+        return borrow(pool);
+    }
+
+    private static Connection borrow(ConnectionPool source) {
+        try {
+            return source.getConnection();
         } catch (SQLException e) {
             throw new RuntimeException("Errore nel recupero della connessione", e);
         }
-        return connection;
     }
 
-    //chiude connessione
+    //lega la connessione al thread: i DAO la ricevono con un close() che non la rilascia
+    void bindTransaction(Connection conn) {
+        transactionConnection.set((Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[] { Connection.class },
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "close" -> {
+                            return null;
+                        }
+                        case "equals" -> {
+                            return proxy == args[0];
+                        }
+                        case "hashCode" -> {
+                            return System.identityHashCode(proxy);
+                        }
+                        default -> {
+                            try {
+                                return method.invoke(conn, args);
+                            } catch (InvocationTargetException e) {
+                                throw e.getCause();
+                            }
+                        }
+                    }
+                }));
+    }
+
+    void unbindTransaction() {
+        transactionConnection.remove();
+    }
+
+    public boolean isInTransaction() {
+        return transactionConnection.get() != null;
+    }
+
+    //pool del primary (DataSource e statistiche)
+    public ConnectionPool getPool() {
+        return pool;
+    }
+
+    public ReplicaRouter getReplicaRouter() {
+        return replicaRouter;
+    }
+
+    //chiude tutte le connessioni (primary e repliche)
     public void closeConnection() {
-        if (connection != null) {
-            try {
-                connection.close();
-                System.out.println("✅ Connessione chiusa");
-            } catch (SQLException e) {
-                System.err.println("❌ Errore chiusura connessione: " + e.getMessage());
-            }
+        pool.close();
+        for (ConnectionPool replica : replicaRouter.getReplicas()) {
+            replica.close();
         }
+        System.out.println("✅ Connessione chiusa");
     }
 }
\ No newline at end of file
@@ -0,0 +1,60 @@
+package com.todolistmanager.db;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.function.Supplier;
+
+//transazioni JDBC sul primary: la connessione resta legata al thread corrente finché il lavoro
+//non termina, così tutte le chiamate DAO al suo interno la riusano e fanno un solo commit
+public class JdbcTransactionManager implements TransactionManager {
+
+    @Override
+    public <T> T inTransaction(Supplier<T> work) {
+        DBConnection db = DBConnection.getInstance();
+
+        //transazione già aperta: il lavoro partecipa a quella esterna
+        if (db.isInTransaction()) {
+            return work.get();
+        }
+
+        try (Connection conn = db.getConnection()) {
+            conn.setAutoCommit(false);
+            db.bindTransaction(conn);
+            T result;
+            try {
+                result = work.get();
+                conn.commit();
+            } catch (Throwable e) {
+                //qualunque errore (anche Error o checked rilanciate) annulla la transazione: setAutoCommit(true)
+                //su una transazione aperta farebbe commit del lavoro parziale
+                rollback(conn, e);
+                restoreAutoCommit(conn, e);
+                throw e;
+            } finally {
+                db.unbindTransaction();
+            }
+            conn.setAutoCommit(true);
+            //la finestra di read-your-writes parte dal commit, non dall'inizio della transazione
+            db.recordWrite();
+            return result;
+        } catch (SQLException e) {
+            throw new RuntimeException("Errore nella gestione della transazione", e);
+        }
+    }
+
+    private static void rollback(Connection conn, Throwable cause) {
+        try {
+            conn.rollback();
+        } catch (SQLException e) {
+            cause.addSuppressed(e);
+        }
+    }
+
+    private static void restoreAutoCommit(Connection conn, Throwable cause) {
+        try {
+            conn.setAutoCommit(true);
+        } catch (SQLException e) {
+            cause.addSuppressed(e);
+        }
+    }
+}
\ No newline at end of file
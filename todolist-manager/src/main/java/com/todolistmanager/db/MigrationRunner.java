@@ -0,0 +1,165 @@
+package com.todolistmanager.db;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import javax.sql.DataSource;
+
+//applica all'avvio gli script SQL in db/migration (classpath), in ordine di versione e una sola volta:
+//ogni script applicato è registrato in schema_history con il suo checksum
+public class MigrationRunner {
+
+    private static final String LOCATION = "db/migration/";
+
+    //script nel formato V<versione>__<descrizione>.sql, in ordine
+    private static final List<String> SCRIPTS = List.of(
+            "V1__create_schema.sql",
+            "V2__query_indexes.sql",
+            "V3__keyset_pagination_indexes.sql"
+    );
+
+    //chiave del lock advisory: più istanze avviate insieme non applicano due volte lo stesso script
+    static final long LOCK_KEY = 0x746f646f6c697374L;
+
+    private final DataSource dataSource;
+
+    public MigrationRunner(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    //applica gli script mancanti in un'unica transazione e restituisce quanti ne ha applicati
+    public int migrate() {
+        List<Migration> migrations = loadMigrations();
+
+        try (Connection conn = dataSource.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                int applied = migrate(conn, migrations);
+                conn.commit();
+                return applied;
+            } catch (SQLException | RuntimeException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Errore nell'applicazione delle migrazioni", e);
+        }
+    }
+
+    //il lock precede ogni altra istruzione: due avvii concorrenti su un database vuoto non creano
+    //schema_history insieme (il secondo fallirebbe sul vincolo di unicità del catalogo)
+    private int migrate(Connection conn, List<Migration> migrations) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("SELECT pg_advisory_xact_lock(" + LOCK_KEY + ")");
+            stmt.execute("CREATE TABLE IF NOT EXISTS schema_history (" +
+                         "version INT PRIMARY KEY, " +
+                         "description VARCHAR(200) NOT NULL, " +
+                         "checksum VARCHAR(64) NOT NULL, " +
+                         "installed_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP)");
+        }
+
+        Map<Integer, String> history = loadHistory(conn);
+        int applied = 0;
+        for (Migration migration : migrations) {
+            String checksum = history.get(migration.version());
+            if (checksum != null) {
+                //uno script già applicato non deve cambiare
+                if (!checksum.equals(migration.checksum())) {
+                    throw new IllegalStateException("Migrazione V" + migration.version() +
+                            " modificata dopo l'applicazione (checksum diverso)");
+                }
+                continue;
+            }
+
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute(migration.script());
+            }
+            recordMigration(conn, migration);
+            System.out.println("✅ Migrazione applicata: V" + migration.version() + " " + migration.description());
+            applied++;
+        }
+        return applied;
+    }
+
+    private static Map<Integer, String> loadHistory(Connection conn) throws SQLException {
+        Map<Integer, String> history = new HashMap<>();
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT version, checksum FROM schema_history")) {
+            while (rs.next()) {
+                history.put(rs.getInt("version"), rs.getString("checksum"));
+            }
+        }
+        return history;
+    }
+
+    private static void recordMigration(Connection conn, Migration migration) throws SQLException {
+        String sql = "INSERT INTO schema_history (version, description, checksum) VALUES (?, ?, ?)";
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setInt(1, migration.version());
+            pstmt.setString(2, migration.description());
+            pstmt.setString(3, migration.checksum());
+            pstmt.executeUpdate();
+        }
+    }
+
+    private static List<Migration> loadMigrations() {
+        List<Migration> migrations = new ArrayList<>();
+        int lastVersion = 0;
+        for (String name : SCRIPTS) {
+            Migration migration = loadMigration(name);
+            if (migration.version() <= lastVersion) {
+                throw new IllegalStateException("Migrazioni non in ordine di versione: " + name);
+            }
+            lastVersion = migration.version();
+            migrations.add(migration);
+        }
+        return migrations;
+    }
+
+    private static Migration loadMigration(String name) {
+        if (!name.matches("V\\d+__\\w+\\.sql")) {
+            throw new IllegalArgumentException("Nome migrazione non valido: " + name);
+        }
+        int separator = name.indexOf("__");
+        int version = Integer.parseInt(name.substring(1, separator));
+        String description = name.substring(separator + 2, name.length() - 4).replace('_', ' ');
+
+        try (InputStream in = MigrationRunner.class.getClassLoader().getResourceAsStream(LOCATION + name)) {
+            if (in == null) {
+                throw new IllegalStateException("Migrazione non trovata: " + LOCATION + name);
+            }
+            String script = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            return new Migration(version, description, script, checksum(script));
+        } catch (IOException e) {
+            throw new RuntimeException("Errore nella lettura della migrazione " + name, e);
+        }
+    }
+
+    //checksum indipendente dai fine riga (CRLF/LF)
+    private static String checksum(String script) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest(script.replace("\r\n", "\n").getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 non disponibile", e);
+        }
+    }
+
+    private record Migration(int version, String description, String script, String checksum) {
+    }
+}
\ No newline at end of file
@@ -0,0 +1,113 @@
+package com.todolistmanager.db;
+
+//parametri di configurazione del pool di connessioni
+public class PoolConfig {
+    private int minSize = 2;
+    private int maxSize = 10;
+    private long borrowTimeoutMillis = 5_000;
+    private long idleTimeoutMillis = 300_000;
+    private long validationIntervalMillis = 5_000;
+    private int validationTimeoutSeconds = 2;
+    private long leakThresholdMillis = 30_000;
+    private boolean leakStackTraces = false;
+    private long housekeepingIntervalMillis = 10_000;
+    private int statementCacheSize = 64;
+
+    //getters-setters
+    public int getMinSize() {
+        return minSize;
+    }
+
+    public void setMinSize(int minSize) {
+        this.minSize = minSize;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public void setMaxSize(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    public long getBorrowTimeoutMillis() {
+        return borrowTimeoutMillis;
+    }
+
+    public void setBorrowTimeoutMillis(long borrowTimeoutMillis) {
+        this.borrowTimeoutMillis = borrowTimeoutMillis;
+    }
+
+    public long getIdleTimeoutMillis() {
+        return idleTimeoutMillis;
+    }
+
+    public void setIdleTimeoutMillis(long idleTimeoutMillis) {
+        this.idleTimeoutMillis = idleTimeoutMillis;
+    }
+
+    public long getValidationIntervalMillis() {
+        return validationIntervalMillis;
+    }
+
+    public void setValidationIntervalMillis(long validationIntervalMillis) {
+        this.validationIntervalMillis = validationIntervalMillis;
+    }
+
+    public int getValidationTimeoutSeconds() {
+        return validationTimeoutSeconds;
+    }
+
+    public void setValidationTimeoutSeconds(int validationTimeoutSeconds) {
+        this.validationTimeoutSeconds = validationTimeoutSeconds;
+    }
+
+    public long getLeakThresholdMillis() {
+        return leakThresholdMillis;
+    }
+
+    //0 disabilita il leak detection
+    public void setLeakThresholdMillis(long leakThresholdMillis) {
+        this.leakThresholdMillis = leakThresholdMillis;
+    }
+
+    public boolean isLeakStackTraces() {
+        return leakStackTraces;
+    }
+
+    //true registra lo stack di ogni prelievo, riportato con il leak (costoso: solo per il debug)
+    public void setLeakStackTraces(boolean leakStackTraces) {
+        this.leakStackTraces = leakStackTraces;
+    }
+
+    public long getHousekeepingIntervalMillis() {
+        return housekeepingIntervalMillis;
+    }
+
+    //0 disabilita il thread di manutenzione (eviction e leak detection manuali)
+    public void setHousekeepingIntervalMillis(long housekeepingIntervalMillis) {
+        this.housekeepingIntervalMillis = housekeepingIntervalMillis;
+    }
+
+    public int getStatementCacheSize() {
+        return statementCacheSize;
+    }
+
+    //numero massimo di PreparedStatement in cache per connessione, 0 disabilita la cache
+    public void setStatementCacheSize(int statementCacheSize) {
+        this.statementCacheSize = statementCacheSize;
+    }
+
+    //validazione parametri
+    void validate() {
+        if (minSize < 0 || maxSize <= 0 || minSize > maxSize) {
+            throw new IllegalArgumentException("Dimensioni pool non valide (min=" + minSize + ", max=" + maxSize + ")");
+        }
+        if (statementCacheSize < 0) {
+            throw new IllegalArgumentException("Dimensione statement cache non valida");
+        }
+        if (borrowTimeoutMillis <= 0) {
+            throw new IllegalArgumentException("Timeout di acquisizione non valido");
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,86 @@
+package com.todolistmanager.db;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+//sceglie la replica di lettura e tiene sul primary le letture che seguono una scrittura
+//nella stessa sessione (thread), finché la replica potrebbe non averla ancora ricevuta
+public class ReplicaRouter {
+
+    public enum Strategy {
+        ROUND_ROBIN,
+        LEAST_OUTSTANDING
+    }
+
+    private final List<ConnectionPool> replicas;
+    private final Strategy strategy;
+    private final long stickyWindowMillis;
+    private final AtomicInteger next = new AtomicInteger();
+    private final ThreadLocal<Long> lastWriteAt = new ThreadLocal<>();
+
+    public ReplicaRouter(List<ConnectionPool> replicas, Strategy strategy, long stickyWindowMillis) {
+        this.replicas = List.copyOf(replicas);
+        this.strategy = strategy;
+        this.stickyWindowMillis = stickyWindowMillis;
+    }
+
+    //registra una scrittura della sessione corrente
+    public void recordWrite() {
+        lastWriteAt.set(System.currentTimeMillis());
+    }
+
+    //true se la sessione ha scritto da poco: le letture devono andare sul primary
+    public boolean isPinnedToPrimary() {
+        Long last = lastWriteAt.get();
+        if (last == null) {
+            return false;
+        }
+        if (System.currentTimeMillis() - last < stickyWindowMillis) {
+            return true;
+        }
+        lastWriteAt.remove();
+        return false;
+    }
+
+    public boolean hasReplicas() {
+        return !replicas.isEmpty();
+    }
+
+    public List<ConnectionPool> getReplicas() {
+        return replicas;
+    }
+
+    //replica per la prossima lettura (null se non ci sono repliche aperte)
+    public ConnectionPool selectReplica() {
+        if (replicas.isEmpty()) {
+            return null;
+        }
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        if (strategy == Strategy.ROUND_ROBIN) {
+            return firstOpen(start);
+        }
+
+        //least outstanding: meno connessioni in uso, a parità vince l'ordine round-robin
+        ConnectionPool best = null;
+        for (int i = 0; i < replicas.size(); i++) {
+            ConnectionPool candidate = replicas.get((start + i) % replicas.size());
+            if (candidate.isClosed()) {
+                continue;
+            }
+            if (best == null || candidate.getActiveConnections() < best.getActiveConnections()) {
+                best = candidate;
+            }
+        }
+        return best;
+    }
+
+    private ConnectionPool firstOpen(int start) {
+        for (int i = 0; i < replicas.size(); i++) {
+            ConnectionPool candidate = replicas.get((start + i) % replicas.size());
+            if (!candidate.isClosed()) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,215 @@
+package com.todolistmanager.db;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+//cache LRU dei PreparedStatement di una connessione fisica, indicizzata per testo SQL:
+//close() sullo statement lo restituisce alla cache invece di chiuderlo
+class StatementCache {
+
+    //impostazioni che si riportano ai default JDBC al rilascio (resterebbero al prossimo utilizzatore)
+    private static final Set<String> RESETTABLE_SETTINGS = Set.of(
+            "setFetchSize", "setFetchDirection", "setMaxRows", "setLargeMaxRows", "setQueryTimeout", "setMaxFieldSize");
+
+    //altre impostazioni dello statement: dopo averle cambiate lo statement non torna in cache
+    private static final Set<String> UNCACHEABLE_SETTINGS = Set.of(
+            "setCursorName", "setEscapeProcessing", "setPoolable", "closeOnCompletion");
+
+    private final Connection physical;
+    private final int maxSize;
+    private final StatementCacheStats stats;
+    private final LinkedHashMap<String, CachedStatement> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    StatementCache(Connection physical, int maxSize, StatementCacheStats stats) {
+        this.physical = physical;
+        this.maxSize = maxSize;
+        this.stats = stats;
+    }
+
+    synchronized PreparedStatement prepare(String sql) throws SQLException {
+        CachedStatement cached = entries.get(sql);
+
+        if (cached != null && !cached.inUse) {
+            if (!cached.statement.isClosed()) {
+                stats.recordHit();
+                cached.inUse = true;
+                return cached.newHandle();
+            }
+            entries.remove(sql);
+        } else if (cached != null) {
+            //stesso SQL già aperto su questa connessione: statement non in cache
+            stats.recordMiss();
+            return physical.prepareStatement(sql);
+        }
+
+        stats.recordMiss();
+        cached = new CachedStatement(sql, physical.prepareStatement(sql));
+        cached.inUse = true;
+        entries.put(sql, cached);
+        evictOverflow();
+        return cached.newHandle();
+    }
+
+    //rimuove gli statement meno usati oltre la dimensione massima
+    private void evictOverflow() {
+        Iterator<Map.Entry<String, CachedStatement>> it = entries.entrySet().iterator();
+        while (entries.size() > maxSize && it.hasNext()) {
+            CachedStatement eldest = it.next().getValue();
+            it.remove();
+            stats.recordEviction();
+            eldest.evicted = true;
+            if (!eldest.inUse) {
+                closeQuietly(eldest);
+            }
+        }
+    }
+
+    //chiamato dal close() dello statement prelevato
+    private synchronized void release(CachedStatement cached) {
+        cached.inUse = false;
+        if (cached.evicted) {
+            closeQuietly(cached);
+            return;
+        }
+        if (cached.uncacheable) {
+            entries.remove(cached.sql);
+            closeQuietly(cached);
+            return;
+        }
+        try {
+            cached.statement.clearParameters();
+            if (cached.settingsChanged) {
+                resetSettings(cached.statement);
+                cached.settingsChanged = false;
+            }
+        } catch (SQLException e) {
+            entries.remove(cached.sql);
+            closeQuietly(cached);
+        }
+    }
+
+    private static void resetSettings(PreparedStatement statement) throws SQLException {
+        statement.setFetchSize(0);
+        statement.setFetchDirection(ResultSet.FETCH_FORWARD);
+        statement.setMaxRows(0);
+        statement.setQueryTimeout(0);
+        statement.setMaxFieldSize(0);
+    }
+
+    //chiude tutti gli statement (la connessione fisica sta per essere chiusa)
+    synchronized void clear() {
+        for (CachedStatement cached : entries.values()) {
+            closeQuietly(cached);
+        }
+        entries.clear();
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    private static void closeQuietly(CachedStatement cached) {
+        try {
+            cached.statement.close();
+        } catch (SQLException e) {
+            //statement già inutilizzabile
+        }
+    }
+
+
+    private final class CachedStatement {
+        private final String sql;
+        private final PreparedStatement statement;
+        private boolean inUse;
+        private boolean evicted;
+        private boolean settingsChanged;
+        private boolean uncacheable;
+
+        CachedStatement(String sql, PreparedStatement statement) {
+            this.sql = sql;
+            this.statement = statement;
+        }
+
+        PreparedStatement newHandle() {
+            return (PreparedStatement) Proxy.newProxyInstance(
+                    PreparedStatement.class.getClassLoader(),
+                    new Class<?>[] { PreparedStatement.class },
+                    new StatementHandle(this));
+        }
+    }
+
+    //proxy dello statement prelevato dalla cache
+    private final class StatementHandle implements InvocationHandler {
+        private final CachedStatement cached;
+        private boolean returned;
+
+        StatementHandle(CachedStatement cached) {
+            this.cached = cached;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close" -> {
+                    if (!returned) {
+                        returned = true;
+                        //chiude l'eventuale ResultSet rimasto aperto
+                        closeResultSet();
+                        release(cached);
+                    }
+                    return null;
+                }
+                case "isClosed" -> {
+                    return returned || cached.statement.isClosed();
+                }
+                case "equals" -> {
+                    return proxy == args[0];
+                }
+                case "hashCode" -> {
+                    return System.identityHashCode(proxy);
+                }
+                case "toString" -> {
+                    return "CachedStatement[" + cached.sql + "]";
+                }
+                default -> {
+                    //continua sotto
+                }
+            }
+
+            if (returned) {
+                throw new SQLException("Statement già restituito alla cache");
+            }
+            if (RESETTABLE_SETTINGS.contains(method.getName())) {
+                cached.settingsChanged = true;
+            } else if (UNCACHEABLE_SETTINGS.contains(method.getName())) {
+                cached.uncacheable = true;
+            }
+            try {
+                return method.invoke(cached.statement, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        private void closeResultSet() {
+            try {
+                var rs = cached.statement.getResultSet();
+                if (rs != null) {
+                    rs.close();
+                }
+            } catch (SQLException e) {
+                //nessun ResultSet aperto
+            }
+        }
+    }
+}
\ No newline at end of file
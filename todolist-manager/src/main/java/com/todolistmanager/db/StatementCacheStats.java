@@ -0,0 +1,46 @@
+package com.todolistmanager.db;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+//contatori hit/miss condivisi dalle statement cache di tutte le connessioni di un pool
+public class StatementCacheStats {
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    void recordHit() {
+        hits.incrementAndGet();
+    }
+
+    void recordMiss() {
+        misses.incrementAndGet();
+    }
+
+    void recordEviction() {
+        evictions.incrementAndGet();
+    }
+
+    //getters
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    public double getHitRatio() {
+        long total = getHits() + getMisses();
+        return total == 0 ? 0.0 : (double) getHits() / total;
+    }
+
+    @Override
+    public String toString() {
+        return "StatementCacheStats{hits=" + getHits() + ", misses=" + getMisses() +
+               ", evictions=" + getEvictions() + "}";
+    }
+}
\ No newline at end of file
@@ -0,0 +1,26 @@
+package com.todolistmanager.db;
+
+import java.util.function.Supplier;
+
+//esegue più operazioni DAO come un'unica unità di lavoro (una connessione, un commit)
+public interface TransactionManager {
+
+    <T> T inTransaction(Supplier<T> work);
+
+    default void runInTransaction(Runnable work) {
+        inTransaction(() -> {
+            work.run();
+            return null;
+        });
+    }
+
+    //nessuna transazione: ogni chiamata DAO resta in auto-commit (usato nei test con DAO mock)
+    static TransactionManager direct() {
+        return new TransactionManager() {
+            @Override
+            public <T> T inTransaction(Supplier<T> work) {
+                return work.get();
+            }
+        };
+    }
+}
\ No newline at end of file
@@ -1,10 +1,13 @@
 package com.todolistmanager.model;
 
 import java.time.LocalDateTime;
+import java.util.Objects;
 
 public abstract class BaseModel {
     private Long id;
     private LocalDateTime createdAt;
+    //campi modificati dall'ultimo caricamento/salvataggio, un bit per campo (oggetto nuovo: tutti)
+    private long dirtyFields = ~0L;
 
     //costruttori
     public BaseModel() {
@@ -37,4 +40,23 @@ public abstract class BaseModel {
     public void setCreatedAt(LocalDateTime createdAt) {
         this.createdAt = createdAt;
     }
+
+    //tracciamento modifiche (usato dai DAO per scrivere solo le colonne cambiate)
+    public boolean isDirty() {
+        return dirtyFields != 0;
+    }
+
+    public boolean isDirty(long field) {
+        return (dirtyFields & field) != 0;
+    }
+
+    public void clearDirty() {
+        this.dirtyFields = 0;
+    }
+
+    protected void markDirty(long field, Object oldValue, Object newValue) {
+        if (!Objects.equals(oldValue, newValue)) {
+            this.dirtyFields |= field;
+        }
+    }
 }
\ No newline at end of file
@@ -1,6 +1,11 @@
 package com.todolistmanager.model;
 
 public class Project extends BaseModel {
+    //bit dei campi per il tracciamento modifiche
+    public static final long FIELD_USER_ID = 1L;
+    public static final long FIELD_NAME = 1L << 1;
+    public static final long FIELD_DESCRIPTION = 1L << 2;
+
     private Long userId; //foreign key
     private String name;
     private String description;
@@ -30,6 +35,7 @@ public class Project extends BaseModel {
     }
 
     public void setUserId(Long userId) {
+        markDirty(FIELD_USER_ID, this.userId, userId);
         this.userId = userId;
     }
 
@@ -38,6 +44,7 @@ public class Project extends BaseModel {
     }
 
     public void setName(String name) {
+        markDirty(FIELD_NAME, this.name, name);
         this.name = name;
     }
 
@@ -46,6 +53,7 @@ public class Project extends BaseModel {
     }
 
     public void setDescription(String description) {
+        markDirty(FIELD_DESCRIPTION, this.description, description);
         this.description = description;
     }
 
@@ -0,0 +1,12 @@
+package com.todolistmanager.model;
+
+import com.todolistmanager.model.StatisticsSnapshot.TaskCounts;
+import java.util.List;
+
+//dati della scheda di un progetto: conteggi per stato e task in ritardo (più vecchie per prime)
+public record ProjectOverview(Long projectId, TaskCounts counts, List<TaskSummary> overdueTasks) {
+
+    public ProjectOverview {
+        overdueTasks = List.copyOf(overdueTasks);
+    }
+}
\ No newline at end of file
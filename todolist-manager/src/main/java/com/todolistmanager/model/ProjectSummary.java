@@ -0,0 +1,5 @@
+package com.todolistmanager.model;
+
+//proiezione leggera di un progetto per elenchi e selezioni (senza descrizione), con il numero di task
+public record ProjectSummary(Long id, String name, int taskCount) {
+}
\ No newline at end of file
@@ -0,0 +1,46 @@
+package com.todolistmanager.model;
+
+import java.util.List;
+
+//statistiche di un utente calcolate dal database in un'unica query (totali e per progetto)
+public record StatisticsSnapshot(Long userId, TaskCounts totals, List<ProjectStatistics> projects) {
+
+    public StatisticsSnapshot {
+        projects = List.copyOf(projects);
+    }
+
+    public int projectCount() {
+        return projects.size();
+    }
+
+    //conteggi per stato e task in ritardo (non completate con deadline passata)
+    public record TaskCounts(int todo, int inProgress, int paused, int done, int overdue) {
+
+        public static final TaskCounts EMPTY = new TaskCounts(0, 0, 0, 0, 0);
+
+        public int total() {
+            return todo + inProgress + paused + done;
+        }
+
+        public int count(TaskStatus status) {
+            return switch (status) {
+                case TODO -> todo;
+                case IN_PROGRESS -> inProgress;
+                case PAUSED -> paused;
+                case DONE -> done;
+            };
+        }
+
+        public int completionPercentage() {
+            return total() == 0 ? 0 : (done * 100) / total();
+        }
+
+        public TaskCounts plus(TaskCounts other) {
+            return new TaskCounts(todo + other.todo, inProgress + other.inProgress, paused + other.paused,
+                                  done + other.done, overdue + other.overdue);
+        }
+    }
+
+    public record ProjectStatistics(Long projectId, String projectName, TaskCounts counts) {
+    }
+}
\ No newline at end of file
@@ -3,6 +3,15 @@ package com.todolistmanager.model;
 import java.time.LocalDate;
 
 public class Task extends BaseModel {
+    //bit dei campi per il tracciamento modifiche
+    public static final long FIELD_PROJECT_ID = 1L;
+    public static final long FIELD_TITLE = 1L << 1;
+    public static final long FIELD_DESCRIPTION = 1L << 2;
+    public static final long FIELD_STATUS = 1L << 3;
+    public static final long FIELD_PRIORITY = 1L << 4;
+    public static final long FIELD_DEADLINE = 1L << 5;
+    public static final long FIELD_COMPLETED_AT = 1L << 6;
+
     private Long projectId; //foreign key
     private String title;
     private String description;
@@ -46,6 +55,7 @@ public class Task extends BaseModel {
     }
 
     public void setProjectId(Long projectId) {
+        markDirty(FIELD_PROJECT_ID, this.projectId, projectId);
         this.projectId = projectId;
     }
 
@@ -54,6 +64,7 @@ public class Task extends BaseModel {
     }
 
     public void setTitle(String title) {
+        markDirty(FIELD_TITLE, this.title, title);
         this.title = title;
     }
 
@@ -62,6 +73,7 @@ public class Task extends BaseModel {
     }
 
     public void setDescription(String description) {
+        markDirty(FIELD_DESCRIPTION, this.description, description);
         this.description = description;
     }
 
@@ -70,11 +82,12 @@ public class Task extends BaseModel {
     }
 
     public void setStatus(TaskStatus status) {
+        markDirty(FIELD_STATUS, this.status, status);
         this.status = status;
         if (status == TaskStatus.DONE && this.completedAt == null) {
-            this.completedAt = LocalDate.now();
+            setCompletedAt(LocalDate.now());
         } else if (status != TaskStatus.DONE) {
-            this.completedAt = null; 
+            setCompletedAt(null); 
         }
     }
 
@@ -83,6 +96,7 @@ public class Task extends BaseModel {
     }
 
     public void setPriority(Priority priority) {
+        markDirty(FIELD_PRIORITY, this.priority, priority);
         this.priority = priority;
     }
 
@@ -91,6 +105,7 @@ public class Task extends BaseModel {
     }
 
     public void setDeadline(LocalDate deadline) {
+        markDirty(FIELD_DEADLINE, this.deadline, deadline);
         this.deadline = deadline;
     }
 
@@ -99,6 +114,7 @@ public class Task extends BaseModel {
     }
 
     public void setCompletedAt(LocalDate completedAt) {
+        markDirty(FIELD_COMPLETED_AT, this.completedAt, completedAt);
         this.completedAt = completedAt;
     }
 
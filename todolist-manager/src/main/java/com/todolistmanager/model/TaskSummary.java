@@ -0,0 +1,8 @@
+package com.todolistmanager.model;
+
+import java.time.LocalDate;
+
+//proiezione leggera di una task per elenchi e selezioni (senza descrizione):
+//la Task completa si carica solo quando viene aperta
+public record TaskSummary(Long id, String title, TaskStatus status, Priority priority, LocalDate deadline) {
+}
\ No newline at end of file
@@ -0,0 +1,11 @@
+package com.todolistmanager.observer;
+
+import com.todolistmanager.model.Project;
+
+public interface ProjectObserver {
+    void onProjectCreated(Project project);
+    void onProjectUpdated(Project project);
+    
+    //l'eliminazione si propaga a cascata sulle task del progetto
+    void onProjectDeleted(Project project);
+}
\ No newline at end of file
@@ -1,6 +1,7 @@
 package com.todolistmanager.observer;
 
 import com.todolistmanager.model.Task;
+import java.util.List;
 
 public class ProjectStatisticsObserver implements TaskObserver {
     
@@ -9,6 +10,11 @@ public class ProjectStatisticsObserver implements TaskObserver {
         System.out.println("📊 Statistiche progetto aggiornate (nuova task aggiunta)");
     }
     
+    @Override
+    public void onTasksCreated(List<Task> tasks) {
+        System.out.println("📊 Statistiche progetto aggiornate (" + tasks.size() + " nuove task aggiunte)");
+    }
+    
     @Override
     public void onTaskUpdated(Task task) {
         System.out.println("📊 Statistiche progetto aggiornate (task modificata)");
@@ -19,6 +25,21 @@ public class ProjectStatisticsObserver implements TaskObserver {
         System.out.println("📊 Statistiche progetto aggiornate (task eliminata)");
     }
     
+    @Override
+    public void onTasksUpdated(List<Task> tasks) {
+        System.out.println("📊 Statistiche progetto aggiornate (" + tasks.size() + " task modificate)");
+    }
+    
+    @Override
+    public void onTasksDeleted(List<Long> taskIds) {
+        System.out.println("📊 Statistiche progetto aggiornate (" + taskIds.size() + " task eliminate)");
+    }
+    
+    @Override
+    public void onTasksStatusChanged(List<Task> tasks) {
+        System.out.println("📊 Completamento progetto aggiornato (" + tasks.size() + " task)");
+    }
+    
     @Override
     public void onTaskStatusChanged(Task task) {
         System.out.println("📊 Completamento progetto aggiornato");
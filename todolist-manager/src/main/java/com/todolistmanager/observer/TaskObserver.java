@@ -1,10 +1,38 @@
 package com.todolistmanager.observer;
 
 import com.todolistmanager.model.Task;
+import java.util.List;
 
 public interface TaskObserver {
     void onTaskCreated(Task task);
+    
+    //creazione in blocco (una notifica per batch): di default una notifica per task
+    default void onTasksCreated(List<Task> tasks) {
+        for (Task task : tasks) {
+            onTaskCreated(task);
+        }
+    }
+    
     void onTaskUpdated(Task task);
     void onTaskDeleted(Long taskId);
     void onTaskStatusChanged(Task task);
+    
+    //operazioni in blocco (una notifica per batch): di default una notifica per task
+    default void onTasksUpdated(List<Task> tasks) {
+        for (Task task : tasks) {
+            onTaskUpdated(task);
+        }
+    }
+    
+    default void onTasksDeleted(List<Long> taskIds) {
+        for (Long taskId : taskIds) {
+            onTaskDeleted(taskId);
+        }
+    }
+    
+    default void onTasksStatusChanged(List<Task> tasks) {
+        for (Task task : tasks) {
+            onTaskStatusChanged(task);
+        }
+    }
 }
\ No newline at end of file
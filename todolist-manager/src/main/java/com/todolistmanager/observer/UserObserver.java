@@ -0,0 +1,10 @@
+package com.todolistmanager.observer;
+
+import com.todolistmanager.model.User;
+
+public interface UserObserver {
+    void onUserCreated(User user);
+    
+    //l'eliminazione si propaga a cascata su progetti e task dell'utente
+    void onUserDeleted(Long userId);
+}
\ No newline at end of file
@@ -1,10 +1,14 @@
 package com.todolistmanager.view.cli;
 
 import com.todolistmanager.controller.ProjectController;
+import com.todolistmanager.controller.StatisticsController;
 import com.todolistmanager.controller.TaskController;
 import com.todolistmanager.controller.UserController;
+import com.todolistmanager.dao.CachingProjectDAO;
+import com.todolistmanager.dao.ProjectDAOImpl;
+import com.todolistmanager.db.JdbcTransactionManager;
+import com.todolistmanager.model.StatisticsSnapshot;
 import com.todolistmanager.model.User;
-import com.todolistmanager.model.TaskStatus;
 import com.todolistmanager.observer.AuditLogger;            
 import com.todolistmanager.observer.DeadlineNotifier;        
 import com.todolistmanager.observer.ProjectStatisticsObserver;
@@ -15,6 +19,7 @@ public class MainView {
     private final UserController userController;
     private final ProjectController projectController;
     private final TaskController taskController;
+    private final StatisticsController statisticsController;
     
     private final UserView userView;
     private final ProjectView projectView;
@@ -24,11 +29,18 @@ public class MainView {
 
     public MainView() {
         //inizializza controller
+        //le cache di progetti e task vanno invalidate quando un utente o un progetto viene eliminato (cascata):
+        //TaskController registra da sé le proprie cache; i riepiloghi dei progetti contano le task
+        //e seguono anche le modifiche alle task
+        CachingProjectDAO projectDAO = new CachingProjectDAO(new ProjectDAOImpl());
         this.userController = new UserController();
-        this.projectController = new ProjectController();
-        this.taskController = new TaskController();
+        this.projectController = new ProjectController(projectDAO, new JdbcTransactionManager());
+        this.taskController = new TaskController(projectController, userController);
+        this.statisticsController = new StatisticsController();
         
         //registra observer
+        userController.addObserver(projectDAO);
+        taskController.addObserver(projectDAO);
         taskController.addObserver(new DeadlineNotifier());
         taskController.addObserver(new ProjectStatisticsObserver());
         taskController.addObserver(new AuditLogger());
@@ -113,61 +125,23 @@ public class MainView {
         InputReader.clearScreen();
         InputReader.printHeader("STATISTICHE");
 
-        int totalProjects = projectController.countProjectsByUserId(currentUser.getId());
-        var projects = projectController.findProjectsByUserId(currentUser.getId());
-
-        int totalTasks = 0;
-        int todoTasks = 0;
-        int inProgressTasks = 0;
-        int pausedTasks = 0;
-        int completedTasks = 0;
-        int overdueTasks = 0;
-
-        for (var project : projects) {
-            var tasks = taskController.findTasksByProjectId(project.getId());
-            totalTasks += tasks.size();
-            
-            todoTasks += (int) tasks.stream()
-                    .filter(t -> t.getStatus() == TaskStatus.TODO)
-                    .count();
-            
-            inProgressTasks += (int) tasks.stream()
-                    .filter(t -> t.getStatus() == TaskStatus.IN_PROGRESS)
-                    .count();
-            
-            pausedTasks += (int) tasks.stream()
-                    .filter(t -> t.getStatus() == TaskStatus.PAUSED)
-                    .count();
-            
-            completedTasks += (int) tasks.stream()
-                    .filter(t -> t.getStatus() == TaskStatus.DONE)
-                    .count();
-        }
-
-        var allOverdue = taskController.findOverdueTasks();
-        for (var task : allOverdue) {
-            for (var project : projects) {
-                if (task.getProjectId().equals(project.getId())) {
-                    overdueTasks++;
-                    break;
-                }
-            }
-        }
+        //conteggi calcolati dal database in un'unica query
+        StatisticsSnapshot statistics = statisticsController.getUserStatistics(currentUser.getId());
+        StatisticsSnapshot.TaskCounts totals = statistics.totals();
 
         System.out.println("\n📊 Le tue statistiche:");
-        System.out.println("   📁 Progetti totali: " + totalProjects);
-        System.out.println("   ✅ Task totali: " + totalTasks);
+        System.out.println("   📁 Progetti totali: " + statistics.projectCount());
+        System.out.println("   ✅ Task totali: " + totals.total());
         System.out.println();
-        System.out.println("   📝 TODO: " + todoTasks);
-        System.out.println("   🔄 In Progress: " + inProgressTasks);
-        System.out.println("   ⏸️  In Pausa: " + pausedTasks);
-        System.out.println("   ✔️  Completate: " + completedTasks);
+        System.out.println("   📝 TODO: " + totals.todo());
+        System.out.println("   🔄 In Progress: " + totals.inProgress());
+        System.out.println("   ⏸️  In Pausa: " + totals.paused());
+        System.out.println("   ✔️  Completate: " + totals.done());
         System.out.println();
-        System.out.println("   ⚠️  Task in ritardo: " + overdueTasks);
+        System.out.println("   ⚠️  Task in ritardo: " + totals.overdue());
 
-        if (totalTasks > 0) {
-            int percentage = (completedTasks * 100) / totalTasks;
-            System.out.println("   📈 Percentuale completamento: " + percentage + "%");
+        if (totals.total() > 0) {
+            System.out.println("   📈 Percentuale completamento: " + totals.completionPercentage() + "%");
         }
 
         InputReader.pressEnterToContinue();
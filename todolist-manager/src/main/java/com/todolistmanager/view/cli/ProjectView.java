@@ -2,10 +2,16 @@ package com.todolistmanager.view.cli;
 
 import com.todolistmanager.controller.ProjectController;
 import com.todolistmanager.controller.TaskController;
+import com.todolistmanager.dao.Page;
 import com.todolistmanager.model.Project;
+import com.todolistmanager.model.ProjectOverview;
+import com.todolistmanager.model.ProjectSummary;
+import com.todolistmanager.model.StatisticsSnapshot.TaskCounts;
+import com.todolistmanager.model.TaskSummary;
 //import com.todolistmanager.model.Task;
 import com.todolistmanager.model.User;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 //view per gestione progetti
@@ -14,6 +20,9 @@ public class ProjectView {
     private final ProjectController projectController;
     private final TaskController taskController;
 
+    //progetti mostrati per pagina
+    private static final int PAGE_SIZE = 20;
+
     public ProjectView(ProjectController projectController, TaskController taskController) {
         this.projectController = projectController;
         this.taskController = taskController;
@@ -55,16 +64,26 @@ public class ProjectView {
         InputReader.clearScreen();
         InputReader.printHeader("I MIEI PROGETTI");
         
-        List<Project> projects = projectController.findProjectsByUserId(user.getId());
+        Page<Project> page = projectController.findProjectsByUserId(user.getId(), null, PAGE_SIZE);
         
-        if (projects.isEmpty()) {
+        if (page.isEmpty()) {
             System.out.println("\n📝 Non hai ancora progetti.");
             System.out.println("   Crea il tuo primo progetto!");
         } else {
-            System.out.println("\n📁 Totale progetti: " + projects.size() + "\n");
+            System.out.println("\n📁 Totale progetti: " + projectController.countProjectsByUserId(user.getId()) + "\n");
             
-            for (Project project : projects) {
-                printProjectCard(project);
+            //una pagina alla volta
+            while (true) {
+                //schede della pagina lette insieme
+                Map<Long, ProjectOverview> overviews = taskController.getProjectOverviews(
+                        page.getItems().stream().map(Project::getId).toList());
+                for (Project project : page.getItems()) {
+                    printProjectCard(project, overviews.get(project.getId()));
+                }
+                if (!page.hasNext() || !InputReader.readConfirmation("\n➡️  Mostrare altri progetti?")) {
+                    break;
+                }
+                page = projectController.findProjectsByUserId(user.getId(), page.getNextPageToken(), PAGE_SIZE);
             }
         }
         
@@ -121,7 +140,7 @@ public class ProjectView {
         InputReader.clearScreen();
         InputReader.printHeader("MODIFICA PROGETTO");
         
-        List<Project> projects = projectController.findProjectsByUserId(user.getId());
+        List<ProjectSummary> projects = projectController.findProjectSummariesByUserId(user.getId());
         
         if (projects.isEmpty()) {
             System.out.println("\n📝 Non hai progetti da modificare.");
@@ -132,7 +151,7 @@ public class ProjectView {
         //mostra progetti
         System.out.println("\n📁 Seleziona il progetto da modificare:\n");
         for (int i = 0; i < projects.size(); i++) {
-            System.out.println((i + 1) + ". " + projects.get(i).getName());
+            System.out.println((i + 1) + ". " + projects.get(i).name());
         }
         System.out.println("0. Annulla");
         System.out.println();
@@ -143,7 +162,11 @@ public class ProjectView {
             return;  //annulla
         }
         
-        Project project = projects.get(choice - 1);
+        //progetto completo (con descrizione) solo per quello selezionato
+        Project project = loadProject(projects.get(choice - 1));
+        if (project == null) {
+            return;
+        }
         
         System.out.println("\n📝 Dati attuali:");
         System.out.println("   Nome: " + project.getName());
@@ -187,7 +210,7 @@ public class ProjectView {
         InputReader.clearScreen();
         InputReader.printHeader("ELIMINA PROGETTO");
         
-        List<Project> projects = projectController.findProjectsByUserId(user.getId());
+        List<ProjectSummary> projects = projectController.findProjectSummariesByUserId(user.getId());
         
         if (projects.isEmpty()) {
             System.out.println("\n📝 Non hai progetti da eliminare.");
@@ -195,13 +218,9 @@ public class ProjectView {
             return;
         }
         
-        //mostra progetti
+        //mostra progetti (nomi e conteggi con una sola query)
         System.out.println("\n📁 Seleziona il progetto da eliminare:\n");
-        for (int i = 0; i < projects.size(); i++) {
-            Project project = projects.get(i);
-            int taskCount = taskController.findTasksByProjectId(project.getId()).size();
-            System.out.println((i + 1) + ". " + project.getName() + " (" + taskCount + " task)");
-        }
+        printProjectChoices(projects);
         System.out.println("0. Annulla");
         System.out.println();
         
@@ -211,18 +230,17 @@ public class ProjectView {
             return;  //annulla
         }
         
-        Project project = projects.get(choice - 1);
-        int taskCount = taskController.findTasksByProjectId(project.getId()).size();
+        ProjectSummary project = projects.get(choice - 1);
         
         System.out.println("\n⚠️  ATTENZIONE:");
         System.out.println("   Eliminando questo progetto verranno eliminate anche");
-        System.out.println("   tutte le " + taskCount + " task associate!");
+        System.out.println("   tutte le " + project.taskCount() + " task associate!");
         System.out.println();
         
-        boolean confirm = InputReader.readConfirmation("Sei sicuro di voler eliminare '" + project.getName() + "'?");
+        boolean confirm = InputReader.readConfirmation("Sei sicuro di voler eliminare '" + project.name() + "'?");
         
         if (confirm) {
-            boolean deleted = projectController.deleteProject(project.getId());
+            boolean deleted = projectController.deleteProject(project.id());
             if (deleted) {
                 System.out.println("\n✅ Progetto eliminato con successo!");
             } else {
@@ -247,7 +265,7 @@ public class ProjectView {
         if (projectOpt.isPresent()) {
             Project project = projectOpt.get();
             System.out.println("\n✅ Progetto trovato!\n");
-            printProjectCard(project);
+            printProjectCard(project, taskController.getProjectOverview(project.getId()));
         } else {
             System.out.println("\n❌ Nessun progetto trovato con ID: " + id);
         }
@@ -260,7 +278,7 @@ public class ProjectView {
         InputReader.clearScreen();
         InputReader.printHeader("GESTIONE TASK");
         
-        List<Project> projects = projectController.findProjectsByUserId(user.getId());
+        List<ProjectSummary> projects = projectController.findProjectSummariesByUserId(user.getId());
         
         if (projects.isEmpty()) {
             System.out.println("\n📝 Crea prima un progetto per gestire le task!");
@@ -270,11 +288,7 @@ public class ProjectView {
         
         //seleziona progetto
         System.out.println("\n📁 Seleziona il progetto:\n");
-        for (int i = 0; i < projects.size(); i++) {
-            Project project = projects.get(i);
-            int taskCount = taskController.findTasksByProjectId(project.getId()).size();
-            System.out.println((i + 1) + ". " + project.getName() + " (" + taskCount + " task)");
-        }
+        printProjectChoices(projects);
         System.out.println("0. Annulla");
         System.out.println();
         
@@ -284,17 +298,38 @@ public class ProjectView {
             return;
         }
         
-        Project selectedProject = projects.get(choice - 1);
+        Project selectedProject = loadProject(projects.get(choice - 1));
+        if (selectedProject == null) {
+            return;
+        }
         
         //passa a TaskView per gestire le task del progetto
         TaskView taskView = new TaskView(taskController);
         taskView.manageTasksForProject(selectedProject);
     }
 
+    //elenco numerato dei progetti con il numero di task
+    private void printProjectChoices(List<ProjectSummary> projects) {
+        for (int i = 0; i < projects.size(); i++) {
+            ProjectSummary project = projects.get(i);
+            System.out.println((i + 1) + ". " + project.name() + " (" + project.taskCount() + " task)");
+        }
+    }
+
+    //carica il progetto completo selezionato da un elenco, null se nel frattempo è stato eliminato
+    private Project loadProject(ProjectSummary summary) {
+        Optional<Project> project = projectController.findProjectById(summary.id());
+        if (project.isEmpty()) {
+            System.out.println("\n❌ Il progetto non esiste più.");
+            InputReader.pressEnterToContinue();
+            return null;
+        }
+        return project.get();
+    }
+
     //stampa info progetto
-    private void printProjectCard(Project project) {
-        int taskCount = taskController.findTasksByProjectId(project.getId()).size();
-        int completion = taskController.calculateProjectCompletion(project.getId());
+    private void printProjectCard(Project project, ProjectOverview overview) {
+        TaskCounts counts = overview.counts();
         
         InputReader.printSeparator();
         System.out.println("📁 " + project.getName());
@@ -302,8 +337,14 @@ public class ProjectView {
         if (project.getDescription() != null && !project.getDescription().isEmpty()) {
             System.out.println("📝 Descrizione: " + project.getDescription());
         }
-        System.out.println("✅ Task: " + taskCount);
-        System.out.println("📈 Completamento: " + completion + "%");
+        System.out.println("✅ Task: " + counts.total());
+        System.out.println("📈 Completamento: " + counts.completionPercentage() + "%");
+        if (!overview.overdueTasks().isEmpty()) {
+            System.out.println("🚨 In ritardo:");
+            for (TaskSummary task : overview.overdueTasks()) {
+                System.out.println("   - " + task.title() + " (scadenza " + task.deadline() + ")");
+            }
+        }
         System.out.println("📅 Creato il: " + project.getCreatedAt());
         InputReader.printSeparator();
         System.out.println();
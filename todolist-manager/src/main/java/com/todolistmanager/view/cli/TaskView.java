@@ -1,19 +1,26 @@
 package com.todolistmanager.view.cli;
 
 import com.todolistmanager.controller.TaskController;
+import com.todolistmanager.dao.Page;
+import com.todolistmanager.dao.TaskQuery;
 import com.todolistmanager.model.Priority;
 import com.todolistmanager.model.Project;
+import com.todolistmanager.model.StatisticsSnapshot.TaskCounts;
 import com.todolistmanager.model.Task;
 import com.todolistmanager.model.TaskStatus;
+import com.todolistmanager.model.TaskSummary;
 import java.time.LocalDate;
 import java.util.List;
-//import java.util.Optional;
+import java.util.Optional;
 
 //view per gestione task
 public class TaskView {
     
     private final TaskController taskController;
 
+    //task mostrate per pagina
+    private static final int PAGE_SIZE = 20;
+
     public TaskView(TaskController taskController) {
         this.taskController = taskController;
     }
@@ -55,18 +62,28 @@ public class TaskView {
         InputReader.clearScreen();
         InputReader.printHeader("TASK - " + project.getName());
         
-        List<Task> tasks = taskController.findTasksByProjectId(project.getId());
+        Page<Task> page = taskController.findTasksByProjectId(project.getId(), null, PAGE_SIZE);
         
-        if (tasks.isEmpty()) {
+        if (page.isEmpty()) {
             System.out.println("\n📝 Nessuna task presente in questo progetto.");
-        } else {
-            System.out.println("\n✅ Totale task: " + tasks.size());
-            int completion = taskController.calculateProjectCompletion(project.getId());
-            System.out.println("📈 Completamento: " + completion + "%\n");
-            
-            for (Task task : tasks) {
+            InputReader.pressEnterToContinue();
+            return;
+        }
+
+        //totale e completamento dalla stessa aggregazione, senza caricare tutte le task
+        TaskCounts counts = taskController.countProjectTasks(project.getId());
+        System.out.println("\n✅ Totale task: " + counts.total());
+        System.out.println("📈 Completamento: " + counts.completionPercentage() + "%\n");
+        
+        //una pagina alla volta
+        while (true) {
+            for (Task task : page.getItems()) {
                 printTaskCard(task);
             }
+            if (!page.hasNext() || !InputReader.readConfirmation("\n➡️  Mostrare altre task?")) {
+                break;
+            }
+            page = taskController.findTasksByProjectId(project.getId(), page.getNextPageToken(), PAGE_SIZE);
         }
         
         InputReader.pressEnterToContinue();
@@ -346,9 +363,9 @@ public class TaskView {
                     default -> null;
                 };
                 if (status != null) {
-                    filteredTasks = taskController.findTasksByStatus(status).stream()
-                            .filter(t -> t.getProjectId().equals(project.getId()))
-                            .toList();
+                    filteredTasks = taskController.findTasks(new TaskQuery()
+                            .forProject(project.getId())
+                            .withStatus(status));
                 }
             }
             case 2 -> {
@@ -364,15 +381,17 @@ public class TaskView {
                     default -> null;
                 };
                 if (priority != null) {
-                    filteredTasks = taskController.findTasksByPriority(priority).stream()
-                            .filter(t -> t.getProjectId().equals(project.getId()))
-                            .toList();
+                    filteredTasks = taskController.findTasks(new TaskQuery()
+                            .forProject(project.getId())
+                            .withPriority(priority));
                 }
             }
             case 3 -> {
-                filteredTasks = taskController.findTasksDueInNextDays(7).stream()
-                        .filter(t -> t.getProjectId().equals(project.getId()))
-                        .toList();
+                filteredTasks = taskController.findTasks(new TaskQuery()
+                        .forProject(project.getId())
+                        .openOnly()
+                        .deadlineTo(LocalDate.now().plusDays(7))
+                        .sortBy(TaskQuery.Sort.DEADLINE_ASC));
             }
             case 0 -> {
                 return;
@@ -398,9 +417,11 @@ public class TaskView {
         InputReader.clearScreen();
         InputReader.printHeader("TASK IN RITARDO");
         
-        List<Task> overdueTasks = taskController.findOverdueTasks().stream()
-                .filter(t -> t.getProjectId().equals(project.getId()))
-                .toList();
+        List<Task> overdueTasks = taskController.findTasks(new TaskQuery()
+                .forProject(project.getId())
+                .openOnly()
+                .deadlineTo(LocalDate.now().minusDays(1))
+                .sortBy(TaskQuery.Sort.DEADLINE_ASC));
         
         if (overdueTasks.isEmpty()) {
             System.out.println("\n✅ Nessuna task in ritardo! Ottimo lavoro!");
@@ -419,7 +440,7 @@ public class TaskView {
         InputReader.clearScreen();
         InputReader.printHeader(title);
         
-        List<Task> tasks = taskController.findTasksByProjectId(project.getId());
+        List<TaskSummary> tasks = taskController.findTaskSummariesByProjectId(project.getId());
         
         if (tasks.isEmpty()) {
             System.out.println("\n📝 Nessuna task presente in questo progetto.");
@@ -429,9 +450,9 @@ public class TaskView {
         
         System.out.println("\n📋 Seleziona una task:\n");
         for (int i = 0; i < tasks.size(); i++) {
-            Task task = tasks.get(i);
-            System.out.println((i + 1) + ". " + getStatusIcon(task.getStatus()) + " " + 
-                             task.getTitle() + " [" + getPriorityIcon(task.getPriority()) + "]");
+            TaskSummary task = tasks.get(i);
+            System.out.println((i + 1) + ". " + getStatusIcon(task.status()) + " " + 
+                             task.title() + " [" + getPriorityIcon(task.priority()) + "]");
         }
         System.out.println("0. Annulla");
         System.out.println();
@@ -441,7 +462,14 @@ public class TaskView {
             return null;
         }
         
-        return tasks.get(choice - 1);
+        //task completa solo per quella selezionata
+        Optional<Task> task = taskController.findTaskById(tasks.get(choice - 1).id());
+        if (task.isEmpty()) {
+            System.out.println("\n❌ La task non esiste più.");
+            InputReader.pressEnterToContinue();
+            return null;
+        }
+        return task.get();
     }
     
     //stampa info task
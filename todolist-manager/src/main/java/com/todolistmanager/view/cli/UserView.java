@@ -1,6 +1,7 @@
 package com.todolistmanager.view.cli;
 
 import com.todolistmanager.controller.UserController;
+import com.todolistmanager.dao.Page;
 import com.todolistmanager.model.User;
 import java.util.List;
 import java.util.Optional;
@@ -10,6 +11,9 @@ public class UserView {
     
     private final UserController userController;
 
+    //utenti mostrati per pagina
+    private static final int PAGE_SIZE = 20;
+
     public UserView(UserController userController) {
         this.userController = userController;
     }
@@ -101,20 +105,27 @@ public class UserView {
         InputReader.clearScreen();
         InputReader.printHeader("LISTA UTENTI");
         
-        List<User> users = userController.getAllUsers();
+        Page<User> page = userController.getAllUsers(null, PAGE_SIZE);
         
-        if (users.isEmpty()) {
+        if (page.isEmpty()) {
             System.out.println("\n📝 Nessun utente presente.");
         } else {
-            System.out.println("\n👥 Totale utenti: " + users.size() + "\n");
+            System.out.println("\n👥 Totale utenti: " + userController.countUsers() + "\n");
             InputReader.printSeparator();
             
-            for (User user : users) {
-                System.out.println("🆔 ID: " + user.getId());
-                System.out.println("👤 Username: " + user.getUsername());
-                System.out.println("📧 Email: " + user.getEmail());
-                System.out.println("📅 Creato il: " + user.getCreatedAt());
-                InputReader.printSeparator();
+            //una pagina alla volta
+            while (true) {
+                for (User user : page.getItems()) {
+                    System.out.println("🆔 ID: " + user.getId());
+                    System.out.println("👤 Username: " + user.getUsername());
+                    System.out.println("📧 Email: " + user.getEmail());
+                    System.out.println("📅 Creato il: " + user.getCreatedAt());
+                    InputReader.printSeparator();
+                }
+                if (!page.hasNext() || !InputReader.readConfirmation("\n➡️  Mostrare altri utenti?")) {
+                    break;
+                }
+                page = userController.getAllUsers(page.getNextPageToken(), PAGE_SIZE);
             }
         }
         
@@ -0,0 +1,13 @@
+-- indici per le query dei DAO
+
+-- TaskDAOImpl.findByProjectId / countByProjectIdAndStatus (filtro su progetto, ordinamento per data)
+CREATE INDEX IF NOT EXISTS idx_tasks_project_created ON tasks (project_id, created_at DESC);
+
+-- TaskDAOImpl.findByDeadlineBefore / findOverdueTasks: solo le task non completate
+CREATE INDEX IF NOT EXISTS idx_tasks_open_deadline ON tasks (deadline) WHERE status <> 'DONE';
+
+-- ProjectDAOImpl.findByUserId / countByUserId e cascata da users
+CREATE INDEX IF NOT EXISTS idx_projects_user_id ON projects (user_id);
+
+-- UserDAOImpl.findByUsername (stesso nome del vincolo UNIQUE creato a mano sui database esistenti)
+CREATE UNIQUE INDEX IF NOT EXISTS users_username_key ON users (username);
\ No newline at end of file
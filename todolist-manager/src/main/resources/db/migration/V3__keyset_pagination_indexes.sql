@@ -0,0 +1,15 @@
+-- indici per la paginazione keyset su (created_at, id), stesso ordine delle query (DESC, DESC)
+
+-- sostituisce idx_tasks_project_created: stesso prefisso, serve anche findByProjectId e i contatori
+DROP INDEX IF EXISTS idx_tasks_project_created;
+CREATE INDEX IF NOT EXISTS idx_tasks_project_created_id ON tasks (project_id, created_at DESC, id DESC);
+
+-- TaskDAOImpl.findAll(pageToken, pageSize)
+CREATE INDEX IF NOT EXISTS idx_tasks_created_id ON tasks (created_at DESC, id DESC);
+
+-- sostituisce idx_projects_user_id: stesso prefisso, serve anche countByUserId e la cascata da users
+DROP INDEX IF EXISTS idx_projects_user_id;
+CREATE INDEX IF NOT EXISTS idx_projects_user_created_id ON projects (user_id, created_at DESC, id DESC);
+
+-- UserDAOImpl.findAll(pageToken, pageSize)
+CREATE INDEX IF NOT EXISTS idx_users_created_id ON users (created_at DESC, id DESC);
\ No newline at end of file
@@ -0,0 +1,92 @@
+package com.todolistmanager.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+//unit test LruCache - orologio simulato
+class LruCacheTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final LruCache<Long, String> cache = new LruCache<>(2, Duration.ofSeconds(10), now::get);
+
+    @Test
+    void testGet_HitAndMiss() {
+        //arrange
+        cache.put(1L, "uno");
+
+        //act & assert
+        assertEquals(Optional.of("uno"), cache.get(1L));
+        assertTrue(cache.get(2L).isEmpty());
+        assertEquals(1, cache.getStats().getHits());
+        assertEquals(1, cache.getStats().getMisses());
+    }
+
+    @Test
+    void testPut_EvictsLeastRecentlyUsed() {
+        //arrange
+        cache.put(1L, "uno");
+        cache.put(2L, "due");
+        cache.get(1L); //1 diventa il più recente
+
+        //act
+        cache.put(3L, "tre");
+
+        //assert
+        assertTrue(cache.get(2L).isEmpty());
+        assertTrue(cache.get(1L).isPresent());
+        assertTrue(cache.get(3L).isPresent());
+        assertEquals(1, cache.getStats().getEvictions());
+    }
+
+    @Test
+    void testGet_ExpiresAfterTtl() {
+        //arrange
+        cache.put(1L, "uno");
+
+        //act
+        now.addAndGet(Duration.ofSeconds(10).toNanos());
+
+        //assert
+        assertTrue(cache.get(1L).isEmpty());
+        assertEquals(0, cache.size());
+        assertEquals(1, cache.getStats().getEvictions());
+    }
+
+    @Test
+    void testUpdate_KeepsExpiry() {
+        //arrange
+        cache.put(1L, "uno");
+        now.addAndGet(Duration.ofSeconds(6).toNanos());
+
+        //act
+        cache.update(1L, (key, value) -> value + "!");
+        cache.update(2L, (key, value) -> "mai");
+
+        //assert - il valore cambia, la scadenza resta quella dell'inserimento
+        assertEquals(Optional.of("uno!"), cache.get(1L));
+        assertEquals(1, cache.size());
+        now.addAndGet(Duration.ofSeconds(5).toNanos());
+        assertTrue(cache.get(1L).isEmpty());
+    }
+
+    @Test
+    void testInvalidate() {
+        //arrange
+        cache.put(1L, "uno");
+        cache.put(2L, "due");
+
+        //act
+        cache.invalidate(1L);
+        cache.invalidateIf((key, value) -> value.startsWith("d"));
+
+        //assert
+        assertEquals(0, cache.size());
+        assertThrows(IllegalArgumentException.class, () -> new LruCache<>(0, Duration.ofSeconds(1)));
+        assertThrows(IllegalArgumentException.class, () -> new LruCache<>(1, Duration.ZERO));
+    }
+}
\ No newline at end of file
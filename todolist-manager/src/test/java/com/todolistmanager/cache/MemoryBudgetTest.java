@@ -0,0 +1,116 @@
+package com.todolistmanager.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+//unit test MemoryBudget - peso = lunghezza del valore, orologio simulato
+class MemoryBudgetTest {
+
+    private static final long ENTRY = LruCache.ENTRY_OVERHEAD_BYTES;
+
+    private final AtomicLong now = new AtomicLong();
+    private final MemoryBudget budget = new MemoryBudget(3 * ENTRY + 300);
+    private final LruCache<Long, String> first = cache();
+    private final LruCache<Long, String> second = cache();
+
+    @Test
+    void testPut_TracksWeight() {
+        //act
+        first.put(1L, "x".repeat(100));
+        second.put(1L, "x".repeat(50));
+
+        //assert
+        assertEquals(ENTRY + 100, first.getWeight());
+        assertEquals(2 * ENTRY + 150, budget.getUsedBytes());
+    }
+
+    @Test
+    void testPut_EvictsLeastRecentlyUsedAcrossCaches() {
+        //arrange
+        first.put(1L, "x".repeat(100));
+        tick();
+        second.put(1L, "x".repeat(100));
+        tick();
+        first.put(2L, "x".repeat(100));
+        tick();
+        second.get(1L);
+        tick();
+
+        //act - oltre il budget: esce la voce meno usata di recente, cioè first/1
+        first.put(3L, "x".repeat(100));
+
+        //assert
+        assertTrue(first.get(1L).isEmpty());
+        assertTrue(second.get(1L).isPresent());
+        assertTrue(first.get(2L).isPresent());
+        assertEquals(1, budget.getEvictions());
+        assertTrue(budget.getUsedBytes() <= budget.getMaxBytes());
+    }
+
+    @Test
+    void testPut_EntryLargerThanBudgetNotCached() {
+        //act
+        first.put(1L, "x".repeat(1000));
+
+        //assert
+        assertEquals(0, first.size());
+        assertEquals(0, budget.getUsedBytes());
+    }
+
+    @Test
+    void testInvalidateAndUpdate_AdjustWeight() {
+        //arrange
+        first.put(1L, "x".repeat(100));
+        first.put(2L, "x".repeat(100));
+
+        //act
+        first.update(1L, (key, value) -> "x".repeat(10));
+        first.invalidate(2L);
+
+        //assert
+        assertEquals(ENTRY + 10, budget.getUsedBytes());
+        assertEquals(ENTRY + 10, first.getWeight());
+    }
+
+    @Test
+    void testClose_ReleasesWeightAndUnregisters() {
+        //arrange
+        first.put(1L, "x".repeat(100));
+
+        //act
+        first.close();
+
+        //assert
+        assertEquals(0, budget.getUsedBytes());
+        assertEquals(1, budget.getCacheCount());
+    }
+
+    @Test
+    void testCollectedCache_LeavesBudget() throws InterruptedException {
+        //arrange - una cache non più referenziata
+        cache().put(1L, "x".repeat(100));
+        assertEquals(3, budget.getCacheCount());
+
+        //act
+        for (int i = 0; i < 20 && budget.getCacheCount() > 2; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+
+        //assert - registrazione rimossa e peso restituito
+        assertEquals(2, budget.getCacheCount());
+        assertEquals(0, budget.getUsedBytes());
+    }
+
+    private LruCache<Long, String> cache() {
+        return new LruCache<>(10, Duration.ofMinutes(1), budget, (key, value) -> value.length(), now::get);
+    }
+
+    private void tick() {
+        now.addAndGet(1_000);
+    }
+}
\ No newline at end of file
@@ -1,16 +1,23 @@
 package com.todolistmanager.controller;
 
+import com.todolistmanager.dao.CachingProjectDAO;
+import com.todolistmanager.dao.Page;
 import com.todolistmanager.dao.ProjectDAO;
+import com.todolistmanager.db.TransactionManager;
 import com.todolistmanager.model.Project;
+import com.todolistmanager.model.ProjectSummary;
+import com.todolistmanager.observer.ProjectObserver;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -23,6 +30,9 @@ class ProjectControllerTest {
     @Mock
     private ProjectDAO projectDAO;
 
+    @Mock
+    private ProjectObserver mockObserver;
+
     private ProjectController projectController;
 
     private Project testProject;
@@ -100,7 +110,7 @@ class ProjectControllerTest {
     @Test
     void testUpdateProject_Success() {
         //arrange
-        when(projectDAO.findById(1L)).thenReturn(Optional.of(testProject));
+        when(projectDAO.findByIdForUpdate(1L)).thenReturn(Optional.of(testProject));
         doNothing().when(projectDAO).update(any(Project.class));
 
         //act
@@ -108,21 +118,21 @@ class ProjectControllerTest {
 
         //assert
         assertTrue(result);
-        verify(projectDAO, times(1)).findById(1L);
+        verify(projectDAO, times(1)).findByIdForUpdate(1L);
         verify(projectDAO, times(1)).update(any(Project.class));
     }
 
     @Test
     void testUpdateProject_NotFound() {
         //arrange
-        when(projectDAO.findById(99L)).thenReturn(Optional.empty());
+        when(projectDAO.findByIdForUpdate(99L)).thenReturn(Optional.empty());
 
         //act
         boolean result = projectController.updateProject(99L, "Name", "Desc");
 
         //assert
         assertFalse(result);
-        verify(projectDAO, times(1)).findById(99L);
+        verify(projectDAO, times(1)).findByIdForUpdate(99L);
         verify(projectDAO, never()).update(any(Project.class));
     }
 
@@ -169,6 +179,19 @@ class ProjectControllerTest {
         verify(projectDAO, times(1)).findByUserId(1L);
     }
 
+    @Test
+    void testFindProjectSummariesByUserId() {
+        //arrange
+        when(projectDAO.findSummariesByUserId(1L)).thenReturn(List.of(new ProjectSummary(1L, "Test Project", 3)));
+
+        //act
+        List<ProjectSummary> result = projectController.findProjectSummariesByUserId(1L);
+
+        //assert
+        assertEquals(3, result.get(0).taskCount());
+        assertThrows(IllegalArgumentException.class, () -> projectController.findProjectSummariesByUserId(null));
+    }
+
     
     //test delete project
     @Test
@@ -186,6 +209,71 @@ class ProjectControllerTest {
         verify(projectDAO, times(1)).delete(1L);
     }
 
+    @Test
+    void testDeleteProject_NotifiesObservers() {
+        //arrange
+        projectController.addObserver(mockObserver);
+        when(projectDAO.findById(1L)).thenReturn(Optional.of(testProject));
+
+        //act
+        projectController.deleteProject(1L);
+
+        //assert
+        verify(mockObserver, times(1)).onProjectDeleted(testProject);
+    }
+
+    @Test
+    void testUpdateProject_FailedCommitNotNotified() {
+        //arrange - il lavoro va a buon fine ma il commit fallisce
+        ProjectController controller = new ProjectController(projectDAO, new TransactionManager() {
+            @Override
+            public <T> T inTransaction(Supplier<T> work) {
+                work.get();
+                throw new IllegalStateException("commit fallito");
+            }
+        });
+        controller.addObserver(mockObserver);
+        when(projectDAO.findByIdForUpdate(1L)).thenReturn(Optional.of(testProject));
+
+        //act
+        assertThrows(IllegalStateException.class, () -> controller.updateProject(1L, "Updated Name", "Updated Desc"));
+
+        //assert - le cache non vedono modifiche non confermate
+        verify(mockObserver, never()).onProjectUpdated(any(Project.class));
+    }
+
+    @Test
+    void testCachingDAO_ViewReadsServedFromCacheAcrossWrites() {
+        //arrange - letture delle schermate (pagina, riepiloghi, conteggio) tramite il DAO con cache
+        ProjectController controller = new ProjectController(new CachingProjectDAO(projectDAO, 10, Duration.ofMinutes(1)));
+        Project created = new Project(2L, 1L, "Nuovo", null);
+        when(projectDAO.findByUserId(1L, null, 20))
+                .thenReturn(new Page<>(List.of(testProject), null))
+                .thenReturn(new Page<>(List.of(created, testProject), null));
+        when(projectDAO.findSummariesByUserId(1L)).thenReturn(List.of(new ProjectSummary(1L, "Test Project", 3)));
+        when(projectDAO.countByUserId(1L)).thenReturn(1);
+        when(projectDAO.save(any(Project.class))).thenReturn(created);
+
+        //act - navigazione tra le schermate, una creazione, di nuovo navigazione
+        for (int i = 0; i < 2; i++) {
+            controller.findProjectsByUserId(1L, null, 20);
+            controller.findProjectSummariesByUserId(1L);
+            controller.countProjectsByUserId(1L);
+        }
+        controller.createProject(1L, "Nuovo", null);
+        Page<Project> page = controller.findProjectsByUserId(1L, null, 20);
+        List<ProjectSummary> summaries = controller.findProjectSummariesByUserId(1L);
+        int count = controller.countProjectsByUserId(1L);
+
+        //assert - la pagina è riletta dopo la creazione, riepiloghi e conteggio aggiornati in cache
+        verify(projectDAO, times(2)).findByUserId(1L, null, 20);
+        verify(projectDAO, times(1)).findSummariesByUserId(1L);
+        verify(projectDAO, times(1)).countByUserId(1L);
+        assertEquals(2, page.getItems().size());
+        assertEquals(List.of(new ProjectSummary(2L, "Nuovo", 0), new ProjectSummary(1L, "Test Project", 3)), summaries);
+        assertEquals(2, count);
+    }
+
     @Test
     void testDeleteProject_NotFound() {
         //arrange
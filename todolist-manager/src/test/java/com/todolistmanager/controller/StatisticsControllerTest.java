@@ -0,0 +1,67 @@
+package com.todolistmanager.controller;
+
+import com.todolistmanager.dao.StatisticsDAO;
+import com.todolistmanager.model.StatisticsSnapshot;
+import com.todolistmanager.model.StatisticsSnapshot.ProjectStatistics;
+import com.todolistmanager.model.StatisticsSnapshot.TaskCounts;
+import com.todolistmanager.model.TaskStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+//unit test StatisticsController Mockito
+@ExtendWith(MockitoExtension.class)
+class StatisticsControllerTest {
+
+    @Mock
+    private StatisticsDAO statisticsDAO;
+
+    private StatisticsController statisticsController;
+
+    @BeforeEach
+    void setUp() {
+        statisticsController = new StatisticsController(statisticsDAO);
+    }
+
+    @Test
+    void testGetUserStatistics_Success() {
+        //arrange
+        TaskCounts counts = new TaskCounts(2, 1, 0, 1, 1);
+        StatisticsSnapshot snapshot = new StatisticsSnapshot(1L, counts,
+                List.of(new ProjectStatistics(10L, "Progetto", counts)));
+        when(statisticsDAO.findByUserId(1L)).thenReturn(snapshot);
+
+        //act
+        StatisticsSnapshot result = statisticsController.getUserStatistics(1L);
+
+        //assert
+        assertEquals(1, result.projectCount());
+        assertEquals(4, result.totals().total());
+        assertEquals(25, result.totals().completionPercentage());
+        assertEquals(2, result.totals().count(TaskStatus.TODO));
+        verify(statisticsDAO, times(1)).findByUserId(1L);
+    }
+
+    @Test
+    void testGetUserStatistics_InvalidUserId() {
+        //act & assert
+        assertThrows(IllegalArgumentException.class, () -> statisticsController.getUserStatistics(null));
+        assertThrows(IllegalArgumentException.class, () -> statisticsController.getUserStatistics(0L));
+        verify(statisticsDAO, never()).findByUserId(anyLong());
+    }
+
+    @Test
+    void testTaskCounts_EmptyCompletion() {
+        //act & assert
+        assertEquals(0, TaskCounts.EMPTY.total());
+        assertEquals(0, TaskCounts.EMPTY.completionPercentage());
+    }
+}
\ No newline at end of file
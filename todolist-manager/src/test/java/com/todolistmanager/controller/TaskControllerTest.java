@@ -1,9 +1,17 @@
 package com.todolistmanager.controller;
 
+import com.todolistmanager.dao.CachingTaskDAO;
+import com.todolistmanager.dao.Page;
+import com.todolistmanager.dao.QueryCache;
 import com.todolistmanager.dao.TaskDAO;
+import com.todolistmanager.dao.TaskPatch;
+import com.todolistmanager.dao.TaskQuery;
 import com.todolistmanager.model.Priority;
+import com.todolistmanager.model.ProjectOverview;
+import com.todolistmanager.model.StatisticsSnapshot.TaskCounts;
 import com.todolistmanager.model.Task;
 import com.todolistmanager.model.TaskStatus;
+import com.todolistmanager.model.TaskSummary;
 import com.todolistmanager.observer.TaskObserver;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -11,9 +19,11 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -43,6 +53,23 @@ class TaskControllerTest {
     }
 
     
+    //test costruttore di produzione
+    @Test
+    void testProductionConstructor_RegistersTaskCacheForCascades() {
+        //arrange
+        ProjectController projectController = mock(ProjectController.class);
+        UserController userController = mock(UserController.class);
+
+        //act
+        new TaskController(projectController, userController);
+
+        //assert - eliminazioni di progetti e utenti arrivano alla cache delle task e a quella delle ricerche
+        verify(projectController).addObserver(any(CachingTaskDAO.class));
+        verify(userController).addObserver(any(CachingTaskDAO.class));
+        verify(projectController).addObserver(any(QueryCache.class));
+        verify(userController).addObserver(any(QueryCache.class));
+    }
+
     //test observer
     @Test
     void testAddObserver() {
@@ -71,6 +98,37 @@ class TaskControllerTest {
         verify(taskDAO, times(1)).save(any(Task.class));
     }
 
+    @Test
+    void testCreateTasks_SingleBatchAndNotification() {
+        //arrange
+        List<Task> tasks = List.of(
+            new Task(1L, "First Task", "Desc", Priority.HIGH, null),
+            new Task(1L, "Second Task", null, Priority.LOW, LocalDate.now().plusDays(3)));
+        when(taskDAO.saveAll(tasks)).thenReturn(tasks);
+        taskController.addObserver(mockObserver);
+
+        //act
+        List<Task> result = taskController.createTasks(tasks);
+
+        //assert
+        assertEquals(2, result.size());
+        verify(taskDAO, times(1)).saveAll(tasks);
+        verify(taskDAO, never()).save(any(Task.class));
+        verify(mockObserver, times(1)).onTasksCreated(tasks);
+    }
+
+    @Test
+    void testCreateTasks_InvalidTaskSavesNothing() {
+        //arrange - la seconda task ha un titolo troppo corto
+        List<Task> tasks = List.of(
+            new Task(1L, "Valid Task", "Desc", Priority.HIGH, null),
+            new Task(1L, "ab", "Desc", Priority.HIGH, null));
+
+        //act & assert
+        assertThrows(IllegalArgumentException.class, () -> taskController.createTasks(tasks));
+        verify(taskDAO, never()).saveAll(anyList());
+    }
+
     @Test
     void testCreateTask_InvalidProjectId() {
         //act & assert
@@ -110,8 +168,7 @@ class TaskControllerTest {
     @Test
     void testUpdateTaskStatus_Success() {
         //arrange
-        when(taskDAO.findById(1L)).thenReturn(Optional.of(testTask));
-        doNothing().when(taskDAO).update(any(Task.class));
+        when(taskDAO.updateStatus(1L, TaskStatus.IN_PROGRESS)).thenReturn(Optional.of(testTask));
         taskController.addObserver(mockObserver);
 
         //act
@@ -119,22 +176,23 @@ class TaskControllerTest {
 
         //assert
         assertTrue(result);
-        verify(taskDAO, times(1)).findById(1L);
-        verify(taskDAO, times(1)).update(any(Task.class));
+        verify(taskDAO, times(1)).updateStatus(1L, TaskStatus.IN_PROGRESS);
+        verify(taskDAO, never()).findById(anyLong());
         verify(mockObserver, times(1)).onTaskStatusChanged(any(Task.class));
     }
 
     @Test
     void testUpdateTaskStatus_NotFound() {
         //arrange
-        when(taskDAO.findById(99L)).thenReturn(Optional.empty());
+        when(taskDAO.updateStatus(99L, TaskStatus.DONE)).thenReturn(Optional.empty());
+        taskController.addObserver(mockObserver);
 
         //act
         boolean result = taskController.updateTaskStatus(99L, TaskStatus.DONE);
 
         //assert
         assertFalse(result);
-        verify(taskDAO, never()).update(any(Task.class));
+        verify(mockObserver, never()).onTaskStatusChanged(any(Task.class));
     }
 
     
@@ -142,15 +200,14 @@ class TaskControllerTest {
     @Test
     void testUpdateTaskPriority_Success() {
         //arrange
-        when(taskDAO.findById(1L)).thenReturn(Optional.of(testTask));
-        doNothing().when(taskDAO).update(any(Task.class));
+        when(taskDAO.updatePriority(1L, Priority.HIGH)).thenReturn(Optional.of(testTask));
 
         //act
         boolean result = taskController.updateTaskPriority(1L, Priority.HIGH);
 
         //assert
         assertTrue(result);
-        verify(taskDAO, times(1)).update(any(Task.class));
+        verify(taskDAO, times(1)).updatePriority(1L, Priority.HIGH);
     }
 
     
@@ -183,6 +240,84 @@ class TaskControllerTest {
         verify(taskDAO, times(1)).findByProjectId(1L);
     }
 
+    @Test
+    void testFindTaskSummariesByProjectId() {
+        //arrange
+        TaskSummary summary = new TaskSummary(1L, "Test Task", TaskStatus.TODO, Priority.HIGH, null);
+        when(taskDAO.findSummariesByProjectId(1L)).thenReturn(List.of(summary));
+
+        //act
+        List<TaskSummary> result = taskController.findTaskSummariesByProjectId(1L);
+
+        //assert
+        assertEquals(List.of(summary), result);
+        verify(taskDAO, never()).findByProjectId(anyLong());
+    }
+
+    @Test
+    void testFindTasks_DelegatesQuery() {
+        //arrange
+        TaskQuery query = new TaskQuery().forProject(1L).withStatus(TaskStatus.TODO);
+        when(taskDAO.find(query)).thenReturn(List.of(testTask));
+
+        //act
+        List<Task> result = taskController.findTasks(query);
+
+        //assert
+        assertEquals(1, result.size());
+        assertThrows(IllegalArgumentException.class, () -> taskController.findTasks(null));
+    }
+
+    @Test
+    void testFindTasks_QueryCacheInvalidatedByPriorityChange() {
+        //arrange - filtro per priorità di TaskView
+        taskController.setQueryCache(new QueryCache(10, Duration.ofMinutes(1), null));
+        Task low = new Task(1L, 1L, "Test Task", "Description", TaskStatus.TODO, Priority.LOW, testTask.getDeadline());
+        when(taskDAO.find(any(TaskQuery.class))).thenReturn(List.of(testTask)).thenReturn(List.of());
+        when(taskDAO.updatePriority(1L, Priority.LOW)).thenReturn(Optional.of(low));
+
+        //act - query equivalenti costruite separatamente condividono la voce in cache
+        taskController.findTasks(new TaskQuery().forProject(1L).withPriority(Priority.MEDIUM));
+        taskController.findTasks(new TaskQuery().forProject(1L).withPriority(Priority.MEDIUM));
+        taskController.updateTaskPriority(1L, Priority.LOW);
+        List<Task> result = taskController.findTasks(new TaskQuery().forProject(1L).withPriority(Priority.MEDIUM));
+
+        //assert - la seconda ricerca è in cache, la terza riletta dopo la notifica
+        assertTrue(result.isEmpty());
+        verify(taskDAO, times(2)).find(any(TaskQuery.class));
+    }
+
+    @Test
+    void testGetProjectOverviews() {
+        //arrange
+        Map<Long, ProjectOverview> overviews = Map.of(
+                1L, new ProjectOverview(1L, TaskCounts.EMPTY, List.of()),
+                2L, new ProjectOverview(2L, TaskCounts.EMPTY, List.of()));
+        when(taskDAO.findOverviewsByProjectIds(List.of(1L, 2L))).thenReturn(overviews);
+
+        //act
+        Map<Long, ProjectOverview> result = taskController.getProjectOverviews(List.of(1L, 2L));
+
+        //assert
+        assertSame(overviews, result);
+        assertThrows(IllegalArgumentException.class, () -> taskController.getProjectOverviews(List.of(1L, -1L)));
+        assertThrows(IllegalArgumentException.class, () -> taskController.getProjectOverviews(null));
+    }
+
+    @Test
+    void testFindTasksByProjectId_Page() {
+        //arrange
+        Page<Task> page = new Page<>(List.of(testTask), "token");
+        when(taskDAO.findByProjectId(1L, null, 20)).thenReturn(page);
+
+        //act
+        Page<Task> result = taskController.findTasksByProjectId(1L, null, 20);
+
+        //assert
+        assertSame(page, result);
+        assertThrows(IllegalArgumentException.class, () -> taskController.findTasksByProjectId(0L, null, 20));
+    }
+
     @Test
     void testFindTasksByStatus() {
         //arrange
@@ -196,6 +331,68 @@ class TaskControllerTest {
         assertEquals(1, result.size());
     }
 
+    @Test
+    void testFindTasksByStatus_QueryCacheInvalidatedByStatusChange() {
+        //arrange
+        taskController.setQueryCache(new QueryCache(10, Duration.ofMinutes(1), null));
+        Task done = new Task(1L, 1L, "Test Task", "Description", TaskStatus.DONE, Priority.MEDIUM, null);
+        when(taskDAO.findByStatus(TaskStatus.TODO)).thenReturn(List.of(testTask)).thenReturn(List.of());
+        when(taskDAO.updateStatus(1L, TaskStatus.DONE)).thenReturn(Optional.of(done));
+
+        //act
+        taskController.findTasksByStatus(TaskStatus.TODO);
+        taskController.findTasksByStatus(TaskStatus.TODO);
+        taskController.updateTaskStatus(1L, TaskStatus.DONE);
+        List<Task> result = taskController.findTasksByStatus(TaskStatus.TODO);
+
+        //assert - la seconda ricerca è in cache, la terza riletta dopo la notifica
+        assertTrue(result.isEmpty());
+        verify(taskDAO, times(2)).findByStatus(TaskStatus.TODO);
+    }
+
+    
+    //test operazioni in blocco
+    @Test
+    void testBulkUpdateStatus_OneStatementOneNotification() {
+        //arrange
+        Task task2 = new Task(2L, 1L, "Task 2", "Desc", TaskStatus.DONE, Priority.LOW, null);
+        testTask.setStatus(TaskStatus.DONE);
+        when(taskDAO.patchAll(eq(List.of(1L, 2L, 99L)), any(TaskPatch.class))).thenReturn(List.of(testTask, task2));
+        taskController.addObserver(mockObserver);
+
+        //act
+        List<Task> result = taskController.bulkUpdateStatus(List.of(1L, 2L, 99L), TaskStatus.DONE);
+
+        //assert - l'id inesistente è ignorato
+        assertEquals(2, result.size());
+        verify(mockObserver, times(1)).onTasksStatusChanged(List.of(testTask, task2));
+        verify(taskDAO, never()).findById(anyLong());
+    }
+
+    @Test
+    void testBulkDelete_NotifiesDeletedIds() {
+        //arrange
+        when(taskDAO.deleteAll(List.of(1L, 2L))).thenReturn(List.of(1L));
+        taskController.addObserver(mockObserver);
+
+        //act
+        List<Long> result = taskController.bulkDelete(List.of(1L, 2L));
+
+        //assert
+        assertEquals(List.of(1L), result);
+        verify(mockObserver, times(1)).onTasksDeleted(List.of(1L));
+    }
+
+    @Test
+    void testBulkOperations_InvalidInput() {
+        //act & assert
+        assertThrows(IllegalArgumentException.class, () -> taskController.bulkUpdatePriority(List.of(1L), null));
+        assertThrows(IllegalArgumentException.class, () -> taskController.bulkDelete(List.of(0L)));
+        assertThrows(IllegalArgumentException.class, () -> taskController.bulkUpdateStatus(null, TaskStatus.DONE));
+        assertTrue(taskController.bulkDelete(List.of()).isEmpty());
+        verify(taskDAO, never()).deleteAll(any());
+    }
+
     
     //test delete task
     @Test
@@ -219,9 +416,7 @@ class TaskControllerTest {
     @Test
     void testCalculateProjectCompletion() {
         //arrange
-        Task completedTask = new Task(2L, 1L, "Done Task", "Desc", TaskStatus.DONE, Priority.LOW, null);
-        List<Task> tasks = Arrays.asList(testTask, completedTask);
-        when(taskDAO.findByProjectId(1L)).thenReturn(tasks);
+        when(taskDAO.countByProjectId(1L)).thenReturn(new TaskCounts(1, 0, 0, 1, 0));
 
         //act
         int result = taskController.calculateProjectCompletion(1L);
@@ -233,7 +428,7 @@ class TaskControllerTest {
     @Test
     void testCalculateProjectCompletion_EmptyProject() {
         //arrange
-        when(taskDAO.findByProjectId(1L)).thenReturn(Arrays.asList());
+        when(taskDAO.countByProjectId(1L)).thenReturn(TaskCounts.EMPTY);
 
         //act
         int result = taskController.calculateProjectCompletion(1L);
@@ -241,4 +436,25 @@ class TaskControllerTest {
         //assert
         assertEquals(0, result);
     }
+
+    @Test
+    void testGetProjectOverview() {
+        //arrange
+        ProjectOverview overview = new ProjectOverview(1L, TaskCounts.EMPTY, List.of());
+        when(taskDAO.findOverviewByProjectId(1L)).thenReturn(overview);
+
+        //act & assert
+        assertSame(overview, taskController.getProjectOverview(1L));
+        assertThrows(IllegalArgumentException.class, () -> taskController.getProjectOverview(0L));
+    }
+
+    @Test
+    void testProjectHasTasks_UsesExists() {
+        //arrange
+        when(taskDAO.existsByProjectId(1L)).thenReturn(true);
+
+        //act & assert
+        assertTrue(taskController.projectHasTasks(1L));
+        verify(taskDAO, never()).findByProjectId(anyLong());
+    }
 }
\ No newline at end of file
@@ -2,6 +2,7 @@ package com.todolistmanager.controller;
 
 import com.todolistmanager.dao.UserDAO;
 import com.todolistmanager.model.User;
+import com.todolistmanager.observer.UserObserver;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -23,6 +24,9 @@ class UserControllerTest {
     @Mock
     private UserDAO userDAO;
 
+    @Mock
+    private UserObserver mockObserver;
+
     private UserController userController;
 
     private User testUser;
@@ -38,22 +42,21 @@ class UserControllerTest {
     @Test
     void testCreateUser_Success() {
         //arrange
-        when(userDAO.findByUsername("newuser")).thenReturn(Optional.empty());
-        when(userDAO.save(any(User.class))).thenReturn(testUser);
+        when(userDAO.insertIfAbsent(any(User.class))).thenReturn(Optional.of(testUser));
 
         //act
         User result = userController.createUser("newuser", "new@email.com");
 
-        //assert
+        //assert - un solo statement, nessuna lettura preventiva
         assertNotNull(result);
-        verify(userDAO, times(1)).findByUsername("newuser");
-        verify(userDAO, times(1)).save(any(User.class));
+        verify(userDAO, times(1)).insertIfAbsent(any(User.class));
+        verify(userDAO, never()).findByUsername(any());
     }
 
     @Test
     void testCreateUser_UsernameAlreadyExists() {
         //arrange
-        when(userDAO.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+        when(userDAO.insertIfAbsent(any(User.class))).thenReturn(Optional.empty());
 
         //act & assert
         IllegalArgumentException exception = assertThrows(
@@ -62,8 +65,7 @@ class UserControllerTest {
         );
         
         assertEquals("Username 'testuser' già esistente", exception.getMessage());
-        verify(userDAO, times(1)).findByUsername("testuser");
-        verify(userDAO, never()).save(any(User.class));
+        verify(userDAO, times(1)).insertIfAbsent(any(User.class));
     }
 
     @Test
@@ -75,7 +77,7 @@ class UserControllerTest {
         );
         
         assertEquals("Username non può essere vuoto", exception.getMessage());
-        verify(userDAO, never()).save(any(User.class));
+        verify(userDAO, never()).insertIfAbsent(any(User.class));
     }
 
     @Test
@@ -219,6 +221,19 @@ class UserControllerTest {
         verify(userDAO, times(1)).delete(1L);
     }
 
+    @Test
+    void testDeleteUser_NotifiesObservers() {
+        //arrange
+        userController.addObserver(mockObserver);
+        when(userDAO.findById(1L)).thenReturn(Optional.of(testUser));
+
+        //act
+        userController.deleteUser(1L);
+
+        //assert
+        verify(mockObserver, times(1)).onUserDeleted(1L);
+    }
+
     @Test
     void testDeleteUser_NotFound() {
         //arrange
@@ -0,0 +1,113 @@
+package com.todolistmanager.dao;
+
+import com.todolistmanager.db.DBConnection;
+import com.todolistmanager.model.*;
+import org.junit.jupiter.api.*;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+//integration test BulkLoader - database PostgreSQL reale
+class BulkLoaderTest {
+
+    private static UserDAO userDAO;
+    private static ProjectDAO projectDAO;
+    private static TaskDAO taskDAO;
+
+    @BeforeAll
+    static void setUpDatabase() throws SQLException {
+        DBConnection.getInstance();
+        userDAO = new UserDAOImpl();
+        projectDAO = new ProjectDAOImpl();
+        taskDAO = new TaskDAOImpl();
+        cleanDatabase();
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        cleanDatabase();
+    }
+
+    private static void cleanDatabase() throws SQLException {
+        try (Connection conn = DBConnection.getInstance().getConnection();
+             Statement stmt = conn.createStatement()) {
+            stmt.execute("DELETE FROM tasks");
+            stmt.execute("DELETE FROM projects");
+            stmt.execute("DELETE FROM users");
+        }
+    }
+
+    @Test
+    void testLoad_LinksChildrenWithPreallocatedIds() {
+        try (BulkLoader loader = new BulkLoader()) {
+            //arrange - id dei padri noti prima del caricamento
+            long userId = loader.allocateIds(BulkLoader.Table.USERS, 1)[0];
+            long[] projectIds = loader.allocateIds(BulkLoader.Table.PROJECTS, 2);
+
+            User user = new User("bulkuser", "bulk@test.com");
+            user.setId(userId);
+            Stream<Project> projects = IntStream.range(0, 2).mapToObj(i -> {
+                Project project = new Project(userId, "Bulk Project " + i, null);
+                project.setId(projectIds[i]);
+                return project;
+            });
+            //task generate al volo, senza id
+            Stream<Task> tasks = IntStream.range(0, 20_000).mapToObj(i ->
+                    new Task(projectIds[i % 2], "Bulk Task " + i, null, Priority.LOW, LocalDate.now()));
+
+            //act
+            assertEquals(1, loader.loadUsers(Stream.of(user)));
+            assertEquals(2, loader.loadProjects(projects));
+            assertEquals(20_000, loader.loadTasks(tasks));
+        }
+
+        //assert
+        assertEquals(2, projectDAO.countByUserId(userDAO.findByUsername("bulkuser").get().getId()));
+        List<Task> firstProjectTasks = taskDAO.findByProjectId(projectDAO.findByUserId(
+                userDAO.findByUsername("bulkuser").get().getId()).get(0).getId());
+        assertEquals(10_000, firstProjectTasks.size());
+        assertEquals(TaskStatus.TODO, firstProjectTasks.get(0).getStatus());
+    }
+
+    @Test
+    void testLoad_EscapesCsvValues() {
+        //arrange
+        User user = userDAO.save(new User("csvuser", "csv@test.com"));
+        Project project = new Project(user.getId(), "Nome, con \"virgolette\"", "riga 1\nriga 2");
+        Project emptyDescription = new Project(user.getId(), "Vuota", "");
+
+        //act
+        try (BulkLoader loader = new BulkLoader()) {
+            loader.loadProjects(Stream.of(project, emptyDescription));
+        }
+
+        //assert - stringa vuota e NULL restano distinti
+        Project loaded = projectDAO.findById(project.getId()).get();
+        assertEquals("Nome, con \"virgolette\"", loaded.getName());
+        assertEquals("riga 1\nriga 2", loaded.getDescription());
+        assertEquals("", projectDAO.findById(emptyDescription.getId()).get().getDescription());
+    }
+
+    @Test
+    void testLoad_FailureLoadsNothing() {
+        //arrange - progetto inesistente: la foreign key fa fallire l'intero COPY
+        User user = userDAO.save(new User("failuser", "fail@test.com"));
+        Project project = projectDAO.save(new Project(user.getId(), "Progetto", null));
+        Stream<Task> tasks = Stream.of(
+                new Task(project.getId(), "Valida", null, Priority.LOW, null),
+                new Task(-1L, "Orfana", null, Priority.LOW, null));
+
+        //act & assert
+        try (BulkLoader loader = new BulkLoader()) {
+            assertThrows(RuntimeException.class, () -> loader.loadTasks(tasks));
+        }
+        assertTrue(taskDAO.findByProjectId(project.getId()).isEmpty());
+    }
+}
\ No newline at end of file
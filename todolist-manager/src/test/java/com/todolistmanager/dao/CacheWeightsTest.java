@@ -0,0 +1,38 @@
+package com.todolistmanager.dao;
+
+import com.todolistmanager.model.Priority;
+import com.todolistmanager.model.Task;
+import com.todolistmanager.model.TaskStatus;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+//unit test CacheWeights
+class CacheWeightsTest {
+
+    @Test
+    void testString_CompactAndUtf16() {
+        assertEquals(0, CacheWeights.string(null));
+        assertEquals(CacheWeights.string("") + 16, CacheWeights.string("abcdefghijklmnop"));
+        //un carattere fuori da Latin-1 raddoppia il peso dei caratteri
+        assertEquals(CacheWeights.string("") + 32, CacheWeights.string("abcdefghijklmno€"));
+    }
+
+    @Test
+    void testTask_GrowsWithDescription() {
+        //arrange
+        Task small = new Task(1L, 10L, "Task", null, TaskStatus.TODO, Priority.LOW, null);
+        Task large = new Task(1L, 10L, "Task", "d".repeat(10_000), TaskStatus.TODO, Priority.LOW, null);
+
+        //act
+        long smallWeight = CacheWeights.TASK.weigh(1L, small);
+        long largeWeight = CacheWeights.TASK.weigh(1L, large);
+
+        //assert
+        assertTrue(largeWeight - smallWeight >= 10_000);
+        assertEquals(CacheWeights.TASK_LIST.weigh(10L, List.of(small, large)) - CacheWeights.TASK_LIST.weigh(10L, List.of()),
+                     smallWeight + largeWeight - 2 * 16 + 2 * 4);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,177 @@
+package com.todolistmanager.dao;
+
+import com.todolistmanager.model.Priority;
+import com.todolistmanager.model.Project;
+import com.todolistmanager.model.ProjectSummary;
+import com.todolistmanager.model.Task;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+//unit test CachingProjectDAO - DAO sottostante mockato
+@ExtendWith(MockitoExtension.class)
+class CachingProjectDAOTest {
+
+    @Mock
+    private ProjectDAO delegate;
+
+    private CachingProjectDAO cachingDAO;
+    private Project project;
+
+    @BeforeEach
+    void setUp() {
+        cachingDAO = new CachingProjectDAO(delegate, 10, Duration.ofMinutes(1));
+        project = new Project(1L, 5L, "Progetto", "Desc");
+        project.setCreatedAt(LocalDateTime.now().minusDays(1));
+    }
+
+    @Test
+    void testFindByUserId_SecondReadFromCache() {
+        //arrange
+        when(delegate.findByUserId(5L)).thenReturn(List.of(project));
+
+        //act
+        cachingDAO.findByUserId(5L);
+        List<Project> second = cachingDAO.findByUserId(5L);
+
+        //assert - una sola lettura, copie indipendenti
+        verify(delegate, times(1)).findByUserId(5L);
+        assertEquals("Progetto", second.get(0).getName());
+        assertNotSame(project, second.get(0));
+        assertEquals(1, cachingDAO.getStats().getHits());
+    }
+
+    @Test
+    void testOnProjectCreated_WritesThroughAtHead() {
+        //arrange
+        when(delegate.findByUserId(5L)).thenReturn(List.of(project));
+        cachingDAO.findByUserId(5L);
+
+        //act
+        cachingDAO.onProjectCreated(new Project(2L, 5L, "Nuovo", null));
+        List<Project> projects = cachingDAO.findByUserId(5L);
+
+        //assert
+        verify(delegate, times(1)).findByUserId(5L);
+        assertEquals(List.of(2L, 1L), projects.stream().map(Project::getId).toList());
+    }
+
+    @Test
+    void testUpdate_CacheUnchangedUntilNotified() {
+        //arrange - update in una transazione che poi viene annullata: nessuna notifica
+        when(delegate.findByUserId(5L)).thenReturn(List.of(project));
+        cachingDAO.findByUserId(5L);
+
+        //act
+        cachingDAO.update(new Project(1L, 5L, "Mai confermato", "Desc"));
+
+        //assert
+        assertEquals("Progetto", cachingDAO.findByUserId(5L).get(0).getName());
+        verify(delegate).update(any(Project.class));
+    }
+
+    @Test
+    void testOnProjectUpdated_WritesThrough() {
+        //arrange
+        when(delegate.findByUserId(5L)).thenReturn(List.of(project));
+        cachingDAO.findByUserId(5L);
+        Project changed = new Project(1L, 5L, "Rinominato", "Desc");
+
+        //act
+        cachingDAO.onProjectUpdated(changed);
+
+        //assert
+        assertEquals("Rinominato", cachingDAO.findByUserId(5L).get(0).getName());
+        verify(delegate, times(1)).findByUserId(5L);
+    }
+
+    @Test
+    void testOnProjectDeleted_RemovesFromCachedList() {
+        //arrange
+        when(delegate.findByUserId(5L)).thenReturn(List.of(project));
+        cachingDAO.findByUserId(5L);
+
+        //act
+        cachingDAO.onProjectDeleted(project);
+
+        //assert
+        assertTrue(cachingDAO.findByUserId(5L).isEmpty());
+        verify(delegate, times(1)).findByUserId(5L);
+    }
+
+    @Test
+    void testOnProjectDeleted_UpdatesCountAndInvalidatesPages() {
+        //arrange
+        when(delegate.findByUserId(5L, null, 20))
+                .thenReturn(new Page<>(List.of(project), null))
+                .thenReturn(new Page<>(List.of(), null));
+        when(delegate.countByUserId(5L)).thenReturn(1);
+        cachingDAO.findByUserId(5L, null, 20);
+        cachingDAO.countByUserId(5L);
+
+        //act
+        cachingDAO.onProjectDeleted(project);
+
+        //assert
+        assertTrue(cachingDAO.findByUserId(5L, null, 20).isEmpty());
+        assertEquals(0, cachingDAO.countByUserId(5L));
+        verify(delegate, times(2)).findByUserId(5L, null, 20);
+        verify(delegate, times(1)).countByUserId(5L);
+    }
+
+    @Test
+    void testFindByUserIdPage_ReturnsCopies() {
+        //arrange
+        when(delegate.findByUserId(5L, "token", 20)).thenReturn(new Page<>(List.of(project), "next"));
+        cachingDAO.findByUserId(5L, "token", 20);
+
+        //act
+        Page<Project> page = cachingDAO.findByUserId(5L, "token", 20);
+        page.getItems().get(0).setName("Modificato dal chiamante");
+
+        //assert
+        assertEquals("next", page.getNextPageToken());
+        assertEquals("Progetto", cachingDAO.findByUserId(5L, "token", 20).getItems().get(0).getName());
+        verify(delegate, times(1)).findByUserId(5L, "token", 20);
+        assertEquals(2, cachingDAO.getPageStats().getHits());
+    }
+
+    @Test
+    void testOnTaskCreated_InvalidatesSummariesWithProject() {
+        //arrange
+        when(delegate.findSummariesByUserId(5L))
+                .thenReturn(List.of(new ProjectSummary(1L, "Progetto", 0)))
+                .thenReturn(List.of(new ProjectSummary(1L, "Progetto", 1)));
+        cachingDAO.findSummariesByUserId(5L);
+
+        //act
+        cachingDAO.onTaskCreated(new Task(1L, "Task", null, Priority.LOW, null));
+
+        //assert - il numero di task viene riletto
+        assertEquals(1, cachingDAO.findSummariesByUserId(5L).get(0).taskCount());
+        verify(delegate, times(2)).findSummariesByUserId(5L);
+    }
+
+    @Test
+    void testOnUserDeleted_InvalidatesList() {
+        //arrange
+        when(delegate.findByUserId(5L)).thenReturn(List.of(project)).thenReturn(List.of());
+        cachingDAO.findByUserId(5L);
+
+        //act
+        cachingDAO.onUserDeleted(5L);
+
+        //assert - la lista viene riletta
+        assertTrue(cachingDAO.findByUserId(5L).isEmpty());
+        verify(delegate, times(2)).findByUserId(5L);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,231 @@
+package com.todolistmanager.dao;
+
+import com.todolistmanager.model.Priority;
+import com.todolistmanager.model.Project;
+import com.todolistmanager.model.StatisticsSnapshot.TaskCounts;
+import com.todolistmanager.model.Task;
+import com.todolistmanager.model.TaskStatus;
+import com.todolistmanager.model.TaskSummary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+//unit test CachingTaskDAO - DAO sottostante mockato
+@ExtendWith(MockitoExtension.class)
+class CachingTaskDAOTest {
+
+    @Mock
+    private TaskDAO delegate;
+
+    private CachingTaskDAO cachingDAO;
+    private Task task;
+
+    @BeforeEach
+    void setUp() {
+        cachingDAO = new CachingTaskDAO(delegate, 10, Duration.ofMinutes(1));
+        task = new Task(1L, 10L, "Test Task", "Desc", TaskStatus.TODO, Priority.HIGH, null);
+    }
+
+    @Test
+    void testFindById_SecondReadFromCache() {
+        //arrange
+        when(delegate.findById(1L)).thenReturn(Optional.of(task));
+
+        //act
+        Task first = cachingDAO.findById(1L).get();
+        Task second = cachingDAO.findById(1L).get();
+
+        //assert - una sola lettura, copie indipendenti
+        verify(delegate, times(1)).findById(1L);
+        assertEquals("Test Task", second.getTitle());
+        assertNotSame(first, second);
+        assertEquals(1, cachingDAO.getByIdStats().getHits());
+        assertEquals(1, cachingDAO.getByIdStats().getMisses());
+    }
+
+    @Test
+    void testFindById_CallerChangesDoNotLeakIntoCache() {
+        //arrange
+        when(delegate.findById(1L)).thenReturn(Optional.of(task));
+        cachingDAO.findById(1L).get().setTitle("Modificata");
+
+        //act & assert
+        assertEquals("Test Task", cachingDAO.findById(1L).get().getTitle());
+    }
+
+    @Test
+    void testProjectViewReads_SecondReadFromCache() {
+        //arrange - letture di TaskView: pagina, riepiloghi e conteggi del progetto
+        when(delegate.findByProjectId(10L, null, 20)).thenReturn(new Page<>(List.of(task), "next"));
+        when(delegate.findSummariesByProjectId(10L)).thenReturn(List.of(summary(task)));
+        when(delegate.countByProjectId(10L)).thenReturn(new TaskCounts(1, 0, 0, 0, 0));
+
+        //act
+        readProject(10L);
+        Page<Task> page = cachingDAO.findByProjectId(10L, null, 20);
+        page.getItems().get(0).setTitle("Modificata");
+        readProject(10L);
+
+        //assert - una sola lettura per tipo, copie indipendenti
+        verify(delegate, times(1)).findByProjectId(10L, null, 20);
+        verify(delegate, times(1)).findSummariesByProjectId(10L);
+        verify(delegate, times(1)).countByProjectId(10L);
+        assertEquals("Test Task", cachingDAO.findByProjectId(10L, null, 20).getItems().get(0).getTitle());
+        assertEquals("next", page.getNextPageToken());
+        assertEquals(3, cachingDAO.getPageStats().getHits());
+    }
+
+    @Test
+    void testUpdateStatus_InvalidatesTaskAndItsProject() {
+        //arrange
+        Task other = new Task(2L, 20L, "Other", null, TaskStatus.TODO, Priority.LOW, null);
+        stubProject(10L, task);
+        stubProject(20L, other);
+        when(delegate.findById(1L)).thenReturn(Optional.of(task));
+        when(delegate.updateStatus(1L, TaskStatus.DONE)).thenReturn(Optional.of(task));
+        cachingDAO.findById(1L);
+        readProject(10L);
+        readProject(20L);
+
+        //act
+        cachingDAO.updateStatus(1L, TaskStatus.DONE);
+        cachingDAO.findById(1L);
+        readProject(10L);
+        readProject(20L);
+
+        //assert - il progetto 20 resta in cache
+        verify(delegate, times(2)).findById(1L);
+        verifyProjectReads(10L, 2);
+        verifyProjectReads(20L, 1);
+    }
+
+    @Test
+    void testDelete_UsesCachedTaskToFindProject() {
+        //arrange
+        Task other = new Task(2L, 20L, "Other", null, TaskStatus.TODO, Priority.LOW, null);
+        stubProject(10L, task);
+        stubProject(20L, other);
+        when(delegate.findById(1L)).thenReturn(Optional.of(task));
+        cachingDAO.findById(1L);
+        readProject(10L);
+        readProject(20L);
+
+        //act
+        cachingDAO.delete(1L);
+        readProject(10L);
+        readProject(20L);
+
+        //assert - solo le voci del progetto della task
+        verifyProjectReads(10L, 2);
+        verifyProjectReads(20L, 1);
+    }
+
+    @Test
+    void testDelete_UnknownTaskFoundInCachedPages() {
+        //arrange - task mai letta per id: il progetto si ricava dalle pagine in cache
+        Task other = new Task(2L, 20L, "Other", null, TaskStatus.TODO, Priority.LOW, null);
+        stubProject(10L, task);
+        stubProject(20L, other);
+        readProject(10L);
+        readProject(20L);
+
+        //act
+        cachingDAO.delete(1L);
+        readProject(10L);
+        readProject(20L);
+
+        //assert - i conteggi non contengono id: si rileggono per entrambi i progetti
+        verify(delegate, times(2)).findByProjectId(10L, null, 20);
+        verify(delegate, times(2)).findSummariesByProjectId(10L);
+        verify(delegate, times(1)).findByProjectId(20L, null, 20);
+        verify(delegate, times(1)).findSummariesByProjectId(20L);
+        verify(delegate, times(2)).countByProjectId(20L);
+    }
+
+    @Test
+    void testOnProjectDeleted_InvalidatesCascadedTasks() {
+        //arrange
+        stubProject(10L, task);
+        when(delegate.findById(1L)).thenReturn(Optional.of(task));
+        cachingDAO.findById(1L);
+        readProject(10L);
+
+        //act
+        cachingDAO.onProjectDeleted(new Project(10L, 5L, "Progetto", null));
+        cachingDAO.findById(1L);
+        readProject(10L);
+
+        //assert
+        verify(delegate, times(2)).findById(1L);
+        verifyProjectReads(10L, 2);
+    }
+
+    @Test
+    void testOnUserDeleted_InvalidatesAll() {
+        //arrange
+        stubProject(10L, task);
+        when(delegate.findById(1L)).thenReturn(Optional.of(task));
+        cachingDAO.findById(1L);
+        readProject(10L);
+
+        //act
+        cachingDAO.onUserDeleted(5L);
+        cachingDAO.findById(1L);
+        readProject(10L);
+
+        //assert
+        verify(delegate, times(2)).findById(1L);
+        verifyProjectReads(10L, 2);
+    }
+
+    @Test
+    void testSaveAndDelete_InvalidateProject() {
+        //arrange
+        stubProject(10L, task);
+        when(delegate.save(any(Task.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(delegate.findById(1L)).thenReturn(Optional.of(task));
+        cachingDAO.findById(1L);
+        readProject(10L);
+
+        //act
+        cachingDAO.save(new Task(10L, "New Task", null, Priority.LOW, null));
+        readProject(10L);
+        cachingDAO.delete(1L);
+        readProject(10L);
+
+        //assert
+        verifyProjectReads(10L, 3);
+        verify(delegate).delete(1L);
+    }
+
+    private void stubProject(Long projectId, Task task) {
+        when(delegate.findByProjectId(projectId, null, 20)).thenReturn(new Page<>(List.of(task), null));
+        when(delegate.findSummariesByProjectId(projectId)).thenReturn(List.of(summary(task)));
+        when(delegate.countByProjectId(projectId)).thenReturn(new TaskCounts(1, 0, 0, 0, 0));
+    }
+
+    private void readProject(Long projectId) {
+        cachingDAO.findByProjectId(projectId, null, 20);
+        cachingDAO.findSummariesByProjectId(projectId);
+        cachingDAO.countByProjectId(projectId);
+    }
+
+    private void verifyProjectReads(Long projectId, int times) {
+        verify(delegate, times(times)).findByProjectId(projectId, null, 20);
+        verify(delegate, times(times)).findSummariesByProjectId(projectId);
+        verify(delegate, times(times)).countByProjectId(projectId);
+    }
+
+    private static TaskSummary summary(Task task) {
+        return new TaskSummary(task.getId(), task.getTitle(), task.getStatus(), task.getPriority(), task.getDeadline());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,204 @@
+package com.todolistmanager.dao;
+
+import com.todolistmanager.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+//unit test CachingUserDAO - DAO sottostante mockato
+@ExtendWith(MockitoExtension.class)
+class CachingUserDAOTest {
+
+    @Mock
+    private UserDAO delegate;
+
+    private CachingUserDAO cachingDAO;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = new User(1L, "mario", "mario@test.com");
+        when(delegate.count()).thenReturn(1);
+        when(delegate.streamAll()).thenReturn(Stream.of(user));
+        //ricostruzioni eseguite subito nel thread del test
+        cachingDAO = new CachingUserDAO(delegate, 10, Duration.ofMinutes(1), null,
+                Duration.ofMinutes(5), System::nanoTime, Runnable::run);
+    }
+
+    @Test
+    void testFindByUsername_UnknownUsernameSkipsQuery() {
+        //act
+        Optional<User> result = cachingDAO.findByUsername("luigi");
+
+        //assert
+        assertTrue(result.isEmpty());
+        verify(delegate, never()).findByUsername(anyString());
+        assertEquals(1, cachingDAO.getFilterSkips());
+    }
+
+    @Test
+    void testFindByUsername_SecondReadFromCache() {
+        //arrange
+        when(delegate.findByUsername("mario")).thenReturn(Optional.of(user));
+
+        //act
+        User first = cachingDAO.findByUsername("mario").get();
+        User second = cachingDAO.findByUsername("mario").get();
+
+        //assert - una sola lettura, copie indipendenti
+        verify(delegate, times(1)).findByUsername("mario");
+        assertEquals("mario@test.com", second.getEmail());
+        assertNotSame(first, second);
+        assertEquals(1, cachingDAO.getStats().getHits());
+    }
+
+    @Test
+    void testInsertIfAbsent_NewUsernameFoundWithoutQuery() {
+        //arrange
+        User created = new User(2L, "luigi", "luigi@test.com");
+        when(delegate.insertIfAbsent(any(User.class))).thenReturn(Optional.of(created));
+
+        //act
+        cachingDAO.insertIfAbsent(new User("luigi", "luigi@test.com"));
+        Optional<User> result = cachingDAO.findByUsername("luigi");
+
+        //assert
+        assertEquals(2L, result.get().getId());
+        verify(delegate, never()).findByUsername(anyString());
+    }
+
+    @Test
+    void testFindByUsername_ExpiredFilterIsRebuilt() {
+        //arrange - "luigi" creato per altra via dopo la costruzione del filtro
+        User luigi = new User(2L, "luigi", "luigi@test.com");
+        when(delegate.streamAll()).thenReturn(Stream.of(user)).thenReturn(Stream.of(user, luigi));
+        when(delegate.findByUsername("luigi")).thenReturn(Optional.of(luigi));
+        AtomicLong clock = new AtomicLong();
+        cachingDAO = new CachingUserDAO(delegate, 10, Duration.ofMinutes(1), null,
+                Duration.ofMinutes(5), clock::get, Runnable::run);
+
+        //act - la prima ricerca dopo la scadenza avvia la ricostruzione e risponde col filtro precedente
+        Optional<User> beforeExpiry = cachingDAO.findByUsername("luigi");
+        clock.addAndGet(Duration.ofMinutes(5).toNanos());
+        Optional<User> triggeringRebuild = cachingDAO.findByUsername("luigi");
+        Optional<User> afterRebuild = cachingDAO.findByUsername("luigi");
+
+        //assert - il falso negativo dura al più l'età massima del filtro più la scansione
+        assertTrue(beforeExpiry.isEmpty());
+        assertTrue(triggeringRebuild.isEmpty());
+        assertEquals(2L, afterRebuild.get().getId());
+        assertEquals(2, cachingDAO.getFilterSkips());
+    }
+
+    @Test
+    void testFindByUsername_DoesNotWaitForRebuild() throws Exception {
+        //arrange - la scansione della ricostruzione resta bloccata finché il test non la rilascia
+        User luigi = new User(2L, "luigi", "luigi@test.com");
+        CountDownLatch scanStarted = new CountDownLatch(1);
+        CountDownLatch releaseScan = new CountDownLatch(1);
+        when(delegate.streamAll()).thenReturn(Stream.of(user)).thenAnswer(invocation -> {
+            scanStarted.countDown();
+            assertTrue(releaseScan.await(5, TimeUnit.SECONDS));
+            return Stream.of(user, luigi);
+        });
+        when(delegate.findByUsername("luigi")).thenReturn(Optional.of(luigi));
+        List<Thread> rebuilds = new ArrayList<>();
+        Executor executor = runnable -> {
+            Thread thread = new Thread(runnable);
+            rebuilds.add(thread);
+            thread.start();
+        };
+        AtomicLong clock = new AtomicLong();
+        cachingDAO = new CachingUserDAO(delegate, 10, Duration.ofMinutes(1), null,
+                Duration.ofMinutes(5), clock::get, executor);
+        rebuilds.get(0).join();
+
+        //act - scadenza: la ricostruzione parte in background e resta bloccata
+        clock.addAndGet(Duration.ofMinutes(5).toNanos());
+        Optional<User> triggeringRebuild = assertTimeoutPreemptively(Duration.ofSeconds(1),
+                () -> cachingDAO.findByUsername("luigi"));
+        assertTrue(scanStarted.await(5, TimeUnit.SECONDS));
+        Optional<User> duringRebuild = assertTimeoutPreemptively(Duration.ofSeconds(1),
+                () -> cachingDAO.findByUsername("luigi"));
+        releaseScan.countDown();
+        rebuilds.get(1).join();
+
+        //assert - durante la scansione risponde il filtro precedente, poi quello nuovo
+        assertTrue(triggeringRebuild.isEmpty());
+        assertTrue(duringRebuild.isEmpty());
+        assertEquals(2, rebuilds.size());
+        assertEquals(2L, cachingDAO.findByUsername("luigi").get().getId());
+    }
+
+    @Test
+    void testFindByUsername_BeforeFirstFilterAsksDatabase() {
+        //arrange - la prima scansione non è ancora stata eseguita
+        List<Runnable> pending = new ArrayList<>();
+        cachingDAO = new CachingUserDAO(delegate, 10, Duration.ofMinutes(1), null,
+                Duration.ofMinutes(5), System::nanoTime, pending::add);
+        when(delegate.findByUsername("luigi")).thenReturn(Optional.empty());
+
+        //act
+        Optional<User> result = cachingDAO.findByUsername("luigi");
+
+        //assert - nessun falso negativo senza filtro, una sola ricostruzione in coda
+        assertTrue(result.isEmpty());
+        verify(delegate).findByUsername("luigi");
+        assertEquals(1, pending.size());
+    }
+
+    @Test
+    void testRebuild_KeepsUsernamesWrittenDuringScan() {
+        //arrange - durante la scansione un altro utente viene salvato
+        User luigi = new User(2L, "luigi", "luigi@test.com");
+        User peach = new User(3L, "peach", "peach@test.com");
+        when(delegate.save(any(User.class))).thenReturn(peach);
+        when(delegate.findByUsername("luigi")).thenReturn(Optional.of(luigi));
+        when(delegate.findByUsername("peach")).thenReturn(Optional.of(peach));
+        when(delegate.streamAll()).thenReturn(Stream.of(user)).thenAnswer(invocation -> {
+            cachingDAO.save(new User("peach", "peach@test.com"));
+            return Stream.of(user, luigi);
+        });
+        cachingDAO = new CachingUserDAO(delegate, 10, Duration.ofMinutes(1), null,
+                Duration.ofMinutes(5), System::nanoTime, Runnable::run);
+
+        //act
+        cachingDAO.rebuild();
+
+        //assert - entrambi nel nuovo filtro
+        assertEquals(3L, cachingDAO.findByUsername("peach").get().getId());
+        assertEquals(2L, cachingDAO.findByUsername("luigi").get().getId());
+        assertEquals(0, cachingDAO.getFilterSkips());
+    }
+
+    @Test
+    void testDelete_InvalidatesCachedUser() {
+        //arrange
+        when(delegate.findByUsername("mario")).thenReturn(Optional.of(user)).thenReturn(Optional.empty());
+        cachingDAO.findByUsername("mario");
+
+        //act
+        cachingDAO.delete(1L);
+        Optional<User> result = cachingDAO.findByUsername("mario");
+
+        //assert - lo username resta nel filtro, la conferma arriva dal database
+        assertTrue(result.isEmpty());
+        verify(delegate).delete(1L);
+        verify(delegate, times(2)).findByUsername("mario");
+    }
+}
\ No newline at end of file
@@ -0,0 +1,60 @@
+package com.todolistmanager.dao;
+
+import com.todolistmanager.db.ConnectionPool;
+import com.todolistmanager.db.DBConnection;
+import org.junit.jupiter.api.*;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+//integration test CursorStreams - database PostgreSQL reale
+class CursorStreamsTest {
+
+    private static ConnectionPool pool;
+
+    @BeforeAll
+    static void setUpDatabase() {
+        pool = DBConnection.getInstance().getPool();
+    }
+
+    private static void assertConnectionReturned(int activeBefore) throws SQLException {
+        assertEquals(activeBefore, pool.getActiveConnections());
+        try (Connection conn = DBConnection.getInstance().getReadConnection()) {
+            assertTrue(conn.getAutoCommit());
+        }
+    }
+
+    @Test
+    void testClose_ReturnsConnectionWithAutoCommit() throws SQLException {
+        //arrange
+        int activeBefore = pool.getActiveConnections();
+
+        //act - lettura parziale, il cursore resta aperto fino alla chiusura dello stream
+        try (Stream<Integer> rows = CursorStreams.stream("SELECT generate_series(1, 10)", pstmt -> { }, rs -> rs.getInt(1))) {
+            Iterator<Integer> iterator = rows.iterator();
+            assertEquals(1, iterator.next());
+            assertEquals(activeBefore + 1, pool.getActiveConnections());
+        }
+
+        //assert
+        assertConnectionReturned(activeBefore);
+    }
+
+    @Test
+    void testOpenFailure_ReturnsConnectionWithAutoCommit() throws SQLException {
+        //arrange
+        int activeBefore = pool.getActiveConnections();
+
+        //act - la query fallisce dentro la transazione del cursore
+        RuntimeException e = assertThrows(RuntimeException.class,
+                () -> CursorStreams.stream("SELECT 1 / 0", pstmt -> { }, rs -> rs.getInt(1)));
+
+        //assert
+        assertEquals("Errore nell'apertura del cursore", e.getMessage());
+        assertConnectionReturned(activeBefore);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,36 @@
+package com.todolistmanager.dao;
+
+import org.junit.jupiter.api.Test;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+//unit test InsertChunks
+class InsertChunksTest {
+
+    @Test
+    void testSplit_FixedSizes() {
+        //act
+        List<List<Integer>> chunks = InsertChunks.split(Collections.nCopies(1234, 0));
+
+        //assert
+        assertEquals(List.of(500, 500, 100, 100, 10, 10, 10, 1, 1, 1, 1),
+                     chunks.stream().map(List::size).toList());
+    }
+
+    @Test
+    void testGeneratedIds_MissingRowFails() throws SQLException {
+        //arrange - RETURNING con una riga in meno
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.next()).thenReturn(true).thenReturn(false);
+        when(rs.getLong("id")).thenReturn(7L);
+
+        //act & assert
+        assertThrows(SQLException.class, () -> InsertChunks.generatedIds(rs, 2));
+    }
+}
\ No newline at end of file
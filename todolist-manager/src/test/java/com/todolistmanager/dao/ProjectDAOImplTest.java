@@ -1,7 +1,10 @@
 package com.todolistmanager.dao;
 
 import com.todolistmanager.db.DBConnection;
+import com.todolistmanager.model.Priority;
 import com.todolistmanager.model.Project;
+import com.todolistmanager.model.ProjectSummary;
+import com.todolistmanager.model.Task;
 import com.todolistmanager.model.User;
 import org.junit.jupiter.api.*;
 
@@ -60,6 +63,7 @@ class ProjectDAOImplTest {
         stmt.execute("SET session_replication_role = 'origin';");
         
         stmt.close();
+        conn.close(); //restituisce la connessione al pool
     }
 
     //test save
@@ -92,6 +96,42 @@ class ProjectDAOImplTest {
         assertNull(savedProject.getDescription());
     }
 
+    @Test
+    @Order(2)
+    void testFindByUserId_Pages() {
+        //arrange
+        for (int i = 0; i < 3; i++) {
+            projectDAO.save(new Project(testUser.getId(), "Paged " + i, null));
+        }
+
+        //act
+        Page<Project> first = projectDAO.findByUserId(testUser.getId(), null, 2);
+        Page<Project> second = projectDAO.findByUserId(testUser.getId(), first.getNextPageToken(), 2);
+
+        //assert
+        assertTrue(first.hasNext());
+        assertEquals(List.of("Paged 2", "Paged 1"), first.getItems().stream().map(Project::getName).toList());
+        assertEquals(List.of("Paged 0"), second.getItems().stream().map(Project::getName).toList());
+        assertNull(second.getNextPageToken());
+    }
+
+    @Test
+    @Order(2)
+    void testSaveAll_AssignsIds() {
+        //arrange
+        List<Project> projects = List.of(
+            new Project(testUser.getId(), "Batch One", "Desc"),
+            new Project(testUser.getId(), "Batch Two", null));
+
+        //act
+        projectDAO.saveAll(projects);
+
+        //assert
+        assertEquals(2, projectDAO.countByUserId(testUser.getId()));
+        assertEquals("Batch One", projectDAO.findById(projects.get(0).getId()).get().getName());
+        assertEquals("Batch Two", projectDAO.findById(projects.get(1).getId()).get().getName());
+    }
+
     //test update
     @Test
     @Order(3)
@@ -114,6 +154,27 @@ class ProjectDAOImplTest {
         assertEquals("Updated Description", updatedProject.get().getDescription());
     }
 
+    @Test
+    @Order(3)
+    void testUpdate_WritesOnlyChangedColumns() {
+        //arrange - due copie dello stesso progetto modificate su campi diversi
+        Project savedProject = projectDAO.save(testProject);
+        Project first = projectDAO.findById(savedProject.getId()).get();
+        Project second = projectDAO.findById(savedProject.getId()).get();
+        first.setName("Renamed");
+        second.setDescription("Redescribed");
+
+        //act
+        projectDAO.update(first);
+        projectDAO.update(second);
+
+        //assert - nessuna delle due sovrascrive l'altra
+        Project updatedProject = projectDAO.findById(savedProject.getId()).get();
+        assertEquals("Renamed", updatedProject.getName());
+        assertEquals("Redescribed", updatedProject.getDescription());
+        assertFalse(first.isDirty());
+    }
+
     
     //test find project
     
@@ -167,6 +228,26 @@ class ProjectDAOImplTest {
         }
     }
 
+    @Test
+    @Order(6)
+    void testFindSummariesByUserId_CountsTasks() {
+        //arrange - un progetto con due task, uno vuoto
+        Project savedProject = projectDAO.save(testProject);
+        Project emptyProject = projectDAO.save(new Project(testUser.getId(), "Empty Project", null));
+        TaskDAO taskDAO = new TaskDAOImpl();
+        taskDAO.saveAll(List.of(
+                new Task(savedProject.getId(), "Task 1", null, Priority.HIGH, null),
+                new Task(savedProject.getId(), "Task 2", null, Priority.LOW, null)));
+
+        //act
+        List<ProjectSummary> summaries = projectDAO.findSummariesByUserId(testUser.getId());
+
+        //assert - più recente per primo
+        assertEquals(List.of(
+                new ProjectSummary(emptyProject.getId(), "Empty Project", 0),
+                new ProjectSummary(savedProject.getId(), "Test Project", 2)), summaries);
+    }
+
     @Test
     @Order(7)
     void testFindByUserId_NoProjects() {
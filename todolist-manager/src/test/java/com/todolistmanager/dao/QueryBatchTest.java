@@ -0,0 +1,88 @@
+package com.todolistmanager.dao;
+
+import com.todolistmanager.db.DBConnection;
+import com.todolistmanager.model.*;
+import org.junit.jupiter.api.*;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+//integration test QueryBatch - database PostgreSQL reale
+class QueryBatchTest {
+
+    private static UserDAO userDAO;
+    private static ProjectDAO projectDAO;
+    private static TaskDAO taskDAO;
+
+    @BeforeAll
+    static void setUpDatabase() throws SQLException {
+        DBConnection.getInstance();
+        userDAO = new UserDAOImpl();
+        projectDAO = new ProjectDAOImpl();
+        taskDAO = new TaskDAOImpl();
+        cleanDatabase();
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        cleanDatabase();
+    }
+
+    private static void cleanDatabase() throws SQLException {
+        try (Connection conn = DBConnection.getInstance().getConnection();
+             Statement stmt = conn.createStatement()) {
+            stmt.execute("DELETE FROM tasks");
+            stmt.execute("DELETE FROM projects");
+            stmt.execute("DELETE FROM users");
+        }
+    }
+
+    @Test
+    void testExecute_EachResultToItsMapper() {
+        //arrange
+        User user = userDAO.save(new User("batchuser", "batch@test.com"));
+        Project project = projectDAO.save(new Project(user.getId(), "Batch Project", null));
+        Task done = new Task(project.getId(), "Done", null, Priority.HIGH, null);
+        done.setStatus(TaskStatus.DONE);
+        taskDAO.saveAll(List.of(done, new Task(project.getId(), "Todo", null, Priority.LOW, null)));
+
+        QueryBatch batch = new QueryBatch();
+        QueryBatch.Result<Integer> count = batch.add(
+                "SELECT COUNT(*) FROM tasks WHERE project_id = ?", rs -> rs.getInt(1), project.getId());
+        QueryBatch.Result<String> titles = batch.add(
+                "SELECT title FROM tasks WHERE project_id = ? AND status = ? ORDER BY id",
+                rs -> rs.getString("title"), project.getId(), TaskStatus.DONE);
+        QueryBatch.Result<String> names = batch.add(
+                "SELECT name FROM projects WHERE user_id = ?", rs -> rs.getString(1), user.getId());
+        QueryBatch.Result<String> missing = batch.add(
+                "SELECT name FROM projects WHERE id = ?", rs -> rs.getString(1), -1L);
+
+        //act
+        batch.execute();
+
+        //assert - parametri numerati sull'intero batch, nell'ordine delle query
+        assertEquals(2, count.first().get());
+        assertEquals(List.of("Done"), titles.list());
+        assertEquals(List.of("Batch Project"), names.list());
+        assertTrue(missing.first().isEmpty());
+    }
+
+    @Test
+    void testInvalidUse() {
+        //arrange
+        QueryBatch batch = new QueryBatch();
+        QueryBatch.Result<Integer> result = batch.add("SELECT 1", rs -> rs.getInt(1));
+
+        //act & assert
+        assertThrows(IllegalStateException.class, result::list);
+        assertThrows(IllegalArgumentException.class, () -> batch.add("SELECT 1; SELECT 2", rs -> rs.getInt(1)));
+        batch.execute();
+        assertEquals(List.of(1), result.list());
+        assertThrows(IllegalStateException.class, batch::execute);
+        assertThrows(IllegalStateException.class, () -> batch.add("SELECT 1", rs -> rs.getInt(1)));
+    }
+}
\ No newline at end of file
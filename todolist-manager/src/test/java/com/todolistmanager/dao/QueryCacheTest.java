@@ -0,0 +1,148 @@
+package com.todolistmanager.dao;
+
+import com.todolistmanager.model.Priority;
+import com.todolistmanager.model.Project;
+import com.todolistmanager.model.Task;
+import com.todolistmanager.model.TaskStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+//unit test QueryCache - loader che contano le query
+class QueryCacheTest {
+
+    private QueryCache queryCache;
+    private Task task;
+    private final AtomicInteger queries = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        queryCache = new QueryCache(10, Duration.ofMinutes(1), null);
+        task = new Task(1L, 10L, "Task", null, TaskStatus.TODO, Priority.HIGH, LocalDate.now().minusDays(1));
+    }
+
+    @Test
+    void testFind_SecondReadFromCache() {
+        //act
+        queryCache.findByStatus(TaskStatus.TODO, loader(List.of(task)));
+        List<Task> second = queryCache.findByStatus(TaskStatus.TODO, loader(List.of(task)));
+
+        //assert - una sola query, copie indipendenti
+        assertEquals(1, queries.get());
+        assertNotSame(task, second.get(0));
+        assertEquals(1, queryCache.getStats().getHits());
+    }
+
+    @Test
+    void testOnTaskStatusChanged_InvalidatesOnlyAffectedResults() {
+        //arrange
+        queryCache.findByStatus(TaskStatus.TODO, loader(List.of(task)));
+        queryCache.findByStatus(TaskStatus.DONE, loader(List.of()));
+        queryCache.findByStatus(TaskStatus.IN_PROGRESS, loader(List.of()));
+        queryCache.findByPriority(Priority.HIGH, loader(List.of(task)));
+        queryCache.findByPriority(Priority.LOW, loader(List.of()));
+        queryCache.findOverdue(loader(List.of(task)));
+        queries.set(0);
+        Task done = new Task(1L, 10L, "Task", null, TaskStatus.DONE, Priority.HIGH, task.getDeadline());
+
+        //act
+        queryCache.onTaskStatusChanged(done);
+
+        //assert - TODO (la conteneva), DONE (ora vi rientra), HIGH e in ritardo (la contenevano) da rileggere
+        queryCache.findByStatus(TaskStatus.TODO, loader(List.of()));
+        queryCache.findByStatus(TaskStatus.DONE, loader(List.of(done)));
+        queryCache.findByPriority(Priority.HIGH, loader(List.of(done)));
+        queryCache.findOverdue(loader(List.of()));
+        assertEquals(4, queries.get());
+
+        //IN_PROGRESS e LOW restano validi
+        queryCache.findByStatus(TaskStatus.IN_PROGRESS, loader(List.of()));
+        queryCache.findByPriority(Priority.LOW, loader(List.of()));
+        assertEquals(4, queries.get());
+    }
+
+    @Test
+    void testOnTaskCreated_InvalidatesMatchingDeadlineResults() {
+        //arrange
+        LocalDate nextWeek = LocalDate.now().plusDays(7);
+        queryCache.findDueBy(nextWeek, loader(List.of()));
+        queryCache.findDueBy(LocalDate.now().minusDays(30), loader(List.of()));
+        queries.set(0);
+
+        //act
+        queryCache.onTaskCreated(task);
+
+        //assert - la nuova task scade entro la settimana, non entro 30 giorni fa
+        queryCache.findDueBy(nextWeek, loader(List.of(task)));
+        queryCache.findDueBy(LocalDate.now().minusDays(30), loader(List.of()));
+        assertEquals(1, queries.get());
+    }
+
+    @Test
+    void testOnTasksDeleted_InvalidatesResultsContainingIds() {
+        //arrange
+        queryCache.findByStatus(TaskStatus.TODO, loader(List.of(task)));
+        queryCache.findByStatus(TaskStatus.DONE, loader(List.of()));
+        queries.set(0);
+
+        //act
+        queryCache.onTasksDeleted(List.of(1L));
+
+        //assert
+        assertTrue(queryCache.findByStatus(TaskStatus.TODO, loader(List.of())).isEmpty());
+        queryCache.findByStatus(TaskStatus.DONE, loader(List.of()));
+        assertEquals(1, queries.get());
+    }
+
+    @Test
+    void testOnProjectDeleted_InvalidatesResultsWithItsTasks() {
+        //arrange
+        queryCache.findByStatus(TaskStatus.TODO, loader(List.of(task)));
+        queryCache.findByStatus(TaskStatus.DONE, loader(List.of()));
+        queries.set(0);
+
+        //act - le task del progetto 10 sono state eliminate a cascata
+        queryCache.onProjectDeleted(new Project(10L, 5L, "Progetto", null));
+
+        //assert
+        queryCache.findByStatus(TaskStatus.TODO, loader(List.of()));
+        queryCache.findByStatus(TaskStatus.DONE, loader(List.of()));
+        assertEquals(1, queries.get());
+    }
+
+    @Test
+    void testFind_QueryInvalidatedByItsPredicate() {
+        //arrange - filtri di TaskView su due progetti
+        TaskQuery todo = new TaskQuery().forProject(10L).withStatus(TaskStatus.TODO);
+        TaskQuery otherProject = new TaskQuery().forProject(20L).withStatus(TaskStatus.TODO);
+        TaskQuery done = new TaskQuery().forProject(10L).withStatus(TaskStatus.DONE);
+        queryCache.find(todo, loader(List.of(task)));
+        queryCache.find(otherProject, loader(List.of()));
+        queryCache.find(done, loader(List.of()));
+        queries.set(0);
+        Task completed = new Task(1L, 10L, "Task", null, TaskStatus.DONE, Priority.HIGH, task.getDeadline());
+
+        //act
+        queryCache.onTaskStatusChanged(completed);
+
+        //assert - TODO (la conteneva) e DONE (ora vi rientra) da rileggere, l'altro progetto resta valido
+        queryCache.find(new TaskQuery().forProject(10L).withStatus(TaskStatus.TODO), loader(List.of()));
+        queryCache.find(done, loader(List.of(completed)));
+        queryCache.find(otherProject, loader(List.of()));
+        assertEquals(2, queries.get());
+    }
+
+    private Supplier<List<Task>> loader(List<Task> result) {
+        return () -> {
+            queries.incrementAndGet();
+            return result;
+        };
+    }
+}
\ No newline at end of file
@@ -0,0 +1,123 @@
+package com.todolistmanager.dao;
+
+import com.todolistmanager.db.DBConnection;
+import com.todolistmanager.model.*;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+//benchmark del costo per riga della mappatura delle task: lettura per nome con valueOf (come i vecchi
+//mapRowToTask) contro RowMappers.TASK (indici risolti una volta, enum da tabella).
+//Riporta media, deviazione standard e intervallo sui giri misurati: una singola misura non basta per
+//confrontare i due mapper, conviene ripetere l'esecuzione e guardare se gli intervalli si sovrappongono.
+//Non è un test: si esegue a mano sul database di sviluppo dopo mvn test-compile, es.
+//java -cp target/test-classes:target/classes:<dipendenze> com.todolistmanager.dao.RowMapperBenchmark
+public class RowMapperBenchmark {
+
+    private static final int ROWS = 100_000;
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int MEASURED_ROUNDS = 10;
+
+    public static void main(String[] args) throws SQLException {
+        DBConnection.getInstance();
+        User user = new UserDAOImpl().save(new User("benchmarkuser", "benchmark@test.com"));
+        try {
+            Project project = new ProjectDAOImpl().save(new Project(user.getId(), "Benchmark", null));
+            try (BulkLoader loader = new BulkLoader()) {
+                loader.loadTasks(IntStream.range(0, ROWS).mapToObj(i -> new Task(project.getId(),
+                        "Benchmark Task " + i, "Descrizione " + i, Priority.values()[i % 3], LocalDate.now())));
+            }
+
+            //stesso ResultSet in memoria per entrambi: si misura solo la mappatura, non la rete
+            try (Connection conn = DBConnection.getInstance().getConnection();
+                 PreparedStatement pstmt = conn.prepareStatement("SELECT * FROM tasks WHERE project_id = ?",
+                         ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY)) {
+                pstmt.setLong(1, project.getId());
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    for (int i = 0; i < WARMUP_ROUNDS; i++) {
+                        byName(rs);
+                        indexed(rs);
+                    }
+                    double[] byName = new double[MEASURED_ROUNDS];
+                    double[] indexed = new double[MEASURED_ROUNDS];
+                    for (int i = 0; i < MEASURED_ROUNDS; i++) {
+                        byName[i] = (double) byName(rs) / ROWS;
+                        indexed[i] = (double) indexed(rs) / ROWS;
+                    }
+                    report("per nome + valueOf", byName);
+                    report("RowMappers.TASK   ", indexed);
+                }
+            }
+        } finally {
+            new UserDAOImpl().delete(user.getId()); //cascade su progetto e task
+        }
+    }
+
+    private static long byName(ResultSet rs) throws SQLException {
+        rs.beforeFirst();
+        long start = System.nanoTime();
+        long checksum = 0;
+        while (rs.next()) {
+            checksum += mapByName(rs).getTitle().length();
+        }
+        return elapsed(start, checksum);
+    }
+
+    private static long indexed(ResultSet rs) throws SQLException {
+        rs.beforeFirst();
+        long start = System.nanoTime();
+        long checksum = 0;
+        RowMapper<Task> mapper = RowMappers.TASK.bind(rs);
+        while (rs.next()) {
+            checksum += mapper.mapRow(rs).getTitle().length();
+        }
+        return elapsed(start, checksum);
+    }
+
+    //ns/riga per giro: media ± deviazione standard campionaria [min, max]
+    private static void report(String label, double[] rounds) {
+        double mean = Arrays.stream(rounds).average().orElseThrow();
+        double variance = Arrays.stream(rounds).map(x -> (x - mean) * (x - mean)).sum() / (rounds.length - 1);
+        System.out.printf("%s: %.1f ± %.1f ns/riga [%.1f, %.1f] su %d giri%n", label, mean, Math.sqrt(variance),
+                Arrays.stream(rounds).min().orElseThrow(), Arrays.stream(rounds).max().orElseThrow(), rounds.length);
+    }
+
+    private static long elapsed(long start, long checksum) {
+        long elapsed = System.nanoTime() - start;
+        if (checksum == 0) {
+            throw new IllegalStateException("Nessuna riga letta");
+        }
+        return elapsed;
+    }
+
+    //mappatura precedente (colonne per nome ad ogni riga), come riferimento
+    private static Task mapByName(ResultSet rs) throws SQLException {
+        Task task = new Task();
+        task.setId(rs.getLong("id"));
+        task.setProjectId(rs.getLong("project_id"));
+        task.setTitle(rs.getString("title"));
+        task.setDescription(rs.getString("description"));
+        task.setStatus(TaskStatus.valueOf(rs.getString("status")));
+        task.setPriority(Priority.valueOf(rs.getString("priority")));
+
+        Date deadline = rs.getDate("deadline");
+        if (deadline != null) {
+            task.setDeadline(deadline.toLocalDate());
+        }
+
+        Date completedAt = rs.getDate("completed_at");
+        if (completedAt != null) {
+            task.setCompletedAt(completedAt.toLocalDate());
+        }
+
+        task.setCreatedAt(rs.getTimestamp("created_at").toLocalDateTime());
+        task.clearDirty();
+        return task;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,69 @@
+package com.todolistmanager.dao;
+
+import com.todolistmanager.db.DBConnection;
+import com.todolistmanager.model.*;
+import org.junit.jupiter.api.*;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+//integration test RowMappers - colonne risolte dai metadati del risultato
+class RowMappersTest {
+
+    @BeforeAll
+    static void setUpDatabase() {
+        DBConnection.getInstance();
+    }
+
+    @Test
+    void testBind_ColumnsInAnyOrder() throws SQLException {
+        //arrange - colonne in ordine diverso da quello della tabella
+        String sql = "SELECT 'DONE' AS status, CURRENT_TIMESTAMP AS created_at, DATE '2026-01-02' AS completed_at, " +
+                     "NULL::date AS deadline, 'HIGH' AS priority, 'Desc' AS description, 'Titolo' AS title, " +
+                     "7::bigint AS project_id, 42::bigint AS id";
+
+        try (Connection conn = DBConnection.getInstance().getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql);
+             ResultSet rs = pstmt.executeQuery()) {
+
+            //act
+            RowMapper<Task> mapper = RowMappers.TASK.bind(rs);
+            assertTrue(rs.next());
+            Task task = mapper.mapRow(rs);
+
+            //assert
+            assertEquals(42L, task.getId());
+            assertEquals(7L, task.getProjectId());
+            assertEquals("Titolo", task.getTitle());
+            assertEquals(TaskStatus.DONE, task.getStatus());
+            assertEquals(Priority.HIGH, task.getPriority());
+            assertNull(task.getDeadline());
+            assertEquals(LocalDate.of(2026, 1, 2), task.getCompletedAt());
+            assertFalse(task.isDirty());
+        }
+    }
+
+    @Test
+    void testBind_MissingColumnOrUnknownEnum() throws SQLException {
+        try (Connection conn = DBConnection.getInstance().getConnection();
+             PreparedStatement missing = conn.prepareStatement("SELECT 1::bigint AS id, 'x' AS title");
+             PreparedStatement unknown = conn.prepareStatement(
+                     "SELECT 1::bigint AS id, 'x' AS title, 'ARCHIVED' AS status, 'LOW' AS priority, NULL::date AS deadline")) {
+
+            //act & assert
+            try (ResultSet rs = missing.executeQuery()) {
+                assertThrows(SQLException.class, () -> RowMappers.TASK_SUMMARY.bind(rs));
+            }
+            try (ResultSet rs = unknown.executeQuery()) {
+                RowMapper<TaskSummary> mapper = RowMappers.TASK_SUMMARY.bind(rs);
+                assertTrue(rs.next());
+                assertThrows(IllegalArgumentException.class, () -> mapper.mapRow(rs));
+            }
+        }
+    }
+}
\ No newline at end of file
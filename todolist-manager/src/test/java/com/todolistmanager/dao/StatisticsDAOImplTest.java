@@ -0,0 +1,98 @@
+package com.todolistmanager.dao;
+
+import com.todolistmanager.db.DBConnection;
+import com.todolistmanager.model.*;
+import com.todolistmanager.model.StatisticsSnapshot.ProjectStatistics;
+import org.junit.jupiter.api.*;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+//integration test StatisticsDAOImpl - database PostgreSQL reale
+class StatisticsDAOImplTest {
+
+    private static StatisticsDAO statisticsDAO;
+    private static UserDAO userDAO;
+    private static ProjectDAO projectDAO;
+    private static TaskDAO taskDAO;
+
+    @BeforeAll
+    static void setUpDatabase() throws SQLException {
+        DBConnection.getInstance();
+        statisticsDAO = new StatisticsDAOImpl();
+        userDAO = new UserDAOImpl();
+        projectDAO = new ProjectDAOImpl();
+        taskDAO = new TaskDAOImpl();
+        cleanDatabase();
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        cleanDatabase();
+    }
+
+    private static void cleanDatabase() throws SQLException {
+        try (Connection conn = DBConnection.getInstance().getConnection();
+             Statement stmt = conn.createStatement()) {
+            stmt.execute("DELETE FROM tasks");
+            stmt.execute("DELETE FROM projects");
+            stmt.execute("DELETE FROM users");
+        }
+    }
+
+    private static Task saveTask(Long projectId, TaskStatus status, LocalDate deadline) {
+        Task task = new Task(projectId, "Task " + status, null, Priority.MEDIUM, deadline);
+        task.setStatus(status);
+        return taskDAO.save(task);
+    }
+
+    @Test
+    void testFindByUserId_CountsPerProjectAndTotals() {
+        //arrange
+        User user = userDAO.save(new User("statsuser", "stats@test.com"));
+        User other = userDAO.save(new User("otheruser", "other@test.com"));
+        Project first = projectDAO.save(new Project(user.getId(), "Primo", null));
+        Project empty = projectDAO.save(new Project(user.getId(), "Vuoto", null));
+        Project foreign = projectDAO.save(new Project(other.getId(), "Altrui", null));
+
+        saveTask(first.getId(), TaskStatus.TODO, LocalDate.now().minusDays(2));   //in ritardo
+        saveTask(first.getId(), TaskStatus.TODO, null);
+        saveTask(first.getId(), TaskStatus.IN_PROGRESS, LocalDate.now().plusDays(2));
+        saveTask(first.getId(), TaskStatus.DONE, LocalDate.now().minusDays(5));   //completata: non in ritardo
+        saveTask(foreign.getId(), TaskStatus.TODO, LocalDate.now().minusDays(1)); //di un altro utente
+
+        //act
+        StatisticsSnapshot snapshot = statisticsDAO.findByUserId(user.getId());
+
+        //assert
+        assertEquals(2, snapshot.projectCount());
+        assertEquals(4, snapshot.totals().total());
+        assertEquals(2, snapshot.totals().todo());
+        assertEquals(1, snapshot.totals().inProgress());
+        assertEquals(0, snapshot.totals().paused());
+        assertEquals(1, snapshot.totals().done());
+        assertEquals(1, snapshot.totals().overdue());
+
+        ProjectStatistics emptyStats = snapshot.projects().stream()
+                .filter(p -> p.projectId().equals(empty.getId()))
+                .findFirst().orElseThrow();
+        assertEquals(0, emptyStats.counts().total());
+    }
+
+    @Test
+    void testFindByUserId_NoProjects() {
+        //arrange
+        User user = userDAO.save(new User("noprojects", "none@test.com"));
+
+        //act
+        StatisticsSnapshot snapshot = statisticsDAO.findByUserId(user.getId());
+
+        //assert
+        assertEquals(0, snapshot.projectCount());
+        assertEquals(StatisticsSnapshot.TaskCounts.EMPTY, snapshot.totals());
+    }
+}
\ No newline at end of file
@@ -8,8 +8,13 @@ import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -73,6 +78,7 @@ class TaskDAOImplTest {
         stmt.execute("SET session_replication_role = 'origin';");
         
         stmt.close();
+        conn.close(); //restituisce la connessione al pool
     }
 
     //test save
@@ -131,6 +137,27 @@ class TaskDAOImplTest {
         assertEquals(Priority.LOW, savedLow.getPriority());
     }
 
+    @Test
+    @Order(3)
+    void testSaveAll_AssignsIdsInOrder() {
+        //arrange - più righe di un blocco INSERT
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 1200; i++) {
+            tasks.add(new Task(testProject.getId(), "Batch " + i, null, Priority.LOW, null));
+        }
+
+        //act
+        List<Task> savedTasks = taskDAO.saveAll(tasks);
+
+        //assert
+        assertEquals(1200, savedTasks.size());
+        assertEquals(1200, taskDAO.countByProjectIdAndStatus(testProject.getId(), TaskStatus.TODO));
+        for (Task task : List.of(savedTasks.get(0), savedTasks.get(599), savedTasks.get(1199))) {
+            assertNotNull(task.getId());
+            assertEquals(task.getTitle(), taskDAO.findById(task.getId()).get().getTitle());
+        }
+    }
+
     //test update
     @Test
     @Order(4)
@@ -176,6 +203,123 @@ class TaskDAOImplTest {
         assertNotNull(completedTask.get().getCompletedAt());
     }
 
+    @Test
+    @Order(5)
+    void testUpdate_WritesOnlyChangedColumns() {
+        //arrange - due copie della stessa task modificate su campi diversi
+        Task savedTask = taskDAO.save(testTask);
+        Task first = taskDAO.findById(savedTask.getId()).get();
+        Task second = taskDAO.findById(savedTask.getId()).get();
+        first.setStatus(TaskStatus.DONE);
+        second.setDescription("Altra descrizione");
+        second.setDeadline(null);
+
+        //act
+        taskDAO.update(first);
+        taskDAO.update(second);
+
+        //assert - nessuna delle due sovrascrive l'altra
+        Task updatedTask = taskDAO.findById(savedTask.getId()).get();
+        assertEquals(TaskStatus.DONE, updatedTask.getStatus());
+        assertNotNull(updatedTask.getCompletedAt());
+        assertEquals("Altra descrizione", updatedTask.getDescription());
+        assertNull(updatedTask.getDeadline());
+    }
+
+    @Test
+    @Order(5)
+    void testUpdate_NoChangesSkipsWrite() {
+        //arrange - la copia caricata non viene modificata
+        Task savedTask = taskDAO.save(testTask);
+        Task unchanged = taskDAO.findById(savedTask.getId()).get();
+        unchanged.setTitle("Test Task");
+        taskDAO.updateStatus(savedTask.getId(), TaskStatus.IN_PROGRESS);
+
+        //act
+        taskDAO.update(unchanged);
+
+        //assert - lo stato scritto nel frattempo non viene riportato a TODO
+        assertFalse(unchanged.isDirty());
+        assertEquals(TaskStatus.IN_PROGRESS, taskDAO.findById(savedTask.getId()).get().getStatus());
+    }
+
+    
+    //test aggiornamenti parziali
+
+    @Test
+    @Order(5)
+    void testUpdateStatus_DoneSetsCompletedAt() {
+        //arrange
+        Task savedTask = taskDAO.save(testTask);
+
+        //act
+        Optional<Task> updatedTask = taskDAO.updateStatus(savedTask.getId(), TaskStatus.DONE);
+
+        //assert
+        assertTrue(updatedTask.isPresent());
+        assertEquals(TaskStatus.DONE, updatedTask.get().getStatus());
+        assertEquals(LocalDate.now(), updatedTask.get().getCompletedAt());
+        assertEquals("Test Task", updatedTask.get().getTitle());
+    }
+
+    @Test
+    @Order(5)
+    void testUpdateStatus_ReopenClearsCompletedAt() {
+        //arrange
+        Task savedTask = taskDAO.save(testTask);
+        taskDAO.updateStatus(savedTask.getId(), TaskStatus.DONE);
+
+        //act
+        Optional<Task> updatedTask = taskDAO.updateStatus(savedTask.getId(), TaskStatus.IN_PROGRESS);
+
+        //assert
+        assertTrue(updatedTask.isPresent());
+        assertNull(updatedTask.get().getCompletedAt());
+    }
+
+    @Test
+    @Order(5)
+    void testUpdatePriority_Success() {
+        //arrange
+        Task savedTask = taskDAO.save(testTask);
+
+        //act
+        Optional<Task> updatedTask = taskDAO.updatePriority(savedTask.getId(), Priority.HIGH);
+
+        //assert
+        assertTrue(updatedTask.isPresent());
+        assertEquals(Priority.HIGH, taskDAO.findById(savedTask.getId()).get().getPriority());
+    }
+
+    @Test
+    @Order(5)
+    void testPatch_OnlyChangedColumns() {
+        //arrange
+        Task savedTask = taskDAO.save(testTask);
+
+        //act
+        Optional<Task> updatedTask = taskDAO.patch(savedTask.getId(), new TaskPatch()
+                .setTitle("Patched Title")
+                .setDeadline(null));
+
+        //assert
+        assertTrue(updatedTask.isPresent());
+        assertEquals("Patched Title", updatedTask.get().getTitle());
+        assertNull(updatedTask.get().getDeadline());
+        assertEquals("Task Description", updatedTask.get().getDescription());
+        assertEquals(Priority.MEDIUM, updatedTask.get().getPriority());
+    }
+
+    @Test
+    @Order(5)
+    void testPatch_NotFound() {
+        //act
+        Optional<Task> updatedTask = taskDAO.patch(999999L, new TaskPatch().setTitle("Nessuna"));
+
+        //assert
+        assertTrue(updatedTask.isEmpty());
+    }
+
     
     //test find
 
@@ -271,6 +415,124 @@ class TaskDAOImplTest {
         assertEquals(1, taskDAO.findByStatus(TaskStatus.DONE).size());
     }
 
+    @Test
+    @Order(9)
+    void testFindSummariesByProjectId() {
+        //arrange
+        Task task = new Task(testProject.getId(), "Summary Task", "x".repeat(2000), Priority.HIGH, LocalDate.now());
+        taskDAO.save(task);
+
+        //act
+        List<TaskSummary> summaries = taskDAO.findSummariesByProjectId(testProject.getId());
+
+        //assert
+        assertEquals(List.of(new TaskSummary(task.getId(), "Summary Task", TaskStatus.TODO, Priority.HIGH,
+                LocalDate.now())), summaries);
+    }
+
+    @Test
+    @Order(10)
+    void testFind_CombinedCriteriaScopedToProject() {
+        //arrange - stessa combinazione in un altro progetto dello stesso utente
+        Project otherProject = projectDAO.save(new Project(testUser.getId(), "Other Project", null));
+        Task dueSoon = new Task(testProject.getId(), "Due Soon", null, Priority.HIGH, LocalDate.now().plusDays(2));
+        Task dueLater = new Task(testProject.getId(), "Due Later", null, Priority.HIGH, LocalDate.now().plusDays(30));
+        Task done = new Task(testProject.getId(), "Done", null, Priority.HIGH, LocalDate.now().plusDays(1));
+        done.setStatus(TaskStatus.DONE);
+        Task lowPriority = new Task(testProject.getId(), "Low", null, Priority.LOW, LocalDate.now().plusDays(1));
+        Task otherProjectTask = new Task(otherProject.getId(), "Other", null, Priority.HIGH, LocalDate.now().plusDays(1));
+        taskDAO.saveAll(List.of(dueSoon, dueLater, done, lowPriority, otherProjectTask));
+
+        //act
+        List<Task> tasks = taskDAO.find(new TaskQuery()
+                .forProject(testProject.getId())
+                .withPriority(Priority.HIGH)
+                .openOnly()
+                .deadlineTo(LocalDate.now().plusDays(7))
+                .sortBy(TaskQuery.Sort.DEADLINE_ASC));
+        List<Task> userTasks = taskDAO.find(new TaskQuery()
+                .forUser(testUser.getId())
+                .withStatus(TaskStatus.TODO, TaskStatus.DONE)
+                .limit(10));
+
+        //assert
+        assertEquals(List.of("Due Soon"), tasks.stream().map(Task::getTitle).toList());
+        assertEquals(5, userTasks.size());
+    }
+
+    @Test
+    @Order(10)
+    void testFindByProjectId_KeysetPages() {
+        //arrange - stesso created_at per tutte: l'ordine è deciso dall'id
+        LocalDateTime createdAt = LocalDateTime.now().withNano(0);
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 45; i++) {
+            Task task = new Task(testProject.getId(), "Page " + i, null, Priority.LOW, null);
+            task.setCreatedAt(createdAt);
+            tasks.add(task);
+        }
+        taskDAO.saveAll(tasks);
+
+        //act - tre pagine da 20
+        List<Long> ids = new ArrayList<>();
+        Page<Task> page = taskDAO.findByProjectId(testProject.getId(), null, 20);
+        int pages = 1;
+        ids.addAll(page.getItems().stream().map(Task::getId).toList());
+        while (page.hasNext()) {
+            page = taskDAO.findByProjectId(testProject.getId(), page.getNextPageToken(), 20);
+            ids.addAll(page.getItems().stream().map(Task::getId).toList());
+            pages++;
+        }
+
+        //assert - nessuna riga saltata o ripetuta, ordine decrescente
+        assertEquals(3, pages);
+        assertEquals(5, page.getItems().size());
+        assertEquals(45, ids.size());
+        assertEquals(45, ids.stream().distinct().count());
+        for (int i = 1; i < ids.size(); i++) {
+            assertTrue(ids.get(i - 1) > ids.get(i));
+        }
+    }
+
+    @Test
+    @Order(10)
+    void testFindAll_InvalidPageToken() {
+        //act & assert
+        assertThrows(IllegalArgumentException.class, () -> taskDAO.findAll("non-un-token", 20));
+        assertThrows(IllegalArgumentException.class, () -> taskDAO.findAll(null, 0));
+    }
+
+    @Test
+    @Order(10)
+    void testStreamByStatus_ReadsInChunksAndReleasesConnection() {
+        //arrange - più righe del fetch size
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 1200; i++) {
+            tasks.add(new Task(testProject.getId(), "Stream " + i, null, i % 2 == 0 ? Priority.HIGH : Priority.LOW, null));
+        }
+        taskDAO.saveAll(tasks);
+        int activeBefore = DBConnection.getInstance().getPool().getActiveConnections();
+
+        //act
+        long todoCount;
+        try (Stream<Task> stream = taskDAO.streamByStatus(TaskStatus.TODO)) {
+            todoCount = stream.count();
+        }
+        long highCount;
+        try (Stream<Task> stream = taskDAO.streamByPriority(Priority.HIGH)) {
+            highCount = stream.filter(task -> task.getTitle().startsWith("Stream")).count();
+        }
+        //stream chiuso prima della fine del risultato
+        try (Stream<Task> stream = taskDAO.streamAll()) {
+            assertEquals(10, stream.limit(10).count());
+        }
+
+        //assert
+        assertEquals(1200, todoCount);
+        assertEquals(600, highCount);
+        assertEquals(activeBefore, DBConnection.getInstance().getPool().getActiveConnections());
+    }
+
 
     @Test
     @Order(11)
@@ -389,6 +651,31 @@ class TaskDAOImplTest {
     }
 
     //test delete
+    @Test
+    @Order(16)
+    void testPatchAllAndDeleteAll() {
+        //arrange
+        Task task1 = new Task(testProject.getId(), "Task 1", null, Priority.LOW, null);
+        Task task2 = new Task(testProject.getId(), "Task 2", null, Priority.LOW, null);
+        Task untouched = new Task(testProject.getId(), "Untouched", null, Priority.LOW, null);
+        taskDAO.saveAll(List.of(task1, task2, untouched));
+        List<Long> ids = List.of(task1.getId(), task2.getId(), -1L);
+
+        //act
+        List<Task> updated = taskDAO.patchAll(ids, new TaskPatch().setStatus(TaskStatus.DONE));
+        List<Long> deleted = taskDAO.deleteAll(ids);
+
+        //assert
+        assertEquals(2, updated.size());
+        for (Task task : updated) {
+            assertEquals(TaskStatus.DONE, task.getStatus());
+            assertEquals(LocalDate.now(), task.getCompletedAt());
+        }
+        assertEquals(Set.of(task1.getId(), task2.getId()), Set.copyOf(deleted));
+        assertEquals(List.of("Untouched"), taskDAO.findByProjectId(testProject.getId()).stream()
+                .map(Task::getTitle).toList());
+    }
+
     @Test
     @Order(16)
     void testDelete_Success() {
@@ -430,6 +717,67 @@ class TaskDAOImplTest {
         assertEquals(1, doneCount);
     }
 
+    @Test
+    @Order(17)
+    void testFindOverviewsByProjectIds() {
+        //arrange - un progetto con task, uno vuoto
+        Project emptyProject = projectDAO.save(new Project(testUser.getId(), "Empty Project", null));
+        Task overdue = new Task(testProject.getId(), "Overdue", null, Priority.HIGH, LocalDate.now().minusDays(1));
+        taskDAO.saveAll(List.of(overdue, new Task(testProject.getId(), "Task 2", null, Priority.LOW, null)));
+
+        //act
+        List<Long> projectIds = List.of(emptyProject.getId(), testProject.getId());
+        Map<Long, ProjectOverview> overviews = taskDAO.findOverviewsByProjectIds(projectIds);
+
+        //assert - una scheda per progetto, nell'ordine richiesto, uguale a quella del singolo progetto
+        assertEquals(projectIds, List.copyOf(overviews.keySet()));
+        assertEquals(taskDAO.findOverviewByProjectId(testProject.getId()), overviews.get(testProject.getId()));
+        assertEquals(2, overviews.get(testProject.getId()).counts().total());
+        assertEquals(List.of("Overdue"),
+                overviews.get(testProject.getId()).overdueTasks().stream().map(TaskSummary::title).toList());
+        assertEquals(StatisticsSnapshot.TaskCounts.EMPTY, overviews.get(emptyProject.getId()).counts());
+        assertTrue(overviews.get(emptyProject.getId()).overdueTasks().isEmpty());
+        assertTrue(taskDAO.findOverviewsByProjectIds(List.of()).isEmpty());
+    }
+
+    @Test
+    @Order(17)
+    void testCountByProjectId_AndExists() {
+        //arrange
+        Project emptyProject = projectDAO.save(new Project(testUser.getId(), "Empty Project", null));
+        Task done = new Task(testProject.getId(), "Done", null, Priority.HIGH, null);
+        done.setStatus(TaskStatus.DONE);
+        Task overdue = new Task(testProject.getId(), "Overdue", null, Priority.HIGH, LocalDate.now().minusDays(1));
+        taskDAO.saveAll(List.of(done, overdue, new Task(testProject.getId(), "Todo", null, Priority.LOW, null)));
+
+        //act
+        StatisticsSnapshot.TaskCounts counts = taskDAO.countByProjectId(testProject.getId());
+
+        //assert
+        assertEquals(new StatisticsSnapshot.TaskCounts(2, 0, 0, 1, 1), counts);
+        assertEquals(StatisticsSnapshot.TaskCounts.EMPTY, taskDAO.countByProjectId(emptyProject.getId()));
+        assertTrue(taskDAO.existsByProjectId(testProject.getId()));
+        assertFalse(taskDAO.existsByProjectId(emptyProject.getId()));
+    }
+
+    @Test
+    @Order(17)
+    void testFindOverviewByProjectId() {
+        //arrange
+        Task oldest = new Task(testProject.getId(), "Oldest", null, Priority.HIGH, LocalDate.now().minusDays(5));
+        Task overdue = new Task(testProject.getId(), "Overdue", null, Priority.LOW, LocalDate.now().minusDays(1));
+        Task done = new Task(testProject.getId(), "Done", null, Priority.HIGH, LocalDate.now().minusDays(3));
+        done.setStatus(TaskStatus.DONE);
+        taskDAO.saveAll(List.of(overdue, oldest, done));
+
+        //act
+        ProjectOverview overview = taskDAO.findOverviewByProjectId(testProject.getId());
+
+        //assert
+        assertEquals(new StatisticsSnapshot.TaskCounts(2, 0, 0, 1, 2), overview.counts());
+        assertEquals(List.of("Oldest", "Overdue"), overview.overdueTasks().stream().map(TaskSummary::title).toList());
+    }
+
     //test cascade delete project - delete user
     @Test
     @Order(18)
@@ -0,0 +1,106 @@
+package com.todolistmanager.dao;
+
+import com.todolistmanager.model.Priority;
+import com.todolistmanager.model.Task;
+import com.todolistmanager.model.TaskStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+//unit test TaskQuery - compilazione SQL (senza database)
+class TaskQueryTest {
+
+    @Test
+    void testToSql_NoCriteria() {
+        //act
+        String sql = new TaskQuery().toSql();
+
+        //assert
+        assertEquals("SELECT * FROM tasks ORDER BY created_at DESC, id DESC", sql);
+    }
+
+    @Test
+    void testToSql_AllCriteriaInParameterOrder() {
+        //arrange
+        TaskQuery query = new TaskQuery()
+                .forProject(1L)
+                .forUser(2L)
+                .withStatus(TaskStatus.TODO)
+                .withPriority(Priority.HIGH, Priority.LOW)
+                .deadlineFrom(LocalDate.now())
+                .deadlineTo(LocalDate.now().plusDays(7))
+                .sortBy(TaskQuery.Sort.DEADLINE_ASC)
+                .limit(10);
+
+        //act
+        String sql = query.toSql();
+
+        //assert
+        assertEquals("SELECT * FROM tasks WHERE project_id = ? " +
+                     "AND project_id IN (SELECT id FROM projects WHERE user_id = ?) " +
+                     "AND status = ANY(?) AND status <> 'DONE' AND priority = ANY(?) " +
+                     "AND deadline >= ? AND deadline <= ? ORDER BY deadline ASC, id ASC LIMIT ?", sql);
+    }
+
+    @Test
+    void testToSql_CachedByShape() {
+        //arrange - stessi criteri, valori diversi
+        TaskQuery first = new TaskQuery().forProject(1L).withStatus(TaskStatus.TODO);
+        TaskQuery second = new TaskQuery().forProject(99L).withStatus(TaskStatus.PAUSED, TaskStatus.IN_PROGRESS);
+
+        //act & assert - stessa istanza di SQL, riusabile dalla cache degli statement
+        assertSame(first.toSql(), second.toSql());
+        assertNotSame(first.toSql(), new TaskQuery().forProject(1L).toSql());
+    }
+
+    @Test
+    void testToSql_OpenOnlyUsesLiteralForPartialIndex() {
+        //act
+        String sql = new TaskQuery().openOnly().deadlineTo(LocalDate.now()).toSql();
+
+        //assert - predicato identico a quello dell'indice parziale idx_tasks_open_deadline
+        assertTrue(sql.contains("status <> 'DONE'"));
+        assertFalse(sql.contains("ANY"));
+    }
+
+    @Test
+    void testMatches_SamePredicateAsSql() {
+        //arrange - task in ritardo secondo il filtro di TaskView
+        LocalDate today = LocalDate.now();
+        TaskQuery overdue = new TaskQuery().forProject(1L).openOnly().deadlineTo(today.minusDays(1));
+        Task late = new Task(1L, 1L, "Task", null, TaskStatus.TODO, Priority.HIGH, today.minusDays(3));
+
+        //act & assert
+        assertTrue(overdue.matches(late));
+        assertFalse(overdue.matches(new Task(1L, 2L, "Task", null, TaskStatus.TODO, Priority.HIGH, today.minusDays(3))));
+        assertFalse(overdue.matches(new Task(1L, 1L, "Task", null, TaskStatus.DONE, Priority.HIGH, today.minusDays(3))));
+        assertFalse(overdue.matches(new Task(1L, 1L, "Task", null, TaskStatus.TODO, Priority.HIGH, null)));
+        assertFalse(overdue.matches(new Task(1L, 1L, "Task", null, TaskStatus.TODO, Priority.HIGH, today)));
+        //il criterio per utente non si valuta in memoria: non esclude mai
+        assertTrue(new TaskQuery().forUser(2L).withPriority(Priority.HIGH).matches(late));
+    }
+
+    @Test
+    void testCopy_EqualAndIndependent() {
+        //arrange
+        TaskQuery query = new TaskQuery().forProject(1L).withStatus(TaskStatus.TODO);
+
+        //act
+        TaskQuery copy = query.copy();
+        query.withStatus(TaskStatus.DONE);
+
+        //assert - la copia usata come chiave non segue le modifiche alla query
+        assertEquals(new TaskQuery().forProject(1L).withStatus(TaskStatus.TODO), copy);
+        assertEquals(new TaskQuery().forProject(1L).withStatus(TaskStatus.TODO).hashCode(), copy.hashCode());
+        assertNotEquals(query, copy);
+    }
+
+    @Test
+    void testInvalidArguments() {
+        //act & assert
+        assertThrows(IllegalArgumentException.class, () -> new TaskQuery().limit(0));
+        assertThrows(IllegalArgumentException.class, () -> new TaskQuery().sortBy(null));
+    }
+}
\ No newline at end of file
@@ -9,6 +9,7 @@ import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -58,6 +59,7 @@ class UserDAOImplTest {
         stmt.execute("SET session_replication_role = 'origin';");
         
         stmt.close();
+        conn.close(); //restituisce la connessione al pool
     }
 
     
@@ -90,6 +92,20 @@ class UserDAOImplTest {
         }, "Dovrebbe lanciare eccezione per username duplicato");
     }
 
+    @Test
+    @Order(2)
+    void testInsertIfAbsent_ConflictReturnsEmpty() {
+        //act
+        Optional<User> inserted = userDAO.insertIfAbsent(testUser);
+        Optional<User> duplicate = userDAO.insertIfAbsent(new User("testuser123", "different@email.com"));
+
+        //assert - la prima riga resta invariata
+        assertTrue(inserted.isPresent());
+        assertNotNull(inserted.get().getId());
+        assertTrue(duplicate.isEmpty());
+        assertEquals("test@example.com", userDAO.findByUsername("testuser123").get().getEmail());
+    }
+
     
     //test find user
     
@@ -159,6 +175,43 @@ class UserDAOImplTest {
         assertEquals(2, users.size());
     }
 
+    @Test
+    @Order(7)
+    void testFindAll_Pages() {
+        //arrange
+        for (int i = 0; i < 5; i++) {
+            userDAO.save(new User("pageuser" + i, "page" + i + "@email.com"));
+        }
+
+        //act
+        Page<User> first = userDAO.findAll(null, 3);
+        Page<User> second = userDAO.findAll(first.getNextPageToken(), 3);
+
+        //assert - i più recenti per primi
+        assertEquals(3, first.getItems().size());
+        assertEquals("pageuser4", first.getItems().get(0).getUsername());
+        assertEquals(2, second.getItems().size());
+        assertFalse(second.hasNext());
+    }
+
+    @Test
+    @Order(7)
+    void testStreamAll() {
+        //arrange
+        userDAO.save(testUser);
+        userDAO.save(new User("user2", "user2@email.com"));
+
+        //act
+        List<String> usernames;
+        try (Stream<User> users = userDAO.streamAll()) {
+            usernames = users.map(User::getUsername).toList();
+        }
+
+        //assert
+        assertEquals(2, usernames.size());
+        assertTrue(usernames.contains("testuser123"));
+    }
+
     @Test
     @Order(8)
     void testFindAll_EmptyDatabase() {
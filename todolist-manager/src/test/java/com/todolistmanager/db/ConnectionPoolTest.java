@@ -0,0 +1,223 @@
+package com.todolistmanager.db;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+//unit test ConnectionPool - connessioni fisiche simulate con Mockito
+class ConnectionPoolTest {
+
+    private final List<Connection> physicalConnections = new ArrayList<>();
+    private ConnectionPool pool;
+
+    @AfterEach
+    void tearDown() {
+        if (pool != null) {
+            pool.close();
+        }
+    }
+
+    private Connection newPhysical() throws SQLException {
+        Connection physical = mock(Connection.class);
+        lenient().when(physical.isValid(anyInt())).thenReturn(true);
+        lenient().when(physical.getAutoCommit()).thenReturn(true);
+        physicalConnections.add(physical);
+        return physical;
+    }
+
+    private PoolConfig config(int min, int max) {
+        PoolConfig config = new PoolConfig();
+        config.setMinSize(min);
+        config.setMaxSize(max);
+        config.setBorrowTimeoutMillis(100);
+        config.setHousekeepingIntervalMillis(0); //manutenzione manuale nei test
+        return config;
+    }
+
+    @Test
+    void testConstructor_OpensMinimumConnections() throws SQLException {
+        //act
+        pool = new ConnectionPool(this::newPhysical, config(2, 5));
+
+        //assert
+        assertEquals(2, pool.getTotalConnections());
+        assertEquals(2, pool.getIdleConnections());
+        assertEquals(0, pool.getActiveConnections());
+    }
+
+    @Test
+    void testClose_ReturnsConnectionToPool() throws SQLException {
+        //arrange
+        pool = new ConnectionPool(this::newPhysical, config(1, 5));
+
+        //act
+        Connection first = pool.getConnection();
+        first.close();
+        Connection second = pool.getConnection();
+
+        //assert - stessa connessione fisica riutilizzata, nessuna nuova apertura
+        assertEquals(1, physicalConnections.size());
+        assertTrue(first.isClosed());
+        assertFalse(second.isClosed());
+        verify(physicalConnections.get(0), never()).close();
+        second.close();
+    }
+
+    @Test
+    void testConcurrentBorrowers_GetDistinctConnections() throws SQLException {
+        //arrange
+        pool = new ConnectionPool(this::newPhysical, config(0, 5));
+
+        //act
+        Connection first = pool.getConnection();
+        Connection second = pool.getConnection();
+
+        //assert
+        assertEquals(2, physicalConnections.size());
+        assertEquals(2, pool.getActiveConnections());
+        first.close();
+        second.close();
+        assertEquals(2, pool.getIdleConnections());
+    }
+
+    @Test
+    void testBorrow_TimesOutWhenPoolExhausted() throws SQLException {
+        //arrange
+        pool = new ConnectionPool(this::newPhysical, config(0, 1));
+        Connection held = pool.getConnection();
+
+        //act & assert
+        assertThrows(SQLTimeoutException.class, () -> pool.getConnection());
+        assertEquals(1, pool.getTotalConnections());
+        held.close();
+    }
+
+    @Test
+    void testUseAfterClose_Throws() throws SQLException {
+        //arrange
+        pool = new ConnectionPool(this::newPhysical, config(0, 1));
+        Connection conn = pool.getConnection();
+        conn.close();
+
+        //act & assert
+        assertThrows(SQLException.class, () -> conn.createStatement());
+    }
+
+    @Test
+    void testBorrow_DiscardsInvalidConnection() throws SQLException {
+        //arrange - validazione a ogni prelievo
+        PoolConfig config = config(1, 5);
+        config.setValidationIntervalMillis(0);
+        pool = new ConnectionPool(this::newPhysical, config);
+        Connection broken = physicalConnections.get(0);
+        when(broken.isValid(anyInt())).thenReturn(false);
+
+        //act
+        Connection conn = pool.getConnection();
+
+        //assert
+        verify(broken).close();
+        assertEquals(2, physicalConnections.size());
+        assertEquals(1, pool.getTotalConnections());
+        conn.close();
+    }
+
+    @Test
+    void testRelease_RollsBackOpenTransaction() throws SQLException {
+        //arrange
+        pool = new ConnectionPool(this::newPhysical, config(1, 1));
+        Connection physical = physicalConnections.get(0);
+        when(physical.getAutoCommit()).thenReturn(false);
+
+        //act
+        pool.getConnection().close();
+
+        //assert
+        verify(physical).rollback();
+        verify(physical).setAutoCommit(true);
+    }
+
+    @Test
+    void testEvictIdle_KeepsMinimumSize() throws SQLException {
+        //arrange
+        PoolConfig config = config(1, 5);
+        config.setIdleTimeoutMillis(0);
+        pool = new ConnectionPool(this::newPhysical, config);
+        Connection first = pool.getConnection();
+        Connection second = pool.getConnection();
+        first.close();
+        second.close();
+
+        //act
+        pool.evictIdle();
+
+        //assert
+        assertEquals(1, pool.getTotalConnections());
+        assertEquals(1, pool.getIdleConnections());
+    }
+
+    @Test
+    void testDetectLeaks_ReportsOnce() throws SQLException {
+        //arrange
+        PoolConfig config = config(0, 2);
+        config.setLeakThresholdMillis(1);
+        pool = new ConnectionPool(this::newPhysical, config);
+        Connection leaked = pool.getConnection();
+
+        //act
+        sleep(5);
+        pool.detectLeaks();
+        pool.detectLeaks();
+
+        //assert
+        assertEquals(1, pool.getLeakCount());
+        leaked.close();
+    }
+
+    @Test
+    void testDetectLeaks_StackTraceOnlyWhenEnabled() throws SQLException {
+        //act & assert - di default solo durata e thread, lo stack del prelievo su richiesta
+        String report = leakReport(false);
+        assertTrue(report.contains(Thread.currentThread().getName()));
+        assertFalse(report.contains("Connessione prelevata qui"));
+        assertTrue(leakReport(true).contains("Connessione prelevata qui"));
+    }
+
+    private String leakReport(boolean stackTraces) throws SQLException {
+        PoolConfig config = config(0, 2);
+        config.setLeakThresholdMillis(1);
+        config.setLeakStackTraces(stackTraces);
+        tearDown();
+        pool = new ConnectionPool(this::newPhysical, config);
+        PrintStream err = System.err;
+        ByteArrayOutputStream captured = new ByteArrayOutputStream();
+        try (Connection leaked = pool.getConnection()) {
+            sleep(5);
+            System.setErr(new PrintStream(captured, true, StandardCharsets.UTF_8));
+            pool.detectLeaks();
+        } finally {
+            System.setErr(err);
+        }
+        return captured.toString(StandardCharsets.UTF_8);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
\ No newline at end of file
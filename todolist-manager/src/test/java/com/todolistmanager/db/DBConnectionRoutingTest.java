@@ -0,0 +1,83 @@
+package com.todolistmanager.db;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+//integration test routing primary/repliche - richiede due istanze PostgreSQL locali, es:
+//mvn test -Dtodolist.db.replicas=jdbc:postgresql://localhost:5435/exam
+class DBConnectionRoutingTest {
+
+    private static int primaryPort;
+
+    @BeforeAll
+    static void setUp() throws SQLException {
+        assumeTrue(System.getProperty("todolist.db.replicas") != null,
+                "Nessuna replica configurata (-Dtodolist.db.replicas)");
+        assumeTrue(DBConnection.getInstance().getReplicaRouter().hasReplicas(), "Replica non raggiungibile");
+
+        try (Connection conn = DBConnection.getInstance().getConnection()) {
+            primaryPort = serverPort(conn);
+        }
+    }
+
+    private static int serverPort(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT inet_server_port()")) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+
+    //ogni sessione è un thread: un thread nuovo non ha scritture recenti
+    private static int readPortInNewSession(Runnable before) throws Exception {
+        AtomicInteger port = new AtomicInteger();
+        Exception[] failure = new Exception[1];
+        Thread session = new Thread(() -> {
+            try {
+                before.run();
+                try (Connection conn = DBConnection.getInstance().getReadConnection()) {
+                    port.set(serverPort(conn));
+                }
+            } catch (Exception e) {
+                failure[0] = e;
+            }
+        });
+        session.start();
+        session.join();
+        if (failure[0] != null) {
+            throw failure[0];
+        }
+        return port.get();
+    }
+
+    @Test
+    void testRead_GoesToReplica() throws Exception {
+        assertNotEquals(primaryPort, readPortInNewSession(() -> { }));
+    }
+
+    @Test
+    void testReadAfterPrimaryBorrow_GoesToReplica() throws Exception {
+        //prendere una connessione al primary senza scrivere non vincola la sessione
+        assertNotEquals(primaryPort, readPortInNewSession(() -> {
+            try {
+                DBConnection.getInstance().getConnection().close();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        }));
+    }
+
+    @Test
+    void testReadAfterWrite_PinnedToPrimary() throws Exception {
+        assertEquals(primaryPort, readPortInNewSession(() -> DBConnection.getInstance().recordWrite()));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,143 @@
+package com.todolistmanager.db;
+
+import com.todolistmanager.dao.ProjectDAO;
+import com.todolistmanager.dao.ProjectDAOImpl;
+import com.todolistmanager.dao.UserDAO;
+import com.todolistmanager.dao.UserDAOImpl;
+import com.todolistmanager.model.Project;
+import com.todolistmanager.model.User;
+import org.junit.jupiter.api.*;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+//integration test JdbcTransactionManager - database PostgreSQL reale
+class JdbcTransactionManagerTest {
+
+    private static UserDAO userDAO;
+    private static ProjectDAO projectDAO;
+    private static TransactionManager transactionManager;
+
+    @BeforeAll
+    static void setUpDatabase() throws SQLException {
+        DBConnection.getInstance();
+        userDAO = new UserDAOImpl();
+        projectDAO = new ProjectDAOImpl();
+        transactionManager = new JdbcTransactionManager();
+        cleanDatabase();
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        cleanDatabase();
+    }
+
+    private static void cleanDatabase() throws SQLException {
+        try (Connection conn = DBConnection.getInstance().getConnection();
+             Statement stmt = conn.createStatement()) {
+            stmt.execute("DELETE FROM tasks");
+            stmt.execute("DELETE FROM projects");
+            stmt.execute("DELETE FROM users");
+        }
+    }
+
+    private static long currentTransactionId() {
+        try (Connection conn = DBConnection.getInstance().getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT txid_current()")) {
+            rs.next();
+            return rs.getLong(1);
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Test
+    void testInTransaction_CommitsAllWrites() {
+        //act
+        User user = transactionManager.inTransaction(() -> {
+            User saved = userDAO.save(new User("txuser", "tx@test.com"));
+            projectDAO.save(new Project(saved.getId(), "Tx Project", null));
+            return saved;
+        });
+
+        //assert
+        assertTrue(userDAO.findById(user.getId()).isPresent());
+        assertEquals(1, projectDAO.countByUserId(user.getId()));
+    }
+
+    @Test
+    void testInTransaction_RollsBackOnException() {
+        //act
+        assertThrows(IllegalStateException.class, () -> transactionManager.runInTransaction(() -> {
+            userDAO.save(new User("rollbackuser", "rb@test.com"));
+            throw new IllegalStateException("errore simulato");
+        }));
+
+        //assert
+        assertTrue(userDAO.findByUsername("rollbackuser").isEmpty());
+        assertFalse(DBConnection.getInstance().isInTransaction());
+    }
+
+    @Test
+    void testInTransaction_RollsBackOnError() {
+        //act
+        assertThrows(Error.class, () -> transactionManager.runInTransaction(() -> {
+            userDAO.save(new User("erroruser", "err@test.com"));
+            throw new Error("errore simulato");
+        }));
+
+        //assert - nessun commit del lavoro parziale
+        assertTrue(userDAO.findByUsername("erroruser").isEmpty());
+        assertFalse(DBConnection.getInstance().isInTransaction());
+    }
+
+    @Test
+    void testInTransaction_DaoCallsShareOneConnection() {
+        //act
+        long[] ids = transactionManager.inTransaction(() ->
+                new long[] { currentTransactionId(), currentTransactionId() });
+
+        //assert
+        assertEquals(ids[0], ids[1]);
+        assertNotEquals(currentTransactionId(), currentTransactionId());
+    }
+
+    @Test
+    void testInTransaction_NestedJoinsOuter() {
+        //act
+        assertThrows(IllegalStateException.class, () -> transactionManager.runInTransaction(() -> {
+            transactionManager.runInTransaction(() -> userDAO.save(new User("nesteduser", "n@test.com")));
+            throw new IllegalStateException("errore simulato");
+        }));
+
+        //assert - anche la scrittura interna è annullata
+        assertTrue(userDAO.findByUsername("nesteduser").isEmpty());
+    }
+
+    @Test
+    void testInTransaction_RecordsWriteOnCommit() throws InterruptedException {
+        //arrange - sessione nuova (thread) senza scritture recenti
+        ReplicaRouter router = DBConnection.getInstance().getReplicaRouter();
+        boolean[] pinned = new boolean[2];
+        Thread session = new Thread(() -> {
+            transactionManager.runInTransaction(() -> {
+                userDAO.save(new User("stickyuser", "sticky@test.com"));
+                pinned[0] = router.isPinnedToPrimary();
+            });
+            pinned[1] = router.isPinnedToPrimary();
+        });
+
+        //act
+        session.start();
+        session.join();
+
+        //assert - la finestra di stickiness parte dal commit
+        assertFalse(pinned[0]);
+        assertTrue(pinned[1]);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,180 @@
+package com.todolistmanager.db;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+//integration test MigrationRunner - database PostgreSQL reale
+class MigrationRunnerTest {
+
+    private static DBConnection db;
+
+    @BeforeAll
+    static void setUp() {
+        db = DBConnection.getInstance();
+    }
+
+    private static int countRows(Connection conn, String sql) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+
+    private static String explain(Connection conn, String sql, Object... params) throws SQLException {
+        StringBuilder plan = new StringBuilder();
+        try (PreparedStatement pstmt = conn.prepareStatement("EXPLAIN " + sql)) {
+            for (int i = 0; i < params.length; i++) {
+                pstmt.setObject(i + 1, params[i]);
+            }
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    plan.append(rs.getString(1)).append('\n');
+                }
+            }
+        }
+        return plan.toString();
+    }
+
+    private static void assertNoSeqScan(String plan) {
+        assertFalse(plan.contains("Seq Scan"), "Scansione sequenziale nel piano:\n" + plan);
+    }
+
+    @Test
+    void testMigrate_IsIdempotent() throws SQLException {
+        //act - lo schema è già stato migrato all'avvio di DBConnection
+        int applied = new MigrationRunner(db.getPool()).migrate();
+
+        //assert
+        assertEquals(0, applied);
+        try (Connection conn = db.getConnection()) {
+            assertEquals(3, countRows(conn, "SELECT COUNT(*) FROM schema_history"));
+        }
+    }
+
+    @Test
+    void testMigrate_WaitsForLockBeforeTouchingSchema() throws Exception {
+        //arrange - un'altra istanza sta migrando (tiene il lock advisory)
+        try (Connection holder = db.getConnection();
+             Statement stmt = holder.createStatement()) {
+            stmt.execute("SELECT pg_advisory_lock(" + MigrationRunner.LOCK_KEY + ")");
+            Thread migration = new Thread(() -> new MigrationRunner(db.getPool()).migrate());
+            try {
+                //act
+                migration.start();
+                int waitingPid = waitForLockWaiter(holder);
+
+                //assert - in attesa del lock la migrazione non ha ancora toccato tabelle o cataloghi
+                try (PreparedStatement pstmt = holder.prepareStatement("SELECT COUNT(*) FROM pg_locks " +
+                        "WHERE pid = ? AND granted AND locktype NOT IN ('virtualxid', 'advisory')")) {
+                    pstmt.setInt(1, waitingPid);
+                    try (ResultSet rs = pstmt.executeQuery()) {
+                        rs.next();
+                        assertEquals(0, rs.getInt(1));
+                    }
+                }
+            } finally {
+                stmt.execute("SELECT pg_advisory_unlock(" + MigrationRunner.LOCK_KEY + ")");
+            }
+            migration.join(5_000);
+            assertFalse(migration.isAlive());
+        }
+    }
+
+    //pid della sessione in coda sul lock delle migrazioni
+    private static int waitForLockWaiter(Connection conn) throws SQLException, InterruptedException {
+        String sql = "SELECT pid FROM pg_locks WHERE locktype = 'advisory' AND NOT granted";
+        for (int attempt = 0; attempt < 100; attempt++) {
+            try (Statement stmt = conn.createStatement();
+                 ResultSet rs = stmt.executeQuery(sql)) {
+                if (rs.next()) {
+                    return rs.getInt(1);
+                }
+            }
+            Thread.sleep(50);
+        }
+        throw new AssertionError("Nessuna migrazione in attesa del lock");
+    }
+
+    @Test
+    void testMigrate_ChangedScriptIsRejected() throws SQLException {
+        //arrange - simula uno script modificato dopo l'applicazione
+        String original;
+        try (Connection conn = db.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT checksum FROM schema_history WHERE version = 1")) {
+            rs.next();
+            original = rs.getString(1);
+            stmt.executeUpdate("UPDATE schema_history SET checksum = 'modificato' WHERE version = 1");
+        }
+
+        try {
+            //act & assert
+            assertThrows(IllegalStateException.class, () -> new MigrationRunner(db.getPool()).migrate());
+        } finally {
+            try (Connection conn = db.getConnection();
+                 PreparedStatement pstmt = conn.prepareStatement("UPDATE schema_history SET checksum = ? WHERE version = 1")) {
+                pstmt.setString(1, original);
+                pstmt.executeUpdate();
+            }
+        }
+    }
+
+    @Test
+    void testIndexes_NoSequentialScans() throws SQLException {
+        try (Connection conn = db.getConnection()) {
+            conn.setAutoCommit(false);
+            try (Statement stmt = conn.createStatement()) {
+                //arrange - dati di esempio (annullati dal rollback): 500 utenti, 2000 progetti, 50000 task
+                stmt.execute("INSERT INTO users (username, email) " +
+                             "SELECT 'seed' || g, 'seed' || g || '@test.com' FROM generate_series(1, 500) g");
+                stmt.execute("INSERT INTO projects (user_id, name) " +
+                             "SELECT u.id, 'Seed ' || g FROM users u, generate_series(1, 4) g WHERE u.username LIKE 'seed%'");
+                stmt.execute("INSERT INTO tasks (project_id, title, status, priority, deadline, created_at) " +
+                             "SELECT p.id, 'Seed ' || g, CASE WHEN g % 10 = 0 THEN 'TODO' ELSE 'DONE' END, 'MEDIUM', " +
+                             "CURRENT_DATE + (g % 50) - 2, now() - g * interval '1 minute' " +
+                             "FROM projects p, generate_series(1, 25) g WHERE p.name LIKE 'Seed %'");
+                stmt.execute("ANALYZE users");
+                stmt.execute("ANALYZE projects");
+                stmt.execute("ANALYZE tasks");
+
+                long userId = countRows(conn, "SELECT MIN(id) FROM users WHERE username LIKE 'seed%'");
+                long projectId = countRows(conn, "SELECT MIN(id) FROM projects WHERE name LIKE 'Seed %'");
+
+                //act & assert - query dei DAO
+                assertNoSeqScan(explain(conn, "SELECT * FROM tasks WHERE project_id = ? ORDER BY created_at DESC", projectId));
+                assertNoSeqScan(explain(conn, "SELECT COUNT(*) FROM tasks WHERE project_id = ? AND status = ?", projectId, "TODO"));
+                assertNoSeqScan(explain(conn, "SELECT * FROM tasks WHERE deadline <= ? AND deadline IS NOT NULL AND status != 'DONE' ORDER BY deadline ASC",
+                        Date.valueOf(LocalDate.now())));
+                assertNoSeqScan(explain(conn, "SELECT * FROM tasks WHERE deadline < CURRENT_DATE AND deadline IS NOT NULL AND status != 'DONE' ORDER BY deadline ASC"));
+                assertNoSeqScan(explain(conn, "SELECT * FROM projects WHERE user_id = ? ORDER BY created_at DESC", userId));
+                assertNoSeqScan(explain(conn, "SELECT * FROM users WHERE username = ?", "seed42"));
+
+                //paginazione keyset: pagina successiva senza scansione né ordinamento dell'intero risultato
+                String nextTaskPage = explain(conn, "SELECT * FROM tasks WHERE project_id = ? AND (created_at, id) < (?, ?) " +
+                        "ORDER BY created_at DESC, id DESC LIMIT ?", projectId, Timestamp.valueOf(LocalDateTime.now()), Long.MAX_VALUE, 21);
+                assertNoSeqScan(nextTaskPage);
+                assertFalse(nextTaskPage.contains("Sort"), nextTaskPage);
+                String nextUserPage = explain(conn, "SELECT * FROM users WHERE (created_at, id) < (?, ?) " +
+                        "ORDER BY created_at DESC, id DESC LIMIT ?", Timestamp.valueOf(LocalDateTime.now()), Long.MAX_VALUE, 21);
+                assertNoSeqScan(nextUserPage);
+                assertFalse(nextUserPage.contains("Sort"), nextUserPage);
+            } finally {
+                conn.rollback();
+                conn.setAutoCommit(true);
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,108 @@
+package com.todolistmanager.db;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+//unit test ReplicaRouter - pool di repliche con connessioni simulate
+class ReplicaRouterTest {
+
+    private final List<ConnectionPool> pools = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        pools.forEach(ConnectionPool::close);
+    }
+
+    private ConnectionPool newPool() throws SQLException {
+        PoolConfig config = new PoolConfig();
+        config.setMinSize(0);
+        config.setHousekeepingIntervalMillis(0);
+        ConnectionPool pool = new ConnectionPool(() -> {
+            Connection physical = mock(Connection.class);
+            lenient().when(physical.isValid(anyInt())).thenReturn(true);
+            lenient().when(physical.getAutoCommit()).thenReturn(true);
+            return physical;
+        }, config);
+        pools.add(pool);
+        return pool;
+    }
+
+    @Test
+    void testRoundRobin_AlternatesReplicas() throws SQLException {
+        //arrange
+        ConnectionPool first = newPool();
+        ConnectionPool second = newPool();
+        ReplicaRouter router = new ReplicaRouter(List.of(first, second), ReplicaRouter.Strategy.ROUND_ROBIN, 1000);
+
+        //act & assert
+        assertSame(first, router.selectReplica());
+        assertSame(second, router.selectReplica());
+        assertSame(first, router.selectReplica());
+    }
+
+    @Test
+    void testLeastOutstanding_PrefersIdleReplica() throws SQLException {
+        //arrange
+        ConnectionPool busy = newPool();
+        ConnectionPool free = newPool();
+        ReplicaRouter router = new ReplicaRouter(List.of(busy, free), ReplicaRouter.Strategy.LEAST_OUTSTANDING, 1000);
+        Connection held = busy.getConnection();
+
+        //act & assert
+        assertSame(free, router.selectReplica());
+        assertSame(free, router.selectReplica());
+        held.close();
+    }
+
+    @Test
+    void testSelectReplica_SkipsClosedPools() throws SQLException {
+        //arrange
+        ConnectionPool closed = newPool();
+        ConnectionPool open = newPool();
+        closed.close();
+        ReplicaRouter router = new ReplicaRouter(List.of(closed, open), ReplicaRouter.Strategy.ROUND_ROBIN, 1000);
+
+        //act & assert
+        assertSame(open, router.selectReplica());
+        assertSame(open, router.selectReplica());
+    }
+
+    @Test
+    void testRecordWrite_PinsSessionToPrimary() throws InterruptedException {
+        //arrange
+        ReplicaRouter router = new ReplicaRouter(List.of(), ReplicaRouter.Strategy.ROUND_ROBIN, 50);
+
+        //act
+        router.recordWrite();
+
+        //assert
+        assertTrue(router.isPinnedToPrimary());
+        Thread.sleep(60);
+        assertFalse(router.isPinnedToPrimary());
+    }
+
+    @Test
+    void testRecordWrite_DoesNotPinOtherSessions() throws InterruptedException {
+        //arrange
+        ReplicaRouter router = new ReplicaRouter(List.of(), ReplicaRouter.Strategy.ROUND_ROBIN, 10_000);
+        router.recordWrite();
+        boolean[] pinnedInOtherThread = new boolean[1];
+
+        //act
+        Thread other = new Thread(() -> pinnedInOtherThread[0] = router.isPinnedToPrimary());
+        other.start();
+        other.join();
+
+        //assert
+        assertFalse(pinnedInOtherThread[0]);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,123 @@
+package com.todolistmanager.db;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+//unit test StatementCache - connessione e statement simulati con Mockito
+class StatementCacheTest {
+
+    private Connection physical;
+    private StatementCacheStats stats;
+    private StatementCache cache;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        physical = mock(Connection.class);
+        when(physical.prepareStatement(anyString())).thenAnswer(inv -> mock(PreparedStatement.class));
+        stats = new StatementCacheStats();
+        cache = new StatementCache(physical, 2, stats);
+    }
+
+    @Test
+    void testPrepare_SameSqlReusesStatement() throws SQLException {
+        //act
+        cache.prepare("SELECT 1").close();
+        cache.prepare("SELECT 1").close();
+
+        //assert
+        verify(physical, times(1)).prepareStatement("SELECT 1");
+        assertEquals(1, stats.getHits());
+        assertEquals(1, stats.getMisses());
+    }
+
+    @Test
+    void testClose_ClearsParametersWithoutClosing() throws SQLException {
+        //arrange
+        PreparedStatement handle = cache.prepare("SELECT 1");
+
+        //act
+        handle.close();
+
+        //assert
+        assertTrue(handle.isClosed());
+        assertThrows(SQLException.class, () -> handle.setLong(1, 1L));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void testClose_ResetsChangedSettings() throws SQLException {
+        //arrange
+        PreparedStatement statement = mock(PreparedStatement.class);
+        when(physical.prepareStatement("SELECT 1")).thenReturn(statement);
+        PreparedStatement handle = cache.prepare("SELECT 1");
+        handle.setFetchSize(500);
+        handle.setQueryTimeout(5);
+
+        //act
+        handle.close();
+
+        //assert - il prossimo utilizzatore trova i default
+        verify(statement).setFetchSize(0);
+        verify(statement).setQueryTimeout(0);
+        verify(statement).setMaxRows(0);
+        verify(statement, never()).close();
+        cache.prepare("SELECT 1").close();
+        assertEquals(1, stats.getHits());
+    }
+
+    @Test
+    void testClose_UncacheableSettingClosesStatement() throws SQLException {
+        //arrange
+        PreparedStatement handle = cache.prepare("SELECT 1");
+        handle.setEscapeProcessing(false);
+
+        //act
+        handle.close();
+        cache.prepare("SELECT 1").close();
+
+        //assert - lo statement modificato non torna in cache
+        verify(physical, times(2)).prepareStatement("SELECT 1");
+    }
+
+    @Test
+    void testPrepare_StatementInUseIsNotShared() throws SQLException {
+        //arrange
+        PreparedStatement first = cache.prepare("SELECT 1");
+
+        //act
+        PreparedStatement second = cache.prepare("SELECT 1");
+
+        //assert - il secondo è uno statement indipendente, fuori dalla cache
+        assertNotSame(first, second);
+        verify(physical, times(2)).prepareStatement("SELECT 1");
+        assertEquals(2, stats.getMisses());
+        first.close();
+    }
+
+    @Test
+    void testPrepare_EvictsLeastRecentlyUsed() throws SQLException {
+        //arrange
+        cache.prepare("SELECT 1").close();
+        cache.prepare("SELECT 2").close();
+        cache.prepare("SELECT 1").close(); //SELECT 2 diventa il meno recente
+
+        //act
+        cache.prepare("SELECT 3").close();
+        cache.prepare("SELECT 1").close();
+        cache.prepare("SELECT 2").close();
+
+        //assert
+        assertEquals(2, cache.size());
+        verify(physical, times(1)).prepareStatement("SELECT 1");
+        verify(physical, times(2)).prepareStatement("SELECT 2");
+        assertEquals(2, stats.getEvictions());
+    }
+}
\ No newline at end of file